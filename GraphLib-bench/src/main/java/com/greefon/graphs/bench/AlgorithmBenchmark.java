@@ -0,0 +1,76 @@
+package com.greefon.graphs.bench;
+
+import com.greefon.graphs.algo.BreadthFirstSearch;
+import com.greefon.graphs.algo.ConnectivityInspector;
+import com.greefon.graphs.algo.DeltaStepping;
+import com.greefon.graphs.algo.DepthFirstSearch;
+import com.greefon.graphs.algo.Dijkstra;
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import com.greefon.graphs.util.GraphRandomizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlgorithmBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    // Среднее число рёбер на вершину.
+    @Param({"2", "8"})
+    public int density;
+
+    @Param({"directed", "undirected"})
+    public String kind;
+
+    private Graph<Integer> graph;
+    private Integer source;
+
+    @Setup(Level.Trial)
+    public void buildGraph() {
+        graph = "directed".equals(kind) ? new DirectedGraph<>() : new UndirectedGraph<>();
+
+        List<Integer> vertexList = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; ++i) {
+            vertexList.add(i);
+        }
+        // Фиксированное зерно: все запуски меряют один и тот же граф.
+        GraphRandomizer.randomize(graph, vertexList, vertices * density, new Random(42));
+        source = 0;
+    }
+
+    @Benchmark
+    public List<Integer> breadthFirstSearch() {
+        return BreadthFirstSearch.execute(graph);
+    }
+
+    @Benchmark
+    public List<Integer> depthFirstSearch() {
+        return DepthFirstSearch.execute(graph);
+    }
+
+    @Benchmark
+    public Dijkstra.ShortestPaths<Integer> dijkstra() {
+        return Dijkstra.execute(graph, source);
+    }
+
+    @Benchmark
+    public Dijkstra.ShortestPaths<Integer> deltaStepping() {
+        return DeltaStepping.execute(graph, source);
+    }
+
+    @Benchmark
+    public List<List<Integer>> connectedComponents() {
+        return ConnectivityInspector.findComponents(graph);
+    }
+}
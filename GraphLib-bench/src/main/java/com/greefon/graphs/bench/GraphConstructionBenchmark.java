@@ -0,0 +1,125 @@
+package com.greefon.graphs.bench;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.GraphBuilder;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphConstructionBenchmark {
+    private static final int REMOVALS = 100;
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    // Среднее число рёбер на вершину.
+    @Param({"2", "8"})
+    public int density;
+
+    private int[] sources;
+    private int[] destinations;
+    private int[] removed;
+
+    @Setup(Level.Trial)
+    public void generateEdges() {
+        Random random = new Random(42);
+        int edges = vertices * density;
+        sources = new int[edges];
+        destinations = new int[edges];
+        for (int i = 0; i < edges; ++i) {
+            sources[i] = random.nextInt(vertices);
+            destinations[i] = random.nextInt(vertices);
+        }
+
+        removed = new int[REMOVALS];
+        for (int i = 0; i < REMOVALS; ++i) {
+            removed[i] = random.nextInt(vertices);
+        }
+    }
+
+    // Удаление разрушает граф, поэтому он строится заново перед каждым
+    // вызовом; время построения в замер не входит. Графы вынесены в
+    // отдельные состояния, чтобы их построение не выполнялось перед
+    // остальными бенчмарками и не попадало в их gc.alloc.rate.norm.
+    @State(Scope.Thread)
+    public static class DirectedToShrink {
+        DirectedGraph<Integer> graph;
+
+        @Setup(Level.Invocation)
+        public void build(GraphConstructionBenchmark benchmark) {
+            graph = benchmark.fill(new DirectedGraph<>());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UndirectedToShrink {
+        UndirectedGraph<Integer> graph;
+
+        @Setup(Level.Invocation)
+        public void build(GraphConstructionBenchmark benchmark) {
+            graph = benchmark.fill(new UndirectedGraph<>());
+        }
+    }
+
+    private <G extends Graph<Integer>> G fill(G graph) {
+        for (int i = 0; i < sources.length; ++i) {
+            graph.addEdge(sources[i], destinations[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdgeDirected() {
+        return fill(new DirectedGraph<>());
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdgeUndirected() {
+        return fill(new UndirectedGraph<>());
+    }
+
+    @Benchmark
+    public Graph<Integer> builderDirected() {
+        GraphBuilder<Integer> builder = new GraphBuilder<>(vertices, sources.length);
+        for (int i = 0; i < sources.length; ++i) {
+            builder.addEdge(sources[i], destinations[i]);
+        }
+        return builder.buildDirected();
+    }
+
+    @Benchmark
+    public Graph<Integer> builderDirectedCsr() {
+        GraphBuilder<Integer> builder = new GraphBuilder<>(vertices, sources.length);
+        for (int i = 0; i < sources.length; ++i) {
+            builder.addEdge(sources[i], destinations[i]);
+        }
+        return builder.buildDirectedCsr();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMOVALS)
+    public Graph<Integer> removeVertexDirected(DirectedToShrink state) {
+        for (int vertex : removed) {
+            state.graph.removeVertex(vertex);
+        }
+        return state.graph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMOVALS)
+    public Graph<Integer> removeVertexUndirected(UndirectedToShrink state) {
+        for (int vertex : removed) {
+            state.graph.removeVertex(vertex);
+        }
+        return state.graph;
+    }
+}
@@ -0,0 +1,66 @@
+package com.greefon.graphs.bench;
+
+import com.greefon.graphs.impl.GraphBuilder;
+import com.greefon.graphs.io.GraphImporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Потоковый импорт списка рёбер против разбора по строкам через
+// BufferedReader и String.split.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmark {
+    @Param({"100000", "1000000"})
+    public int edges;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("edges", ".txt");
+        Random random = new Random(42);
+        int vertices = Math.max(16, edges / 8);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < edges; ++i) {
+                writer.write(random.nextInt(vertices) + " " + random.nextInt(vertices) + " "
+                        + random.nextInt(1000) / 10.0 + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public GraphBuilder<Integer> streaming() throws IOException {
+        return GraphImporter.readEdgeList(file);
+    }
+
+    @Benchmark
+    public GraphBuilder<Integer> lineByLine() throws IOException {
+        GraphBuilder<Integer> builder = new GraphBuilder<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                builder.addEdge(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                        parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0);
+            }
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,174 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+
+import java.util.*;
+import java.util.function.ToDoubleBiFunction;
+
+public class AStar {
+    // Эвристика должна быть допустимой (не переоценивать расстояние
+    // до цели), тогда найденный путь кратчайший. Для согласованной
+    // эвристики каждая вершина извлекается из кучи один раз.
+    public static <T> Dijkstra.ShortestPaths<T> execute(Graph<T> graph, T source, T target,
+                                                        ToDoubleBiFunction<T, T> heuristic) {
+        Dijkstra.checkEndpoints(graph, source, target);
+
+        long start = Instrumentation.start();
+        VertexIndex<T> index = VertexIndex.of(graph);
+        Estimation<T> estimation = new Estimation<>(index, target, heuristic);
+        int targetIndex = index.indexOf(target);
+        estimation.start(index.indexOf(source));
+
+        while (!estimation.heap.isEmpty()) {
+            estimation.settleNext();
+            if (estimation.current == targetIndex) {
+                break;
+            }
+            index.forEachNeighbor(estimation.current, estimation);
+        }
+
+        estimation.report("AStar", start);
+        return estimation.toShortestPaths(index, source);
+    }
+
+    public static <T> LandmarkHeuristic<T> landmarks(Graph<T> graph, int count) {
+        return LandmarkHeuristic.select(graph, count);
+    }
+
+    private static class Estimation<T> extends Dijkstra.Relaxation {
+        private final VertexIndex<T> index;
+        private final T target;
+        private final ToDoubleBiFunction<T, T> heuristic;
+        // Оценка считается один раз на вершину; NaN - ещё не считали.
+        private double[] estimates;
+
+        Estimation(VertexIndex<T> index, T target, ToDoubleBiFunction<T, T> heuristic) {
+            super(index.size());
+            this.index = index;
+            this.target = target;
+            this.heuristic = heuristic;
+            this.estimates = new double[distances.length];
+            Arrays.fill(estimates, Double.NaN);
+        }
+
+        @Override
+        double priority(int vertex, double distance) {
+            if (vertex >= estimates.length) {
+                int old = estimates.length;
+                estimates = Arrays.copyOf(estimates, distances.length);
+                Arrays.fill(estimates, old, estimates.length, Double.NaN);
+            }
+
+            double estimate = estimates[vertex];
+            if (Double.isNaN(estimate)) {
+                estimate = heuristic.applyAsDouble(index.vertexAt(vertex), target);
+                estimates[vertex] = estimate;
+            }
+            return distance + estimate;
+        }
+    }
+
+    // ALT-эвристика: по неравенству треугольника для каждого ориентира L
+    // d(v, t) >= d(L, t) - d(L, v) и d(v, t) >= d(v, L) - d(t, L).
+    // Расстояния до ориентиров считаются заранее несколькими запусками
+    // Дейкстры: прямыми - от ориентира, обратными - к ориентиру.
+    public static class LandmarkHeuristic<T> implements ToDoubleBiFunction<T, T> {
+        private final List<T> landmarks;
+        private final Map<T, double[]> fromLandmarks;
+        private final Map<T, double[]> toLandmarks;
+
+        private LandmarkHeuristic(List<T> landmarks, Map<T, double[]> fromLandmarks,
+                                  Map<T, double[]> toLandmarks) {
+            this.landmarks = landmarks;
+            this.fromLandmarks = fromLandmarks;
+            this.toLandmarks = toLandmarks;
+        }
+
+        public static <T> LandmarkHeuristic<T> of(Graph<T> graph, Collection<T> landmarks) {
+            List<T> chosen = new ArrayList<>(landmarks);
+            for (T landmark : chosen) {
+                if (!graph.containsVertex(landmark)) {
+                    throw new IllegalArgumentException(
+                            "Landmark " + landmark + " is absent in this graph.");
+                }
+            }
+
+            Map<T, double[]> from = new HashMap<>();
+            Map<T, double[]> to = new HashMap<>();
+            for (int i = 0; i < chosen.size(); ++i) {
+                fill(graph, from, Dijkstra.execute(graph, chosen.get(i)), i, chosen.size());
+                fill(graph, to, Dijkstra.executeReverse(graph, chosen.get(i)), i, chosen.size());
+            }
+            return new LandmarkHeuristic<>(chosen, from, to);
+        }
+
+        // Выбор ориентиров "самой дальней точкой": каждый следующий
+        // ориентир максимально удалён от уже выбранных.
+        public static <T> LandmarkHeuristic<T> select(Graph<T> graph, int count) {
+            List<T> chosen = new ArrayList<>();
+            if (graph.getVertexCount() == 0 || count <= 0) {
+                return of(graph, chosen);
+            }
+
+            Map<T, Double> nearest = new HashMap<>();
+            T next = graph.getVertices().iterator().next();
+            while (next != null && chosen.size() < count) {
+                chosen.add(next);
+                Dijkstra.ShortestPaths<T> paths = Dijkstra.execute(graph, next);
+
+                next = null;
+                double farthest = 0.0;
+                for (T vertex : graph.getVertices()) {
+                    double distance = Math.min(
+                            nearest.getOrDefault(vertex, Double.POSITIVE_INFINITY),
+                            paths.getDistanceTo(vertex));
+                    nearest.put(vertex, distance);
+                    if (distance != Double.POSITIVE_INFINITY && distance > farthest) {
+                        farthest = distance;
+                        next = vertex;
+                    }
+                }
+            }
+            return of(graph, chosen);
+        }
+
+        private static <T> void fill(Graph<T> graph, Map<T, double[]> table,
+                                     Dijkstra.ShortestPaths<T> paths, int slot, int count) {
+            for (T vertex : graph.getVertices()) {
+                table.computeIfAbsent(vertex, v -> new double[count])[slot] = paths.getDistanceTo(vertex);
+            }
+        }
+
+        public List<T> getLandmarks() {
+            return Collections.unmodifiableList(landmarks);
+        }
+
+        @Override
+        public double applyAsDouble(T vertex, T target) {
+            double best = 0.0;
+
+            double[] fromVertex = fromLandmarks.get(vertex);
+            double[] fromTarget = fromLandmarks.get(target);
+            if (fromVertex != null && fromTarget != null) {
+                for (int i = 0; i < fromVertex.length; ++i) {
+                    double bound = fromTarget[i] - fromVertex[i];
+                    if (Double.isFinite(bound) && bound > best) {
+                        best = bound;
+                    }
+                }
+            }
+
+            double[] toVertex = toLandmarks.get(vertex);
+            double[] toTarget = toLandmarks.get(target);
+            if (toVertex != null && toTarget != null) {
+                for (int i = 0; i < toVertex.length; ++i) {
+                    double bound = toVertex[i] - toTarget[i];
+                    if (Double.isFinite(bound) && bound > best) {
+                        best = bound;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.greefon.graphs.algo;
+
+// Получает итог каждого запуска алгоритма, когда установлен через
+// Instrumentation.setListener. Вызывается в потоке, выполнившем
+// алгоритм, поэтому реализация должна быть потокобезопасной.
+@FunctionalInterface
+public interface AlgorithmListener {
+    void completed(AlgorithmStats stats);
+}
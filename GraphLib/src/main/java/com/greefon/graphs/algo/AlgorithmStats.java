@@ -0,0 +1,47 @@
+package com.greefon.graphs.algo;
+
+// Итог одного запуска алгоритма для AlgorithmListener.
+public final class AlgorithmStats {
+    private final String algorithm;
+    private final long verticesVisited;
+    private final long edgesScanned;
+    private final long peakFrontier;
+    private final long nanos;
+
+    public AlgorithmStats(String algorithm, long verticesVisited, long edgesScanned,
+                          long peakFrontier, long nanos) {
+        this.algorithm = algorithm;
+        this.verticesVisited = verticesVisited;
+        this.edgesScanned = edgesScanned;
+        this.peakFrontier = peakFrontier;
+        this.nanos = nanos;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    // Вершины, извлечённые из очереди или выданные обходом.
+    public long getVerticesVisited() {
+        return verticesVisited;
+    }
+
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    // Наибольший размер очереди, кучи или стека за время запуска.
+    public long getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + "{vertices=" + verticesVisited + ", edges=" + edgesScanned
+                + ", peakFrontier=" + peakFrontier + ", nanos=" + nanos + "}";
+    }
+}
@@ -1,37 +1,148 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public class BreadthFirstSearch {
     public static <T> List<T> execute(Graph<T> graph) {
+        return execute(graph, VisitedSet.forGraph(graph));
+    }
+
+    // Отметки по индексам того же графа позволяют обойтись без
+    // хеширования вершин.
+    public static <T> List<T> execute(Graph<T> graph, VisitedSet<T> visited) {
+        if (visited instanceof VisitedSet.Dense && ((VisitedSet.Dense<T>) visited).graph == graph) {
+            return executeIndexed((IndexedGraph<T>) graph, (VisitedSet.Dense<T>) visited);
+        }
+
+        long start = Instrumentation.start();
         List<T> result = new ArrayList<>();
-        Set<T> visited = new HashSet<>();
+        Instrumentation.Counter counter = new Instrumentation.Counter();
 
         for (T vertex : graph.getVertices()) {
             if (!visited.contains(vertex)) {
-                bfsComponent(graph, vertex, result, visited);
+                bfsComponent(graph, vertex, result, visited, counter);
             }
         }
 
+        Instrumentation.report("BreadthFirstSearch", start, result.size(), counter.edges, counter.peak);
         return result;
     }
+
     public static <T> void bfsComponent(Graph<T> graph, T source, List<T> result, Set<T> visited) {
-        Queue<T> queue = new LinkedList<>();
+        bfsComponent(graph, source, result, VisitedSet.of(visited));
+    }
+
+    public static <T> void bfsComponent(Graph<T> graph, T source, List<T> result, VisitedSet<T> visited) {
+        bfsComponent(graph, source, result, visited, new Instrumentation.Counter());
+    }
+
+    private static <T> void bfsComponent(Graph<T> graph, T source, List<T> result, VisitedSet<T> visited,
+                                         Instrumentation.Counter counter) {
+        Queue<T> queue = new ArrayDeque<>();
+        NeighborConsumer<T> enqueue = (neighbor, weight) -> {
+            ++counter.edges;
+            if (visited.add(neighbor)) {
+                queue.add(neighbor);
+            }
+        };
 
         queue.add(source);
         visited.add(source);
 
         while (!queue.isEmpty()) {
+            counter.frontier(queue.size());
             T current = queue.poll();
             result.add(current);
+            graph.forEachNeighbor(current, enqueue);
+        }
+    }
+
+    // Ленивый обход вершин, достижимых из source: очередная вершина
+    // раскрывается только при запросе следующей.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source) {
+        return iterator(graph, source, Integer.MAX_VALUE);
+    }
+
+    // Обход не дальше maxDepth рёбер от source.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source, int maxDepth) {
+        return iterator(graph, source, maxDepth, VisitedSet.forGraph(graph));
+    }
+
+    // Отметки пишутся в переданный visited и не сбрасываются: уже
+    // отмеченные вершины обход пропускает.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source, int maxDepth,
+                                           VisitedSet<T> visited) {
+        return new Traversal<>(graph, source, maxDepth, false, null, visited);
+    }
+
+    public static <T> Stream<T> stream(Graph<T> graph, T source) {
+        return stream(graph, source, Integer.MAX_VALUE);
+    }
+
+    public static <T> Stream<T> stream(Graph<T> graph, T source, int maxDepth) {
+        return Traversal.stream(iterator(graph, source, maxDepth));
+    }
+
+    // Обход с обработчиком, который может отсечь ветку или остановить
+    // обход. Возвращает вершину, на которой обход остановлен.
+    public static <T> Optional<T> traverse(Graph<T> graph, T source, int maxDepth,
+                                           TraversalVisitor<T> visitor) {
+        return traverse(graph, source, maxDepth, visitor, VisitedSet.forGraph(graph));
+    }
+
+    public static <T> Optional<T> traverse(Graph<T> graph, T source, int maxDepth,
+                                           TraversalVisitor<T> visitor, VisitedSet<T> visited) {
+        return new Traversal<>(graph, source, maxDepth, false, visitor, visited).run();
+    }
+
+    private static <T> List<T> executeIndexed(IndexedGraph<T> graph, VisitedSet.Dense<T> visited) {
+        long start = Instrumentation.start();
+        List<T> result = new ArrayList<>(graph.getVertexCount());
+        IndexQueue queue = new IndexQueue(graph.getIndexBound(), visited);
+
+        for (int root = 0; root < graph.getIndexBound(); ++root) {
+            if (!graph.containsIndex(root) || visited.containsIndex(root)) {
+                continue;
+            }
+
+            queue.accept(root, 0.0);
+            while (queue.head < queue.tail) {
+                queue.peak = Math.max(queue.peak, queue.tail - queue.head);
+                int current = queue.items[queue.head++];
+                result.add(graph.vertexAt(current));
+                graph.forEachNeighbor(current, queue);
+            }
+        }
+        Instrumentation.report("BreadthFirstSearch", start, result.size(), queue.scanned, queue.peak);
+        return result;
+    }
+
+    // Очередь на массиве: каждая вершина попадает в неё не более одного раза,
+    // поэтому хватает массива размера getIndexBound() без сдвигов.
+    private static class IndexQueue implements IntDoubleConsumer {
+        final int[] items;
+        final VisitedSet.Dense<?> visited;
+        int head;
+        int tail;
+        long scanned;
+        int peak;
+
+        IndexQueue(int capacity, VisitedSet.Dense<?> visited) {
+            this.items = new int[capacity];
+            this.visited = visited;
+        }
 
-            for (T neighbor : graph.getNeighbors(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                }
+        @Override
+        public void accept(int vertex, double weight) {
+            ++scanned;
+            if (visited.addIndex(vertex)) {
+                items[tail++] = vertex;
             }
         }
     }
@@ -1,16 +1,23 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.CsrGraph;
+import com.greefon.graphs.util.ConcurrentUnionFind;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class ConnectivityInspector {
+    private static final int VERTICES_PER_TASK = 1 << 12;
+
     public static <T> List<List<T>> findComponents(Graph<T> graph) {
+        return findComponents(graph, VisitedSet.forGraph(graph));
+    }
+
+    public static <T> List<List<T>> findComponents(Graph<T> graph, VisitedSet<T> visited) {
         List<List<T>> components = new ArrayList<>();
-        Set<T> visited = new HashSet<>();
 
         for (T vertex : graph.getVertices()) {
             if (!visited.contains(vertex)) {
@@ -25,4 +32,107 @@ public class ConnectivityInspector {
         }
         return components;
     }
+
+    // Компоненты сильной связности (итеративный Тарьян, O(n + m)).
+    // Порядок компонент - обратный топологический: рёбра между
+    // компонентами ведут только к компонентам, стоящим раньше в списке.
+    public static <T> List<List<T>> findStronglyConnectedComponents(Graph<T> graph) {
+        IndexedGraph<T> indexed = indexed(graph);
+        StrongComponents components = StrongComponents.tarjan(indexed);
+        return group(indexed, components);
+    }
+
+    public static <T> List<List<T>> findStronglyConnectedComponentsParallel(Graph<T> graph) {
+        return findStronglyConnectedComponentsParallel(graph, ForkJoinPool.commonPool());
+    }
+
+    // Параллельный forward-backward; порядок компонент не определён.
+    public static <T> List<List<T>> findStronglyConnectedComponentsParallel(Graph<T> graph,
+                                                                          ForkJoinPool pool) {
+        IndexedGraph<T> indexed = indexed(graph);
+        StrongComponents components = pool.getParallelism() < 2
+                ? StrongComponents.tarjan(indexed)
+                : StrongComponents.forwardBackward(indexed, pool);
+        return group(indexed, components);
+    }
+
+    // Компоненты слабой связности: направление рёбер не учитывается.
+    public static <T> List<List<T>> findWeaklyConnectedComponents(Graph<T> graph) {
+        IndexedGraph<T> indexed = indexed(graph);
+        return group(indexed, StrongComponents.weak(indexed));
+    }
+
+    private static <T> IndexedGraph<T> indexed(Graph<T> graph) {
+        return graph instanceof IndexedGraph
+                ? (IndexedGraph<T>) graph
+                : CsrGraph.of(graph);
+    }
+
+    private static <T> List<List<T>> group(IndexedGraph<T> graph, StrongComponents components) {
+        List<List<T>> result = new ArrayList<>(components.count());
+        for (int i = 0; i < components.count(); ++i) {
+            result.add(new ArrayList<>());
+        }
+        int[] ids = components.components();
+        for (int i = 0; i < ids.length; ++i) {
+            if (ids[i] >= 0) {
+                result.get(ids[i]).add(graph.vertexAt(i));
+            }
+        }
+        return result;
+    }
+
+    public static <T> List<List<T>> findComponentsParallel(Graph<T> graph) {
+        return findComponentsParallel(graph, ForkJoinPool.commonPool());
+    }
+
+    // Параллельный поиск через неблокирующий union-find: рёбра
+    // обрабатываются порциями по вершинам-источникам. Направление рёбер
+    // не учитывается, поэтому для орграфа это компоненты слабой связности.
+    public static <T> List<List<T>> findComponentsParallel(Graph<T> graph, ForkJoinPool pool) {
+        IndexedGraph<T> indexed = indexed(graph);
+        int bound = indexed.getIndexBound();
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(bound);
+
+        pool.invoke(new UnionTask(indexed, sets, 0, bound));
+
+        Map<Integer, List<T>> byRoot = new LinkedHashMap<>();
+        for (int i = 0; i < bound; ++i) {
+            if (indexed.containsIndex(i)) {
+                byRoot.computeIfAbsent(sets.find(i), root -> new ArrayList<>())
+                        .add(indexed.vertexAt(i));
+            }
+        }
+        return new ArrayList<>(byRoot.values());
+    }
+
+    private static class UnionTask extends RecursiveAction {
+        private final IndexedGraph<?> graph;
+        private final ConcurrentUnionFind sets;
+        private final int from;
+        private final int to;
+
+        UnionTask(IndexedGraph<?> graph, ConcurrentUnionFind sets, int from, int to) {
+            this.graph = graph;
+            this.sets = sets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > VERTICES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new UnionTask(graph, sets, from, middle),
+                        new UnionTask(graph, sets, middle, to));
+                return;
+            }
+
+            for (int vertex = from; vertex < to; ++vertex) {
+                for (int i = 0; i < graph.getDegree(vertex); ++i) {
+                    sets.union(vertex, graph.getNeighborAt(vertex, i));
+                }
+            }
+        }
+    }
 }
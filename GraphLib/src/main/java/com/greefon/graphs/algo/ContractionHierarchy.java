@@ -0,0 +1,923 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.CsrGraph;
+import com.greefon.graphs.io.VertexCodec;
+import com.greefon.graphs.util.IndexedMinHeap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+// Иерархия сокращений (Geisberger et al.) для быстрых запросов между
+// парами вершин. Предобработка стягивает вершины по одной в порядке
+// важности; при стягивании v каждый путь x -> v -> y, у которого нет
+// свидетеля (пути не длиннее в обход v), заменяется дугой-сокращением
+// x -> y. Запрос - двунаправленный Дейкстра только по дугам к более
+// поздним (важным) вершинам, он просматривает лишь малую часть графа.
+// Иерархия неизменяема: после изменения графа её нужно построить
+// заново. Веса рёбер должны быть неотрицательны.
+public class ContractionHierarchy<T> {
+    static final int MAGIC = 0x48435247; // "GRCH"
+    static final int VERSION = 1;
+
+    // Свидетель ищется ограниченным поиском; если он не найден за это
+    // число вершин, сокращение добавляется - лишнее, но не ошибочное.
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int VERTICES_PER_TASK = 64;
+
+    private final Object[] vertices;
+    private final Map<T, Integer> indices;
+    // up: дуги v -> w к более поздним w; down: дуги w -> v от более
+    // поздних w, хранятся в строке v.
+    private final Arcs up;
+    private final Arcs down;
+    private final int shortcutCount;
+    // Состояния запросов берутся из пула и возвращаются после запроса,
+    // как WitnessSearch в Contractor: ThreadLocal держал бы массивы (и
+    // через них иерархию) в каждом потоке, делавшем запросы.
+    private final Queue<Query> queries = new ConcurrentLinkedQueue<>();
+
+    private ContractionHierarchy(Object[] vertices, Map<T, Integer> indices, Arcs up, Arcs down) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.up = up;
+        this.down = down;
+        this.shortcutCount = up.shortcutCount() + down.shortcutCount();
+    }
+
+    public static <T> ContractionHierarchy<T> build(Graph<T> graph) {
+        return build(graph, ForkJoinPool.commonPool());
+    }
+
+    // Вершины стягиваются раундами: в раунд попадают вершины, чей
+    // приоритет меньше, чем у всех соседей. Такие вершины не смежны, и
+    // сокращения для них ищутся параллельно.
+    public static <T> ContractionHierarchy<T> build(Graph<T> graph, ForkJoinPool pool) {
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        int n = csr.getIndexBound();
+        Object[] vertices = new Object[n];
+        Map<T, Integer> indices = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int i = 0; i < n; ++i) {
+            vertices[i] = csr.vertexAt(i);
+            indices.put(csr.vertexAt(i), i);
+        }
+
+        Contractor contractor = new Contractor(csr, pool);
+        contractor.run();
+        return new ContractionHierarchy<>(vertices, indices,
+                Arcs.of(contractor.upLists), Arcs.of(contractor.downLists));
+    }
+
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    public boolean containsVertex(T vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    // Бесконечность, если target недостижима.
+    public double getDistance(T source, T target) {
+        int sourceIndex = indexOf(source, "Source");
+        int targetIndex = indexOf(target, "Target");
+        Query query = borrow();
+        try {
+            return query.run(up, down, sourceIndex, targetIndex);
+        } finally {
+            queries.add(query);
+        }
+    }
+
+    // null, если target недостижима, как у Dijkstra.ShortestPaths.
+    public List<T> getPath(T source, T target) {
+        int sourceIndex = indexOf(source, "Source");
+        int targetIndex = indexOf(target, "Target");
+        Query query = borrow();
+        try {
+            if (query.run(up, down, sourceIndex, targetIndex) == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            return query.path(up, down, sourceIndex, this::vertexAt);
+        } finally {
+            queries.add(query);
+        }
+    }
+
+    private Query borrow() {
+        Query query = queries.poll();
+        return query != null ? query : new Query(vertices.length);
+    }
+
+    private int indexOf(T vertex, String role) {
+        Integer index = indices.get(vertex);
+        if (index == null) {
+            throw new IllegalArgumentException(
+                    role + " vertex is absent in this hierarchy."
+            );
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T vertexAt(int index) {
+        return (T) vertices[index];
+    }
+
+    // Формат (little-endian): magic, version, число вершин V, длины
+    // закодированных вершин int[V], их байты подряд и два набора дуг up и
+    // down: offsets int[V + 1], концы int[A], веса double[A] и средние
+    // вершины сокращений int[A] (-1 у исходных рёбер).
+    public void write(Path path, VertexCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ChannelWriter out = new ChannelWriter(channel)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(vertices.length);
+            byte[][] encoded = new byte[vertices.length][];
+            int[] lengths = new int[vertices.length];
+            for (int i = 0; i < vertices.length; ++i) {
+                encoded[i] = codec.encode(vertexAt(i));
+                lengths[i] = encoded[i].length;
+            }
+            out.putInts(lengths);
+            for (byte[] bytes : encoded) {
+                out.putBytes(bytes);
+            }
+            up.write(out);
+            down.write(out);
+        }
+    }
+
+    // Разделы читаются целиком в массивы. Все счётчики проверяются до
+    // выделения памяти, так что испорченный файл даёт IOException, а не
+    // NegativeArraySizeException или OutOfMemoryError.
+    public static <T> ContractionHierarchy<T> read(Path path, VertexCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ChannelReader in = new ChannelReader(channel, path);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported contraction hierarchy format version " + version);
+            }
+
+            int n = in.getInt();
+            if (n < 0 || n == Integer.MAX_VALUE) {
+                throw in.corrupt("invalid vertex count " + n);
+            }
+            int[] lengths = in.getInts(n);
+            Object[] vertices = new Object[n];
+            Map<T, Integer> indices = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+            for (int i = 0; i < n; ++i) {
+                if (lengths[i] < 0) {
+                    throw in.corrupt("negative length of vertex " + i);
+                }
+                byte[] encoded = in.getBytes(lengths[i]);
+                T vertex = codec.decode(
+                        ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN), 0, encoded.length);
+                vertices[i] = vertex;
+                indices.put(vertex, i);
+            }
+            return new ContractionHierarchy<>(vertices, indices, Arcs.read(in, n), Arcs.read(in, n));
+        }
+    }
+
+    // Дуги иерархии в виде CSR.
+    private static final class Arcs {
+        final int[] offsets;
+        final int[] ends;
+        final double[] weights;
+        final int[] middles;
+
+        Arcs(int[] offsets, int[] ends, double[] weights, int[] middles) {
+            this.offsets = offsets;
+            this.ends = ends;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        static Arcs of(ArcList[] lists) {
+            int n = lists.length;
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < n; ++i) {
+                offsets[i + 1] = offsets[i] + lists[i].size;
+            }
+            int[] ends = new int[offsets[n]];
+            double[] weights = new double[offsets[n]];
+            int[] middles = new int[offsets[n]];
+            for (int i = 0; i < n; ++i) {
+                ArcList list = lists[i];
+                System.arraycopy(list.ends, 0, ends, offsets[i], list.size);
+                System.arraycopy(list.weights, 0, weights, offsets[i], list.size);
+                System.arraycopy(list.middles, 0, middles, offsets[i], list.size);
+            }
+            return new Arcs(offsets, ends, weights, middles);
+        }
+
+        int shortcutCount() {
+            int count = 0;
+            for (int middle : middles) {
+                if (middle >= 0) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        int middleOf(int vertex, int end) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; ++arc) {
+                if (ends[arc] == end) {
+                    return middles[arc];
+                }
+            }
+            throw new IllegalStateException("Hierarchy has no arc between " + vertex + " and " + end);
+        }
+
+        void write(ChannelWriter out) throws IOException {
+            out.putInts(offsets);
+            out.putInts(ends);
+            out.putDoubles(weights);
+            out.putInts(middles);
+        }
+
+        // Концы и средние вершины проверяются тоже: иначе испорченный
+        // файл всплыл бы ArrayIndexOutOfBoundsException при запросе.
+        static Arcs read(ChannelReader in, int n) throws IOException {
+            int[] offsets = in.getInts(n + 1);
+            if (offsets[0] != 0) {
+                throw in.corrupt("arc offsets do not start at zero");
+            }
+            for (int i = 0; i < n; ++i) {
+                if (offsets[i + 1] < offsets[i]) {
+                    throw in.corrupt("arc offsets decrease at vertex " + i);
+                }
+            }
+            int arcs = offsets[n];
+            int[] ends = in.getInts(arcs);
+            double[] weights = in.getDoubles(arcs);
+            int[] middles = in.getInts(arcs);
+            for (int arc = 0; arc < arcs; ++arc) {
+                if (ends[arc] < 0 || ends[arc] >= n || middles[arc] < -1 || middles[arc] >= n) {
+                    throw in.corrupt("arc " + arc + " refers to a missing vertex");
+                }
+            }
+            return new Arcs(offsets, ends, weights, middles);
+        }
+    }
+
+    // Последовательная запись через прямой буфер; массивы копируются в
+    // него целиком через asIntBuffer()/asDoubleBuffer().
+    private static final class ChannelWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            reserve(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putInts(int[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                reserve(Integer.BYTES);
+                int count = Math.min(values.length - done, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, done, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                done += count;
+            }
+        }
+
+        void putDoubles(double[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                reserve(Double.BYTES);
+                int count = Math.min(values.length - done, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().put(values, done, count);
+                buffer.position(buffer.position() + count * Double.BYTES);
+                done += count;
+            }
+        }
+
+        void putBytes(byte[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                reserve(1);
+                int count = Math.min(values.length - done, buffer.remaining());
+                buffer.put(values, done, count);
+                done += count;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    // Чтение через прямой буфер. Перед выделением массива require()
+    // проверяет, что в файле вообще осталось столько байт.
+    private static final class ChannelReader {
+        private final FileChannel channel;
+        private final Path path;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelReader(FileChannel channel, Path path) {
+            this.channel = channel;
+            this.path = path;
+            buffer.limit(0);
+        }
+
+        IOException corrupt(String reason) {
+            return new IOException("Corrupt contraction hierarchy file " + path + ": " + reason);
+        }
+
+        private void fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Truncated contraction hierarchy file: " + path);
+                }
+            }
+            buffer.flip();
+        }
+
+        private void require(int count, int size) throws IOException {
+            if (count < 0) {
+                throw corrupt("negative count " + count);
+            }
+            long left = channel.size() - channel.position() + buffer.remaining();
+            if ((long) count * size > left) {
+                throw new IOException("Truncated contraction hierarchy file: " + path);
+            }
+        }
+
+        int getInt() throws IOException {
+            fill(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        int[] getInts(int count) throws IOException {
+            require(count, Integer.BYTES);
+            int[] values = new int[count];
+            for (int done = 0; done < count; ) {
+                fill(Integer.BYTES);
+                int chunk = Math.min(count - done, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().get(values, done, chunk);
+                buffer.position(buffer.position() + chunk * Integer.BYTES);
+                done += chunk;
+            }
+            return values;
+        }
+
+        double[] getDoubles(int count) throws IOException {
+            require(count, Double.BYTES);
+            double[] values = new double[count];
+            for (int done = 0; done < count; ) {
+                fill(Double.BYTES);
+                int chunk = Math.min(count - done, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().get(values, done, chunk);
+                buffer.position(buffer.position() + chunk * Double.BYTES);
+                done += chunk;
+            }
+            return values;
+        }
+
+        byte[] getBytes(int count) throws IOException {
+            require(count, 1);
+            byte[] values = new byte[count];
+            for (int done = 0; done < count; ) {
+                fill(1);
+                int chunk = Math.min(count - done, buffer.remaining());
+                buffer.get(values, done, chunk);
+                done += chunk;
+            }
+            return values;
+        }
+    }
+
+    // Состояние запроса; одновременно им пользуется один поток, поэтому
+    // запросы к одной иерархии можно выполнять параллельно. Индекс 0 -
+    // прямой поиск по up, 1 - обратный по down.
+    private static final class Query {
+        private final double[][] distances;
+        private final int[][] parents;
+        private final int[][] middles;
+        private final int[][] stamps;
+        private final IndexedMinHeap[] heaps;
+        private int stamp;
+        private int meeting;
+
+        Query(int n) {
+            this.distances = new double[2][n];
+            this.parents = new int[2][n];
+            this.middles = new int[2][n];
+            this.stamps = new int[2][n];
+            this.heaps = new IndexedMinHeap[]{new IndexedMinHeap(n), new IndexedMinHeap(n)};
+        }
+
+        double run(Arcs up, Arcs down, int source, int target) {
+            long start = Instrumentation.start();
+            if (++stamp == 0) {
+                Arrays.fill(stamps[0], 0);
+                Arrays.fill(stamps[1], 0);
+                stamp = 1;
+            }
+            heaps[0].clear();
+            heaps[1].clear();
+            reach(0, source, 0.0, -1, -1);
+            reach(1, target, 0.0, -1, -1);
+
+            double best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+            long settled = 0;
+            long scanned = 0;
+            int peak = 0;
+            while (true) {
+                // Направление заканчивается, когда его минимум не меньше
+                // лучшего найденного пути.
+                boolean forward = !heaps[0].isEmpty() && heaps[0].peekKey() < best;
+                boolean backward = !heaps[1].isEmpty() && heaps[1].peekKey() < best;
+                if (!forward && !backward) {
+                    break;
+                }
+                int side = forward && (!backward || heaps[0].peekKey() <= heaps[1].peekKey()) ? 0 : 1;
+                peak = Math.max(peak, heaps[0].size() + heaps[1].size());
+
+                int vertex = heaps[side].poll();
+                ++settled;
+                double distance = distances[side][vertex];
+                if (stamps[1 - side][vertex] == stamp) {
+                    double total = distance + distances[1 - side][vertex];
+                    if (total < best) {
+                        best = total;
+                        meeting = vertex;
+                    }
+                }
+
+                Arcs arcs = side == 0 ? up : down;
+                for (int arc = arcs.offsets[vertex]; arc < arcs.offsets[vertex + 1]; ++arc) {
+                    ++scanned;
+                    int next = arcs.ends[arc];
+                    double candidate = distance + arcs.weights[arc];
+                    if (stamps[side][next] != stamp || candidate < distances[side][next]) {
+                        reach(side, next, candidate, vertex, arcs.middles[arc]);
+                    }
+                }
+            }
+
+            Instrumentation.report("ContractionHierarchy.query", start, settled, scanned, peak);
+            return best;
+        }
+
+        private void reach(int side, int vertex, double distance, int parent, int middle) {
+            stamps[side][vertex] = stamp;
+            distances[side][vertex] = distance;
+            parents[side][vertex] = parent;
+            middles[side][vertex] = middle;
+            heaps[side].addOrDecrease(vertex, distance);
+        }
+
+        // Путь последнего run(): дуги иерархии от source до точки встречи
+        // и от неё до target, сокращения раскрываются рекурсивно.
+        <T> List<T> path(Arcs up, Arcs down, int source, IntFunction<T> vertexAt) {
+            Deque<int[]> forward = new ArrayDeque<>();
+            for (int vertex = meeting; parents[0][vertex] >= 0; vertex = parents[0][vertex]) {
+                forward.push(new int[]{parents[0][vertex], vertex, middles[0][vertex]});
+            }
+
+            List<T> path = new ArrayList<>();
+            path.add(vertexAt.apply(source));
+            while (!forward.isEmpty()) {
+                unpack(up, down, forward.pop(), path, vertexAt);
+            }
+            for (int vertex = meeting; parents[1][vertex] >= 0; vertex = parents[1][vertex]) {
+                unpack(up, down, new int[]{vertex, parents[1][vertex], middles[1][vertex]}, path, vertexAt);
+            }
+            return path;
+        }
+
+        // Сокращение from -> to через middle состоит из дуг from -> middle
+        // и middle -> to; middle стянута раньше обеих, поэтому первая
+        // лежит в down, а вторая в up строки middle.
+        private static <T> void unpack(Arcs up, Arcs down, int[] arc, List<T> path,
+                                       IntFunction<T> vertexAt) {
+            Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(arc);
+            while (!stack.isEmpty()) {
+                int[] current = stack.pop();
+                int from = current[0];
+                int to = current[1];
+                int middle = current[2];
+                if (middle < 0) {
+                    path.add(vertexAt.apply(to));
+                    continue;
+                }
+                stack.push(new int[]{middle, to, up.middleOf(middle, to)});
+                stack.push(new int[]{from, middle, down.middleOf(middle, from)});
+            }
+        }
+    }
+
+    // Изменяемые списки дуг вершины на время предобработки.
+    private static final class ArcList {
+        int[] ends;
+        double[] weights;
+        int[] middles;
+        int size;
+
+        ArcList(int capacity) {
+            int initial = Math.max(2, capacity);
+            this.ends = new int[initial];
+            this.weights = new double[initial];
+            this.middles = new int[initial];
+        }
+
+        // Параллельные дуги схлопываются в самую лёгкую.
+        void put(int end, double weight, int middle) {
+            for (int i = 0; i < size; ++i) {
+                if (ends[i] == end) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            ends[size] = end;
+            weights[size] = weight;
+            middles[size] = middle;
+            ++size;
+        }
+
+        void remove(int end) {
+            for (int i = 0; i < size; ++i) {
+                if (ends[i] == end) {
+                    --size;
+                    ends[i] = ends[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Shortcuts {
+        int[] sources = new int[8];
+        int[] targets = new int[8];
+        double[] weights = new double[8];
+        int size;
+
+        void add(int source, int target, double weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            ++size;
+        }
+    }
+
+    // Ограниченный поиск Дейкстры в ещё не стянутой части графа.
+    private static final class WitnessSearch {
+        private final double[] distances;
+        private final int[] stamps;
+        private final IndexedMinHeap heap;
+        private int stamp;
+
+        WitnessSearch(int n) {
+            this.distances = new double[n];
+            this.stamps = new int[n];
+            this.heap = new IndexedMinHeap(n);
+        }
+
+        void run(ArcList[] out, byte[] states, int source, int skipped, double limit) {
+            if (++stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+            heap.clear();
+            stamps[source] = stamp;
+            distances[source] = 0.0;
+            heap.add(source, 0.0);
+
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= limit && settled++ < WITNESS_SETTLE_LIMIT) {
+                int vertex = heap.poll();
+                double base = distances[vertex];
+                ArcList arcs = out[vertex];
+                for (int i = 0; i < arcs.size; ++i) {
+                    int next = arcs.ends[i];
+                    if (next == skipped || states[next] != Contractor.ALIVE) {
+                        continue;
+                    }
+                    double candidate = base + arcs.weights[i];
+                    if (stamps[next] != stamp) {
+                        stamps[next] = stamp;
+                        distances[next] = candidate;
+                        heap.add(next, candidate);
+                    } else if (candidate < distances[next]) {
+                        distances[next] = candidate;
+                        heap.addOrDecrease(next, candidate);
+                    }
+                }
+            }
+        }
+
+        // Предварительные расстояния тоже годятся: это длины настоящих путей.
+        double distanceTo(int vertex) {
+            return stamps[vertex] == stamp ? distances[vertex] : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private interface Step {
+        void apply(int position, WitnessSearch search);
+    }
+
+    private static final class Contractor {
+        static final byte ALIVE = 0;
+        static final byte ROUND = 1;
+        static final byte CONTRACTED = 2;
+
+        final int n;
+        final ForkJoinPool pool;
+        final ArcList[] out;
+        final ArcList[] in;
+        final ArcList[] upLists;
+        final ArcList[] downLists;
+        final byte[] states;
+        final int[] priorities;
+        final int[] contractedNeighbors;
+        final int[] depths;
+        // Поиски переиспользуются задачами, а не хранятся в ThreadLocal,
+        // чтобы массивы не оставались в потоках пула после построения.
+        final Queue<WitnessSearch> searches = new ConcurrentLinkedQueue<>();
+
+        Contractor(CsrGraph<?> graph, ForkJoinPool pool) {
+            this.n = graph.getIndexBound();
+            this.pool = pool;
+            this.out = new ArcList[n];
+            this.in = new ArcList[n];
+            this.upLists = new ArcList[n];
+            this.downLists = new ArcList[n];
+            this.states = new byte[n];
+            this.priorities = new int[n];
+            this.contractedNeighbors = new int[n];
+            this.depths = new int[n];
+
+            int[] inDegrees = new int[n];
+            for (int i = 0; i < n; ++i) {
+                for (int position = 0; position < graph.getDegree(i); ++position) {
+                    ++inDegrees[graph.getNeighborAt(i, position)];
+                }
+            }
+            for (int i = 0; i < n; ++i) {
+                out[i] = new ArcList(graph.getDegree(i));
+                in[i] = new ArcList(inDegrees[i]);
+            }
+            for (int i = 0; i < n; ++i) {
+                int source = i;
+                graph.forEachNeighbor(i, (target, weight) -> {
+                    if (!(weight >= 0)) {
+                        throw new IllegalArgumentException(
+                                "Contraction hierarchies require non-negative edge weights.");
+                    }
+                    // Петли не лежат ни на одном кратчайшем пути.
+                    if (target != source) {
+                        out[source].put(target, weight, -1);
+                        in[target].put(source, weight, -1);
+                    }
+                });
+            }
+        }
+
+        void run() {
+            int[] remaining = new int[n];
+            for (int i = 0; i < n; ++i) {
+                remaining[i] = i;
+            }
+            int remainingSize = n;
+            forEach(n, (position, search) -> priorities[position] = priority(position, search));
+
+            boolean[] selected = new boolean[n];
+            int[] touched = new int[n];
+            int[] neighborMarks = new int[n];
+            int round = 0;
+            while (remainingSize > 0) {
+                ++round;
+                int[] candidates = remaining;
+                forEach(remainingSize, (position, search) ->
+                        selected[candidates[position]] = isLocalMinimum(candidates[position]));
+
+                int[] contracting = new int[remainingSize];
+                int contractingSize = 0;
+                int kept = 0;
+                for (int i = 0; i < remainingSize; ++i) {
+                    int vertex = remaining[i];
+                    if (selected[vertex]) {
+                        selected[vertex] = false;
+                        states[vertex] = ROUND;
+                        contracting[contractingSize++] = vertex;
+                    } else {
+                        remaining[kept++] = vertex;
+                    }
+                }
+                remainingSize = kept;
+
+                Shortcuts[] pending = new Shortcuts[contractingSize];
+                forEach(contractingSize, (position, search) -> {
+                    pending[position] = new Shortcuts();
+                    shortcuts(contracting[position], search, pending[position]);
+                });
+
+                // Изменения списков - последовательно: вершины раунда не
+                // смежны, но могут иметь общих соседей.
+                int[] dirty = new int[Math.max(16, contractingSize)];
+                int dirtySize = 0;
+                for (int i = 0; i < contractingSize; ++i) {
+                    int vertex = contracting[i];
+                    ArcList outgoing = out[vertex];
+                    ArcList incoming = in[vertex];
+                    upLists[vertex] = outgoing;
+                    downLists[vertex] = incoming;
+                    out[vertex] = null;
+                    in[vertex] = null;
+                    states[vertex] = CONTRACTED;
+
+                    for (int side = 0; side < 2; ++side) {
+                        ArcList arcs = side == 0 ? outgoing : incoming;
+                        for (int k = 0; k < arcs.size; ++k) {
+                            int neighbor = arcs.ends[k];
+                            (side == 0 ? in : out)[neighbor].remove(vertex);
+                            if (neighborMarks[neighbor] != vertex + 1) {
+                                neighborMarks[neighbor] = vertex + 1;
+                                ++contractedNeighbors[neighbor];
+                                depths[neighbor] = Math.max(depths[neighbor], depths[vertex] + 1);
+                            }
+                            if (touched[neighbor] != round) {
+                                touched[neighbor] = round;
+                                if (dirtySize == dirty.length) {
+                                    dirty = Arrays.copyOf(dirty, dirtySize * 2);
+                                }
+                                dirty[dirtySize++] = neighbor;
+                            }
+                        }
+                    }
+
+                    Shortcuts shortcuts = pending[i];
+                    for (int k = 0; k < shortcuts.size; ++k) {
+                        out[shortcuts.sources[k]].put(shortcuts.targets[k], shortcuts.weights[k], vertex);
+                        in[shortcuts.targets[k]].put(shortcuts.sources[k], shortcuts.weights[k], vertex);
+                    }
+                }
+
+                int[] updated = dirty;
+                forEach(dirtySize, (position, search) ->
+                        priorities[updated[position]] = priority(updated[position], search));
+            }
+        }
+
+        // Приоритет: разность добавленных и удалённых дуг плюс число уже
+        // стянутых соседей и глубина, чтобы стягивание шло равномерно.
+        private int priority(int vertex, WitnessSearch search) {
+            int added = shortcuts(vertex, search, null);
+            int removed = out[vertex].size + in[vertex].size;
+            return 2 * (added - removed) + contractedNeighbors[vertex] + depths[vertex];
+        }
+
+        // Равные приоритеты различаются перемешанным индексом, иначе на
+        // длинных цепочках в раунд попадало бы по одной вершине.
+        private boolean before(int left, int right) {
+            if (priorities[left] != priorities[right]) {
+                return priorities[left] < priorities[right];
+            }
+            return left * 0x9E3779B9 < right * 0x9E3779B9;
+        }
+
+        private boolean isLocalMinimum(int vertex) {
+            for (ArcList arcs : new ArcList[]{out[vertex], in[vertex]}) {
+                for (int i = 0; i < arcs.size; ++i) {
+                    if (before(arcs.ends[i], vertex)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        // Сокращения, без которых стягивание vertex удлинит кратчайшие
+        // пути. Поиск свидетеля обходит vertex и вершины текущего раунда.
+        // result == null - только подсчёт.
+        private int shortcuts(int vertex, WitnessSearch search, Shortcuts result) {
+            ArcList incoming = in[vertex];
+            ArcList outgoing = out[vertex];
+            double maxOut = 0.0;
+            for (int j = 0; j < outgoing.size; ++j) {
+                maxOut = Math.max(maxOut, outgoing.weights[j]);
+            }
+
+            int count = 0;
+            for (int i = 0; i < incoming.size; ++i) {
+                int source = incoming.ends[i];
+                double toVertex = incoming.weights[i];
+                search.run(out, states, source, vertex, toVertex + maxOut);
+                for (int j = 0; j < outgoing.size; ++j) {
+                    int target = outgoing.ends[j];
+                    double through = toVertex + outgoing.weights[j];
+                    if (target == source || search.distanceTo(target) <= through) {
+                        continue;
+                    }
+                    ++count;
+                    if (result != null) {
+                        result.add(source, target, through);
+                    }
+                }
+            }
+            return count;
+        }
+
+        private void forEach(int size, Step step) {
+            if (size <= VERTICES_PER_TASK || pool.getParallelism() < 2) {
+                WitnessSearch search = borrow();
+                for (int position = 0; position < size; ++position) {
+                    step.apply(position, search);
+                }
+                searches.add(search);
+                return;
+            }
+            pool.invoke(new StepTask(step, 0, size));
+        }
+
+        private WitnessSearch borrow() {
+            WitnessSearch search = searches.poll();
+            return search != null ? search : new WitnessSearch(n);
+        }
+
+        private class StepTask extends RecursiveAction {
+            private final Step step;
+            private final int from;
+            private final int to;
+
+            StepTask(Step step, int from, int to) {
+                this.step = step;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > VERTICES_PER_TASK) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new StepTask(step, from, middle), new StepTask(step, middle, to));
+                    return;
+                }
+                WitnessSearch search = borrow();
+                for (int position = from; position < to; ++position) {
+                    step.apply(position, search);
+                }
+                searches.add(search);
+            }
+        }
+    }
+}
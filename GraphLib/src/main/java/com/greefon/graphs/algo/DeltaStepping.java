@@ -0,0 +1,280 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.CsrGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Параллельный поиск кратчайших путей delta-stepping (Meyer, Sanders).
+// Вершины раскладываются по корзинам ширины delta; корзина с наименьшим
+// номером обрабатывается фазами: все её вершины параллельно релаксируют
+// лёгкие рёбра (вес не больше delta), пока корзина не опустеет, затем
+// один раз релаксируются тяжёлые рёбра всех вершин корзины. Метка
+// вершины (расстояние и предшественник) заменяется целиком через CAS,
+// поэтому дерево предшественников всегда согласовано с расстояниями.
+// Веса рёбер должны быть неотрицательны.
+public class DeltaStepping {
+    // Графы меньше порога считаются обычной Дейкстрой.
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int VERTICES_PER_TASK = 256;
+
+    public static <T> Dijkstra.ShortestPaths<T> execute(Graph<T> graph, T source) {
+        return execute(graph, source, ForkJoinPool.commonPool());
+    }
+
+    // delta подбирается по графу: максимальный вес, делённый на среднюю
+    // степень.
+    public static <T> Dijkstra.ShortestPaths<T> execute(Graph<T> graph, T source, ForkJoinPool pool) {
+        IndexedGraph<T> indexed = prepare(graph, source);
+        return execute(indexed, source, defaultDelta(indexed), pool);
+    }
+
+    public static <T> Dijkstra.ShortestPaths<T> execute(Graph<T> graph, T source, double delta) {
+        return execute(graph, source, delta, ForkJoinPool.commonPool());
+    }
+
+    public static <T> Dijkstra.ShortestPaths<T> execute(Graph<T> graph, T source, double delta,
+                                                        ForkJoinPool pool) {
+        if (!(delta > 0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException(
+                    "Delta must be positive and finite: " + delta);
+        }
+
+        IndexedGraph<T> indexed = prepare(graph, source);
+        if (indexed.getIndexBound() < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            return Dijkstra.execute(indexed, source);
+        }
+        long start = Instrumentation.start();
+        Search<T> search = new Search<>(indexed, delta, pool);
+        Dijkstra.ShortestPaths<T> result = search.run(indexed.indexOf(source));
+        Instrumentation.report("DeltaStepping", start, search.processed, search.scanned.sum(), search.peak);
+        return result;
+    }
+
+    private static <T> IndexedGraph<T> prepare(Graph<T> graph, T source) {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                    "Source vertex is absent in this graph."
+            );
+        }
+        // Ленивая нумерация вершин не потокобезопасна, поэтому обычные
+        // графы один раз замораживаются в CSR.
+        return graph instanceof IndexedGraph
+                ? (IndexedGraph<T>) graph
+                : CsrGraph.of(graph);
+    }
+
+    static double defaultDelta(IndexedGraph<?> graph) {
+        double[] maxWeight = new double[1];
+        long arcs = 0;
+        int vertices = 0;
+        for (int i = 0; i < graph.getIndexBound(); ++i) {
+            if (!graph.containsIndex(i)) {
+                continue;
+            }
+            ++vertices;
+            arcs += graph.getDegree(i);
+            graph.forEachNeighbor(i, (neighbor, weight) -> maxWeight[0] = Math.max(maxWeight[0], weight));
+        }
+
+        double averageDegree = Math.max(1.0, (double) arcs / Math.max(1, vertices));
+        return maxWeight[0] > 0 ? maxWeight[0] / averageDegree : 1.0;
+    }
+
+    private static final class Label {
+        final double distance;
+        final int predecessor;
+
+        Label(double distance, int predecessor) {
+            this.distance = distance;
+            this.predecessor = predecessor;
+        }
+    }
+
+    private static final class IntList {
+        int[] items = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+
+    private static class Search<T> {
+        private final IndexedGraph<T> graph;
+        private final double delta;
+        private final ForkJoinPool pool;
+        private final AtomicReferenceArray<Label> labels;
+        private final TreeMap<Long, IntList> buckets = new TreeMap<>();
+        // Вершины, улучшенные задачами фазы; раскладываются по корзинам
+        // после её завершения.
+        private final Queue<IntList> improved = new ConcurrentLinkedQueue<>();
+        private final int[] phaseStamps;
+        private final int[] bucketStamps;
+        // Счётчики для Instrumentation: вершины с учётом повторной
+        // обработки, просмотренные рёбра и наибольший фронт фазы.
+        long processed;
+        int peak;
+        final LongAdder scanned = new LongAdder();
+
+        Search(IndexedGraph<T> graph, double delta, ForkJoinPool pool) {
+            this.graph = graph;
+            this.delta = delta;
+            this.pool = pool;
+            int n = graph.getIndexBound();
+            this.labels = new AtomicReferenceArray<>(n);
+            this.phaseStamps = new int[n];
+            this.bucketStamps = new int[n];
+        }
+
+        Dijkstra.ShortestPaths<T> run(int source) {
+            labels.set(source, new Label(0.0, -1));
+            bucket(0).add(source);
+
+            int phase = 0;
+            int round = 0;
+            while (!buckets.isEmpty()) {
+                long index = buckets.firstKey();
+                ++round;
+                IntList settled = new IntList();
+
+                IntList pending;
+                while ((pending = buckets.remove(index)) != null) {
+                    ++phase;
+                    // Устаревшие записи (вершина уже переехала в меньшую
+                    // корзину) и повторы внутри фазы отбрасываются.
+                    IntList frontier = new IntList();
+                    for (int i = 0; i < pending.size; ++i) {
+                        int vertex = pending.items[i];
+                        if (phaseStamps[vertex] == phase || bucketOf(vertex) != index) {
+                            continue;
+                        }
+                        phaseStamps[vertex] = phase;
+                        frontier.add(vertex);
+                        if (bucketStamps[vertex] != round) {
+                            bucketStamps[vertex] = round;
+                            settled.add(vertex);
+                        }
+                    }
+                    processed += frontier.size;
+                    peak = Math.max(peak, frontier.size);
+                    relaxAll(frontier, true);
+                }
+                relaxAll(settled, false);
+            }
+            return toShortestPaths(source);
+        }
+
+        private long bucketOf(int vertex) {
+            return (long) (labels.get(vertex).distance / delta);
+        }
+
+        private IntList bucket(long index) {
+            return buckets.computeIfAbsent(index, key -> new IntList());
+        }
+
+        private void relaxAll(IntList vertices, boolean light) {
+            if (vertices.size == 0) {
+                return;
+            }
+            if (vertices.size <= VERTICES_PER_TASK) {
+                relaxRange(vertices.items, 0, vertices.size, light);
+            } else {
+                pool.invoke(new RelaxTask(vertices.items, 0, vertices.size, light));
+            }
+
+            for (IntList batch; (batch = improved.poll()) != null; ) {
+                for (int i = 0; i < batch.size; ++i) {
+                    int vertex = batch.items[i];
+                    bucket(bucketOf(vertex)).add(vertex);
+                }
+            }
+        }
+
+        private void relaxRange(int[] vertices, int from, int to, boolean light) {
+            IntList result = new IntList();
+            long edges = 0;
+            for (int i = from; i < to; ++i) {
+                int current = vertices[i];
+                edges += graph.getDegree(current);
+                double base = labels.get(current).distance;
+                graph.forEachNeighbor(current, (neighbor, weight) -> {
+                    if (weight < 0) {
+                        throw new IllegalArgumentException(
+                                "Delta-stepping requires non-negative edge weights.");
+                    }
+                    if ((weight <= delta) == light && relax(neighbor, base + weight, current)) {
+                        result.add(neighbor);
+                    }
+                });
+            }
+            scanned.add(edges);
+            if (result.size > 0) {
+                improved.add(result);
+            }
+        }
+
+        private boolean relax(int vertex, double distance, int predecessor) {
+            while (true) {
+                Label current = labels.get(vertex);
+                if (current != null && current.distance <= distance) {
+                    return false;
+                }
+                if (labels.compareAndSet(vertex, current, new Label(distance, predecessor))) {
+                    return true;
+                }
+            }
+        }
+
+        private Dijkstra.ShortestPaths<T> toShortestPaths(int source) {
+            Map<T, Double> distances = new HashMap<>();
+            Map<T, T> predecessors = new HashMap<>();
+            for (int i = 0; i < labels.length(); ++i) {
+                Label label = labels.get(i);
+                if (label == null) {
+                    continue;
+                }
+                T vertex = graph.vertexAt(i);
+                distances.put(vertex, label.distance);
+                if (label.predecessor >= 0) {
+                    predecessors.put(vertex, graph.vertexAt(label.predecessor));
+                }
+            }
+            return new Dijkstra.ShortestPaths<>(graph.vertexAt(source), distances, predecessors);
+        }
+
+        private class RelaxTask extends RecursiveAction {
+            private final int[] vertices;
+            private final int from;
+            private final int to;
+            private final boolean light;
+
+            RelaxTask(int[] vertices, int from, int to, boolean light) {
+                this.vertices = vertices;
+                this.from = from;
+                this.to = to;
+                this.light = light;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > VERTICES_PER_TASK) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new RelaxTask(vertices, from, middle, light),
+                            new RelaxTask(vertices, middle, to, light));
+                    return;
+                }
+                relaxRange(vertices, from, to, light);
+            }
+        }
+    }
+}
@@ -1,37 +1,95 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.NeighborConsumer;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public class DepthFirstSearch {
     public static <T> List<T> execute(Graph<T> graph) {
+        return execute(graph, VisitedSet.forGraph(graph));
+    }
+
+    public static <T> List<T> execute(Graph<T> graph, VisitedSet<T> visited) {
+        long start = Instrumentation.start();
         List<T> result = new ArrayList<>();
-        Set<T> visited = new HashSet<>();
+        Instrumentation.Counter counter = new Instrumentation.Counter();
 
         for (T vertex : graph.getVertices()) {
             if (!visited.contains(vertex)) {
-                dfsComponent(graph, vertex, result, visited);
+                dfsComponent(graph, vertex, result, visited, counter);
             }
         }
 
+        Instrumentation.report("DepthFirstSearch", start, result.size(), counter.edges, counter.peak);
         return result;
     }
+
     public static <T> void dfsComponent(Graph<T> graph, T source, List<T> result, Set<T> visited) {
-        Stack<T> stack = new Stack<>();
+        dfsComponent(graph, source, result, VisitedSet.of(visited));
+    }
+
+    public static <T> void dfsComponent(Graph<T> graph, T source, List<T> result, VisitedSet<T> visited) {
+        dfsComponent(graph, source, result, visited, new Instrumentation.Counter());
+    }
 
-        stack.add(source);
+    private static <T> void dfsComponent(Graph<T> graph, T source, List<T> result, VisitedSet<T> visited,
+                                         Instrumentation.Counter counter) {
+        Deque<T> stack = new ArrayDeque<>();
+        NeighborConsumer<T> push = (neighbor, weight) -> {
+            ++counter.edges;
+            if (visited.add(neighbor)) {
+                stack.push(neighbor);
+            }
+        };
+
+        stack.push(source);
         visited.add(source);
 
         while (!stack.isEmpty()) {
+            counter.frontier(stack.size());
             T current = stack.pop();
             result.add(current);
-            for (T neighbor : graph.getNeighbors(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    stack.add(neighbor);
-                }
-            }
+            graph.forEachNeighbor(current, push);
         }
     }
+
+    // Ленивый обход вершин, достижимых из source: очередная вершина
+    // раскрывается только при запросе следующей.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source) {
+        return iterator(graph, source, Integer.MAX_VALUE);
+    }
+
+    // Обход не дальше maxDepth рёбер от source.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source, int maxDepth) {
+        return iterator(graph, source, maxDepth, VisitedSet.forGraph(graph));
+    }
+
+    // Отметки пишутся в переданный visited и не сбрасываются: уже
+    // отмеченные вершины обход пропускает.
+    public static <T> Iterator<T> iterator(Graph<T> graph, T source, int maxDepth,
+                                           VisitedSet<T> visited) {
+        return new Traversal<>(graph, source, maxDepth, true, null, visited);
+    }
+
+    public static <T> Stream<T> stream(Graph<T> graph, T source) {
+        return stream(graph, source, Integer.MAX_VALUE);
+    }
+
+    public static <T> Stream<T> stream(Graph<T> graph, T source, int maxDepth) {
+        return Traversal.stream(iterator(graph, source, maxDepth));
+    }
+
+    // Обход с обработчиком, который может отсечь ветку или остановить
+    // обход. Возвращает вершину, на которой обход остановлен.
+    public static <T> Optional<T> traverse(Graph<T> graph, T source, int maxDepth,
+                                           TraversalVisitor<T> visitor) {
+        return traverse(graph, source, maxDepth, visitor, VisitedSet.forGraph(graph));
+    }
+
+    public static <T> Optional<T> traverse(Graph<T> graph, T source, int maxDepth,
+                                           TraversalVisitor<T> visitor, VisitedSet<T> visited) {
+        return new Traversal<>(graph, source, maxDepth, true, visitor, visited).run();
+    }
 }
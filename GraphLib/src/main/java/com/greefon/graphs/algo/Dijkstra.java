@@ -1,6 +1,8 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.util.IndexedMinHeap;
 
 import java.util.*;
 
@@ -17,6 +19,24 @@ public class Dijkstra {
             this.predecessors = predecessors;
         }
 
+        public T getSource() {
+            return source;
+        }
+
+        // Только достижимые вершины; у источника предшественника нет.
+        public Map<T, Double> getDistances() {
+            return Collections.unmodifiableMap(distances);
+        }
+
+        public Map<T, T> getPredecessors() {
+            return Collections.unmodifiableMap(predecessors);
+        }
+
+        // Число вершин, до которых найдено расстояние.
+        public int size() {
+            return distances.size();
+        }
+
         public Double getDistanceTo(T target) {
             return distances.getOrDefault(target, Double.POSITIVE_INFINITY);
         }
@@ -45,54 +65,260 @@ public class Dijkstra {
             );
         }
 
-        Map<T, Double> distances = new HashMap<>();
-        Map<T, T> predecessors = new HashMap<>();
-        PriorityQueue<NodeDistance<T>> pq = new PriorityQueue<>(
-                Comparator.comparingDouble(node -> node.distance)
-        );
+        long start = Instrumentation.start();
+        VertexIndex<T> index = VertexIndex.of(graph);
+        Relaxation relaxation = new Relaxation(index.size());
+        settleAll(index, relaxation, index.indexOf(source));
 
-        initializeDistances(graph, source, distances, pq);
+        relaxation.report("Dijkstra", start);
+        return relaxation.toShortestPaths(index, source);
+    }
+
+    // Расстояния от всех вершин до target: поиск по входящим рёбрам.
+    // Предшественник в результате - следующая вершина на пути к target.
+    static <T> ShortestPaths<T> executeReverse(Graph<T> graph, T target) {
+        VertexIndex<T> index = VertexIndex.of(graph).reversed();
+        Relaxation relaxation = new Relaxation(index.size());
+        settleAll(index, relaxation, index.indexOf(target));
 
-        while (!pq.isEmpty()) {
-            NodeDistance<T> current = pq.poll();
-            T currentNode = current.node;
+        return relaxation.toShortestPaths(index, target);
+    }
 
-            if (current.distance > distances.get(currentNode)) {
-                continue;
+    static <T> void settleAll(VertexIndex<T> index, Relaxation relaxation, int source) {
+        relaxation.start(source);
+        while (!relaxation.heap.isEmpty()) {
+            relaxation.settleNext();
+            index.forEachNeighbor(relaxation.current, relaxation);
+        }
+    }
+
+    // Поиск до одной вершины: останавливается, как только цель извлечена
+    // из кучи. Результат содержит только окончательно найденные расстояния,
+    // в том числе до target.
+    public static <T> ShortestPaths<T> shortestPath(Graph<T> graph, T source, T target) {
+        checkEndpoints(graph, source, target);
+
+        long start = Instrumentation.start();
+        VertexIndex<T> index = VertexIndex.of(graph);
+        Relaxation relaxation = new Relaxation(index.size());
+        int targetIndex = index.indexOf(target);
+        relaxation.start(index.indexOf(source));
+
+        while (!relaxation.heap.isEmpty()) {
+            relaxation.settleNext();
+            if (relaxation.current == targetIndex) {
+                break;
             }
+            index.forEachNeighbor(relaxation.current, relaxation);
+        }
 
-            Map<T, Double> neighbors = graph.getNeighborsWithWeights(currentNode);
-            for (Map.Entry<T, Double> entry : neighbors.entrySet()) {
-                T vertex = entry.getKey();
-                double weight = entry.getValue();
-                double newDistance = distances.get(currentNode) + weight;
+        relaxation.report("Dijkstra.shortestPath", start);
+        return relaxation.toShortestPaths(index, source);
+    }
 
-                if (newDistance < distances.get(vertex)) {
-                    distances.put(vertex, newDistance);
-                    predecessors.put(vertex, currentNode);
-                    pq.add(new NodeDistance<>(vertex, newDistance));
-                }
+    // Двунаправленный поиск: прямой от source и обратный от target по
+    // входящим рёбрам (Graph.forEachPredecessor). Результат содержит
+    // расстояния только для вершин найденного пути.
+    public static <T> ShortestPaths<T> bidirectionalShortestPath(Graph<T> graph, T source, T target) {
+        checkEndpoints(graph, source, target);
+
+        long start = Instrumentation.start();
+        VertexIndex<T> index = VertexIndex.of(graph);
+        int sourceIndex = index.indexOf(source);
+        int targetIndex = index.indexOf(target);
+        Relaxation forward = new Relaxation(index.size());
+        Relaxation backward = new Relaxation(index.size());
+        forward.opposite = backward;
+        backward.opposite = forward;
+        forward.start(sourceIndex);
+        backward.start(targetIndex);
+        if (sourceIndex == targetIndex) {
+            forward.meet(sourceIndex, 0.0);
+        }
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            double best = Math.min(forward.best, backward.best);
+            if (forward.heap.peekKey() + backward.heap.peekKey() >= best) {
+                break;
             }
+
+            // Расширяем сторону с меньшей кучей.
+            if (forward.heap.size() <= backward.heap.size()) {
+                forward.settleNext();
+                index.forEachNeighbor(forward.current, forward);
+            } else {
+                backward.settleNext();
+                index.forEachPredecessor(backward.current, backward);
+            }
+        }
+
+        Instrumentation.report("Dijkstra.bidirectional", start,
+                forward.settled + backward.settled,
+                forward.scanned + backward.scanned,
+                forward.peak + backward.peak);
+
+        Relaxation winner = forward.best <= backward.best ? forward : backward;
+        Map<T, Double> distances = new HashMap<>();
+        Map<T, T> predecessors = new HashMap<>();
+        if (winner.meeting < 0) {
+            return new ShortestPaths<T>(source, distances, predecessors);
         }
 
+        double total = winner.best;
+        int meeting = winner.meeting;
+        for (int current = meeting; current >= 0; current = forward.predecessors[current]) {
+            T vertex = index.vertexAt(current);
+            distances.put(vertex, forward.distances[current]);
+            if (forward.predecessors[current] >= 0) {
+                predecessors.put(vertex, index.vertexAt(forward.predecessors[current]));
+            }
+        }
+        for (int current = meeting; backward.predecessors[current] >= 0; ) {
+            int next = backward.predecessors[current];
+            T vertex = index.vertexAt(next);
+            distances.put(vertex, total - backward.distances[next]);
+            predecessors.put(vertex, index.vertexAt(current));
+            current = next;
+        }
         return new ShortestPaths<T>(source, distances, predecessors);
     }
 
-    private static class NodeDistance<T> {
-        T node;
-        Double distance;
-        NodeDistance(T node, Double distance) {
-            this.node = node;
-            this.distance = distance;
+    static <T> void checkEndpoints(Graph<T> graph, T source, T target) {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                    "Source vertex is absent in this graph."
+            );
+        }
+        if (!graph.containsVertex(target)) {
+            throw new IllegalArgumentException(
+                    "Target vertex is absent in this graph."
+            );
         }
     }
 
-    private static <T> void initializeDistances(Graph<T> graph, T source, Map<T, Double> distances,
-                                     PriorityQueue<NodeDistance<T>> pq) {
-        for (T vertex : graph.getVertices()) {
-            distances.put(vertex, Double.POSITIVE_INFINITY);
+    // Состояние поиска над плотными индексами. Куча с decreaseKey хранит
+    // каждую вершину не более одного раза, поэтому её размер O(V),
+    // а релаксация не создаёт объектов.
+    static class Relaxation implements IntDoubleConsumer {
+        double[] distances;
+        int[] predecessors;
+        final IndexedMinHeap heap;
+        int current;
+        double currentDistance;
+        // Для двунаправленного поиска: встречный поиск и лучший путь,
+        // найденный при сканировании рёбер этой стороной.
+        Relaxation opposite;
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        // Счётчики для Instrumentation.
+        long settled;
+        long scanned;
+        int peak;
+
+        Relaxation(int capacity) {
+            capacity = Math.max(16, capacity);
+            this.distances = new double[capacity];
+            this.predecessors = new int[capacity];
+            this.heap = new IndexedMinHeap(capacity);
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, -1);
+        }
+
+        void ensureCapacity(int capacity) {
+            int old = distances.length;
+            if (capacity <= old) {
+                return;
+            }
+
+            int grown = Math.max(capacity, old * 2);
+            distances = Arrays.copyOf(distances, grown);
+            predecessors = Arrays.copyOf(predecessors, grown);
+            Arrays.fill(distances, old, grown, Double.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, old, grown, -1);
+            heap.ensureCapacity(grown);
+        }
+
+        // Возвращает состояние к исходному, чтобы переиспользовать
+        // массивы для следующего поиска.
+        void reset() {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, -1);
+            heap.clear();
+            best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+            settled = 0;
+            scanned = 0;
+            peak = 0;
+        }
+
+        void start(int source) {
+            ensureCapacity(source + 1);
+            distances[source] = 0.0;
+            heap.add(source, priority(source, 0.0));
+        }
+
+        void settleNext() {
+            if (heap.size() > peak) {
+                peak = heap.size();
+            }
+            ++settled;
+            current = heap.poll();
+            currentDistance = distances[current];
+        }
+
+        // Приоритет вершины в куче; A* добавляет к расстоянию оценку.
+        double priority(int vertex, double distance) {
+            return distance;
+        }
+
+        void meet(int vertex, double length) {
+            if (length < best) {
+                best = length;
+                meeting = vertex;
+            }
+        }
+
+        @Override
+        public void accept(int vertex, double weight) {
+            ++scanned;
+            ensureCapacity(vertex + 1);
+
+            double newDistance = currentDistance + weight;
+            if (newDistance < distances[vertex]) {
+                distances[vertex] = newDistance;
+                predecessors[vertex] = current;
+                heap.addOrDecrease(vertex, priority(vertex, newDistance));
+            }
+
+            if (opposite != null && vertex < opposite.distances.length) {
+                double rest = opposite.distances[vertex];
+                if (rest != Double.POSITIVE_INFINITY) {
+                    meet(vertex, newDistance + rest);
+                }
+            }
+        }
+
+        void report(String algorithm, long start) {
+            Instrumentation.report(algorithm, start, settled, scanned, peak);
+        }
+
+        <T> ShortestPaths<T> toShortestPaths(VertexIndex<T> index, T source) {
+            Map<T, Double> distanceMap = new HashMap<>();
+            Map<T, T> predecessorMap = new HashMap<>();
+            int bound = Math.min(index.size(), distances.length);
+
+            for (int i = 0; i < bound; ++i) {
+                // Вершины, оставшиеся в куче, ещё не окончательны.
+                if (distances[i] == Double.POSITIVE_INFINITY || heap.contains(i)) {
+                    continue;
+                }
+                T vertex = index.vertexAt(i);
+                distanceMap.put(vertex, distances[i]);
+                if (predecessors[i] >= 0) {
+                    predecessorMap.put(vertex, index.vertexAt(predecessors[i]));
+                }
+            }
+            return new ShortestPaths<T>(source, distanceMap, predecessorMap);
         }
-        distances.put(source, 0.0);
-        pq.add(new NodeDistance<>(source, 0.0));
     }
 }
@@ -0,0 +1,297 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+
+// Обёртка над графом, поддерживающая дерево кратчайших путей из одного
+// источника при изменении рёбер (в духе Ramalingam-Reps). Уменьшение
+// веса или новое ребро распространяется Дейкстрой только от вершины,
+// расстояние до которой улучшилось. При увеличении веса или удалении
+// ребра дерева пересчитывается только поддерево его конца: расстояния
+// поддерева сбрасываются, затем восстанавливаются через входящие рёбра
+// из остальной части дерева. Изменения рёбер вне дерева, которые не
+// улучшают пути, ничего не стоят. Веса рёбер должны быть неотрицательны.
+public class DynamicShortestPaths<T> implements Graph<T> {
+    private final Graph<T> graph;
+    private final T source;
+    private final Map<T, Double> distances;
+    private final Map<T, T> predecessors;
+    private final PriorityQueue<Candidate<T>> queue =
+            new PriorityQueue<>(Comparator.comparingDouble(candidate -> candidate.distance));
+
+    private static final class Candidate<T> {
+        final T vertex;
+        final double distance;
+
+        Candidate(T vertex, double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+    }
+
+    public DynamicShortestPaths(Graph<T> graph, T source) {
+        this(graph, Dijkstra.execute(graph, source));
+    }
+
+    // paths должен быть полным результатом Dijkstra.execute для текущего
+    // состояния графа; результат shortestPath с ранней остановкой не подходит.
+    public DynamicShortestPaths(Graph<T> graph, Dijkstra.ShortestPaths<T> paths) {
+        if (!graph.containsVertex(paths.getSource())) {
+            throw new IllegalArgumentException(
+                    "Source vertex is absent in this graph."
+            );
+        }
+        this.graph = graph;
+        this.source = paths.getSource();
+        this.distances = new HashMap<>(paths.getDistances());
+        this.predecessors = new HashMap<>(paths.getPredecessors());
+    }
+
+    public T getSource() {
+        return source;
+    }
+
+    public Double getDistanceTo(T target) {
+        return distances.getOrDefault(target, Double.POSITIVE_INFINITY);
+    }
+
+    public List<T> getPathTo(T target) {
+        if (!distances.containsKey(target)) {
+            return null;
+        }
+
+        LinkedList<T> path = new LinkedList<>();
+        for (T current = target; current != null; current = predecessors.get(current)) {
+            path.addFirst(current);
+        }
+        return path;
+    }
+
+    // Копия текущего дерева; дальнейшие изменения её не затрагивают.
+    public Dijkstra.ShortestPaths<T> toShortestPaths() {
+        return new Dijkstra.ShortestPaths<>(source, new HashMap<>(distances), new HashMap<>(predecessors));
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        graph.addVertex(vertex);
+        restoreSource();
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        if (weight < 0) {
+            throw new IllegalArgumentException(
+                    "Edge weight must be non-negative: " + weight);
+        }
+
+        // Для неориентированного графа меняются обе дуги, поэтому
+        // сравниваются веса в обе стороны.
+        Optional<Double> forward = graph.getWeight(source, destination);
+        Optional<Double> backward = graph.getWeight(destination, source);
+        graph.addEdge(source, destination, weight, createVertices);
+        restoreSource();
+
+        update(source, destination, forward);
+        update(destination, source, backward);
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        Optional<Double> forward = graph.getWeight(source, destination);
+        Optional<Double> backward = graph.getWeight(destination, source);
+        graph.removeEdge(source, destination);
+
+        update(source, destination, forward);
+        update(destination, source, backward);
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        if (!graph.containsVertex(vertex)) {
+            return;
+        }
+        if (vertex.equals(source)) {
+            graph.removeVertex(vertex);
+            distances.clear();
+            predecessors.clear();
+            return;
+        }
+
+        List<T> children = new ArrayList<>();
+        graph.forEachNeighbor(vertex, (neighbor, weight) -> {
+            if (vertex.equals(predecessors.get(neighbor))) {
+                children.add(neighbor);
+            }
+        });
+        graph.removeVertex(vertex);
+        distances.remove(vertex);
+        predecessors.remove(vertex);
+        raise(children);
+    }
+
+    @Override
+    public void clear() {
+        graph.clear();
+        distances.clear();
+        predecessors.clear();
+    }
+
+    // После clear или удаления источника расстояния отсчитываются заново,
+    // когда источник снова появится в графе.
+    private void restoreSource() {
+        if (distances.isEmpty() && graph.containsVertex(source)) {
+            distances.put(source, 0.0);
+        }
+    }
+
+    private void update(T from, T to, Optional<Double> before) {
+        Optional<Double> after = graph.getWeight(from, to);
+        if (after.equals(before)) {
+            return;
+        }
+        if (after.isPresent() && (before.isEmpty() || after.get() < before.get())) {
+            lower(from, to, after.get());
+        } else if (from.equals(predecessors.get(to))) {
+            raise(Collections.singletonList(to));
+        }
+    }
+
+    private void lower(T from, T to, double weight) {
+        Double base = distances.get(from);
+        if (base == null) {
+            return;
+        }
+        double candidate = base + weight;
+        if (candidate < getDistanceTo(to)) {
+            distances.put(to, candidate);
+            predecessors.put(to, from);
+            queue.add(new Candidate<>(to, candidate));
+            propagate();
+        }
+    }
+
+    // Сбрасывает поддеревья roots и заново находит для них расстояния:
+    // вне поддеревьев расстояния от удаления рёбер не меняются.
+    private void raise(Collection<T> roots) {
+        Set<T> affected = new LinkedHashSet<>();
+        Deque<T> stack = new ArrayDeque<>();
+        for (T root : roots) {
+            if (distances.containsKey(root) && affected.add(root)) {
+                stack.push(root);
+            }
+        }
+        while (!stack.isEmpty()) {
+            T current = stack.pop();
+            graph.forEachNeighbor(current, (neighbor, weight) -> {
+                if (current.equals(predecessors.get(neighbor)) && affected.add(neighbor)) {
+                    stack.push(neighbor);
+                }
+            });
+        }
+
+        for (T vertex : affected) {
+            distances.remove(vertex);
+            predecessors.remove(vertex);
+        }
+        for (T vertex : affected) {
+            graph.forEachPredecessor(vertex, (predecessor, weight) -> {
+                Double base = distances.get(predecessor);
+                if (base != null && base + weight < getDistanceTo(vertex)) {
+                    distances.put(vertex, base + weight);
+                    predecessors.put(vertex, predecessor);
+                }
+            });
+            Double distance = distances.get(vertex);
+            if (distance != null) {
+                queue.add(new Candidate<>(vertex, distance));
+            }
+        }
+        propagate();
+    }
+
+    // Дейкстра от вершин очереди; устаревшие записи пропускаются.
+    private void propagate() {
+        while (!queue.isEmpty()) {
+            Candidate<T> next = queue.poll();
+            if (next.distance > getDistanceTo(next.vertex)) {
+                continue;
+            }
+            graph.forEachNeighbor(next.vertex, (neighbor, weight) -> {
+                double candidate = next.distance + weight;
+                if (candidate < getDistanceTo(neighbor)) {
+                    distances.put(neighbor, candidate);
+                    predecessors.put(neighbor, next.vertex);
+                    queue.add(new Candidate<>(neighbor, candidate));
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return graph.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        return graph.containsEdge(source, destination);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return graph.getVertexCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        return graph.getNeighbors(vertex);
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        return graph.getNeighborsWithWeights(vertex);
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        graph.forEachNeighbor(vertex, consumer);
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return graph.getPredecessors(vertex);
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        return graph.getInDegree(vertex);
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        graph.forEachPredecessor(vertex, consumer);
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        return graph.getWeight(source, destination);
+    }
+
+    @Override
+    public Graph<T> freeze() {
+        return graph.freeze();
+    }
+}
@@ -0,0 +1,155 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.GraphListener;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Готовые счётчики для выгрузки в систему метрик: подключаются как
+// слушатель алгоритмов (Instrumentation.setListener) и как слушатель
+// изменений графов (AbstractGraph.setListener). Потокобезопасны.
+public class GraphMetrics implements AlgorithmListener, GraphListener<Object> {
+    private final Map<String, AlgorithmCounters> algorithms = new ConcurrentHashMap<>();
+    private final LongAdder verticesAdded = new LongAdder();
+    private final LongAdder verticesRemoved = new LongAdder();
+    private final LongAdder edgesAdded = new LongAdder();
+    private final LongAdder edgesRemoved = new LongAdder();
+    private final LongAdder edgeWeightChanges = new LongAdder();
+    private final LongAdder clears = new LongAdder();
+
+    public static class AlgorithmCounters {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder vertices = new LongAdder();
+        private final LongAdder edges = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator peakFrontier = new LongAccumulator(Math::max, 0L);
+
+        void add(AlgorithmStats stats) {
+            runs.increment();
+            vertices.add(stats.getVerticesVisited());
+            edges.add(stats.getEdgesScanned());
+            nanos.add(stats.getNanos());
+            peakFrontier.accumulate(stats.getPeakFrontier());
+        }
+
+        public long getRuns() {
+            return runs.sum();
+        }
+
+        public long getVerticesVisited() {
+            return vertices.sum();
+        }
+
+        public long getEdgesScanned() {
+            return edges.sum();
+        }
+
+        public long getTotalNanos() {
+            return nanos.sum();
+        }
+
+        // Наибольший фронт среди всех запусков.
+        public long getPeakFrontier() {
+            return peakFrontier.get();
+        }
+    }
+
+    @Override
+    public void completed(AlgorithmStats stats) {
+        algorithms.computeIfAbsent(stats.getAlgorithm(), name -> new AlgorithmCounters()).add(stats);
+    }
+
+    // null, если алгоритм ещё не запускался.
+    public AlgorithmCounters getAlgorithm(String algorithm) {
+        return algorithms.get(algorithm);
+    }
+
+    @Override
+    public void vertexAdded(Object vertex) {
+        verticesAdded.increment();
+    }
+
+    @Override
+    public void vertexRemoved(Object vertex) {
+        verticesRemoved.increment();
+    }
+
+    @Override
+    public void edgeAdded(Object source, Object destination, double weight) {
+        edgesAdded.increment();
+    }
+
+    @Override
+    public void edgeWeightChanged(Object source, Object destination, double weight) {
+        edgeWeightChanges.increment();
+    }
+
+    @Override
+    public void edgeRemoved(Object source, Object destination) {
+        edgesRemoved.increment();
+    }
+
+    @Override
+    public void cleared() {
+        clears.increment();
+    }
+
+    public long getVerticesAdded() {
+        return verticesAdded.sum();
+    }
+
+    public long getVerticesRemoved() {
+        return verticesRemoved.sum();
+    }
+
+    public long getEdgesAdded() {
+        return edgesAdded.sum();
+    }
+
+    public long getEdgesRemoved() {
+        return edgesRemoved.sum();
+    }
+
+    public long getEdgeWeightChanges() {
+        return edgeWeightChanges.sum();
+    }
+
+    public long getClears() {
+        return clears.sum();
+    }
+
+    // Плоский снимок вида "Dijkstra.runs" -> 12, "graph.edgesAdded" -> 40,
+    // упорядоченный по имени.
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, AlgorithmCounters> entry : algorithms.entrySet()) {
+            String prefix = entry.getKey() + ".";
+            AlgorithmCounters counters = entry.getValue();
+            result.put(prefix + "runs", counters.getRuns());
+            result.put(prefix + "verticesVisited", counters.getVerticesVisited());
+            result.put(prefix + "edgesScanned", counters.getEdgesScanned());
+            result.put(prefix + "totalNanos", counters.getTotalNanos());
+            result.put(prefix + "peakFrontier", counters.getPeakFrontier());
+        }
+        result.put("graph.verticesAdded", getVerticesAdded());
+        result.put("graph.verticesRemoved", getVerticesRemoved());
+        result.put("graph.edgesAdded", getEdgesAdded());
+        result.put("graph.edgesRemoved", getEdgesRemoved());
+        result.put("graph.edgeWeightChanges", getEdgeWeightChanges());
+        result.put("graph.clears", getClears());
+        return result;
+    }
+
+    public void reset() {
+        algorithms.clear();
+        verticesAdded.reset();
+        verticesRemoved.reset();
+        edgesAdded.reset();
+        edgesRemoved.reset();
+        edgeWeightChanges.reset();
+        clears.reset();
+    }
+}
@@ -0,0 +1,184 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.NeighborConsumer;
+import com.greefon.graphs.util.UnionFind;
+
+import java.util.*;
+
+// Обёртка над графом, поддерживающая компоненты связности при добавлении
+// вершин и рёбер: sameComponent работает за O(α(n)) без повторного
+// запуска ConnectivityInspector. Удаления union-find не поддерживает,
+// поэтому после них структура перестраивается при следующем запросе.
+// Направление рёбер не учитывается (компоненты слабой связности).
+public class IncrementalConnectivity<T> implements Graph<T> {
+    private final Graph<T> graph;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final UnionFind sets = new UnionFind();
+    private boolean stale;
+
+    public IncrementalConnectivity(Graph<T> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    private void rebuild() {
+        ids.clear();
+        sets.clear();
+        for (T vertex : graph.getVertices()) {
+            track(vertex);
+        }
+        for (T vertex : graph.getVertices()) {
+            int id = ids.get(vertex);
+            graph.forEachNeighbor(vertex, (neighbor, weight) -> sets.union(id, ids.get(neighbor)));
+        }
+        stale = false;
+    }
+
+    private int track(T vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = sets.add();
+            ids.put(vertex, id);
+        }
+        return id;
+    }
+
+    private void refresh() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    public boolean sameComponent(T a, T b) {
+        refresh();
+        Integer idA = ids.get(a);
+        Integer idB = ids.get(b);
+        return idA != null && idB != null && sets.connected(idA, idB);
+    }
+
+    // Идентификатор компоненты; меняется при слиянии компонент.
+    public int getComponentId(T vertex) {
+        refresh();
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException(
+                    "Vertex " + vertex + " is absent in this graph.");
+        }
+        return sets.find(id);
+    }
+
+    public int getComponentCount() {
+        refresh();
+        return sets.getSetCount();
+    }
+
+    public Graph<T> getGraph() {
+        return graph;
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        graph.addVertex(vertex);
+        if (!stale) {
+            track(vertex);
+        }
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        graph.addEdge(source, destination, weight, createVertices);
+        if (!stale) {
+            sets.union(track(source), track(destination));
+        }
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        if (graph.containsVertex(vertex)) {
+            graph.removeVertex(vertex);
+            stale = true;
+        }
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        if (graph.containsEdge(source, destination)) {
+            graph.removeEdge(source, destination);
+            stale = true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        graph.clear();
+        ids.clear();
+        sets.clear();
+        stale = false;
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return graph.containsVertex(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        return graph.containsEdge(source, destination);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return graph.getVertexCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        return graph.getNeighbors(vertex);
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        return graph.getNeighborsWithWeights(vertex);
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        graph.forEachNeighbor(vertex, consumer);
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return graph.getPredecessors(vertex);
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        return graph.getInDegree(vertex);
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        graph.forEachPredecessor(vertex, consumer);
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        return graph.getWeight(source, destination);
+    }
+
+    @Override
+    public Graph<T> freeze() {
+        return graph.freeze();
+    }
+}
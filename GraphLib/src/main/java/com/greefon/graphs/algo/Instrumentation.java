@@ -0,0 +1,51 @@
+package com.greefon.graphs.algo;
+
+// Точка подключения метрик алгоритмов. Пока слушатель не установлен,
+// алгоритмы только увеличивают несколько локальных счётчиков и не
+// читают время; всё остальное выполняется лишь при включённом слушателе.
+public final class Instrumentation {
+    private static volatile AlgorithmListener listener;
+
+    private Instrumentation() {
+    }
+
+    // null отключает сбор метрик.
+    public static void setListener(AlgorithmListener listener) {
+        Instrumentation.listener = listener;
+    }
+
+    public static AlgorithmListener getListener() {
+        return listener;
+    }
+
+    static boolean isEnabled() {
+        return listener != null;
+    }
+
+    // Время начала запуска или 0, если метрики выключены.
+    static long start() {
+        return listener != null ? System.nanoTime() : 0L;
+    }
+
+    static void report(String algorithm, long start, long vertices, long edges, long peakFrontier) {
+        AlgorithmListener current = listener;
+        if (current == null || start == 0L) {
+            return;
+        }
+        current.completed(new AlgorithmStats(algorithm, vertices, edges, peakFrontier,
+                System.nanoTime() - start));
+    }
+
+    // Счётчики обхода для алгоритмов, которые раскрывают вершины
+    // через NeighborConsumer.
+    static final class Counter {
+        long edges;
+        long peak;
+
+        void frontier(int size) {
+            if (size > peak) {
+                peak = size;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.CsrGraph;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class MultiSourceShortestPaths {
+    public static class DistanceMatrix<T> {
+        private final IndexedGraph<T> graph;
+        private final List<T> sources;
+        private final Map<T, Integer> rows;
+        private final double[][] distances;
+
+        DistanceMatrix(IndexedGraph<T> graph, List<T> sources, double[][] distances) {
+            this.graph = graph;
+            this.sources = sources;
+            this.distances = distances;
+            this.rows = new HashMap<>();
+            for (int i = 0; i < sources.size(); ++i) {
+                rows.putIfAbsent(sources.get(i), i);
+            }
+        }
+
+        public List<T> getSources() {
+            return Collections.unmodifiableList(sources);
+        }
+
+        public double getDistance(T source, T target) {
+            Integer row = rows.get(source);
+            if (row == null) {
+                throw new IllegalArgumentException(
+                        "Source " + source + " is absent in this matrix.");
+            }
+            int column = graph.indexOf(target);
+            return column >= 0 ? distances[row][column] : Double.POSITIVE_INFINITY;
+        }
+
+        // Строка i соответствует getSources().get(i), столбец - индексу
+        // вершины в getGraph().
+        public double[][] toArray() {
+            return distances;
+        }
+
+        public IndexedGraph<T> getGraph() {
+            return graph;
+        }
+    }
+
+    public static <T> DistanceMatrix<T> execute(Graph<T> graph, Collection<T> sources) {
+        return execute(graph, sources, ForkJoinPool.commonPool());
+    }
+
+    // Источники делятся на порции, каждая порция считается одной задачей
+    // в executor. Рабочие массивы Дейкстры берутся из общего пула и
+    // переиспользуются, так что их число не превышает числа потоков.
+    public static <T> DistanceMatrix<T> execute(Graph<T> graph, Collection<T> sources,
+                                                ExecutorService executor) {
+        // Ленивая нумерация вершин не потокобезопасна, поэтому обычные
+        // графы один раз замораживаются в CSR.
+        IndexedGraph<T> indexed = graph instanceof IndexedGraph
+                ? (IndexedGraph<T>) graph
+                : CsrGraph.of(graph);
+
+        List<T> sourceList = new ArrayList<>(sources);
+        int[] sourceIndices = new int[sourceList.size()];
+        for (int i = 0; i < sourceIndices.length; ++i) {
+            sourceIndices[i] = indexed.indexOf(sourceList.get(i));
+            if (sourceIndices[i] < 0) {
+                throw new IllegalArgumentException(
+                        "Source vertex " + sourceList.get(i) + " is absent in this graph.");
+            }
+        }
+
+        int bound = indexed.getIndexBound();
+        double[][] distances = new double[sourceIndices.length][];
+        Queue<Dijkstra.Relaxation> scratch = new ConcurrentLinkedQueue<>();
+
+        int parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int chunk = Math.max(1, sourceIndices.length / Math.max(1, parallelism * 4));
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < sourceIndices.length; from += chunk) {
+            int start = from;
+            int end = Math.min(sourceIndices.length, from + chunk);
+            tasks.add(() -> {
+                VertexIndex<T> index = VertexIndex.of(indexed);
+                Dijkstra.Relaxation relaxation = scratch.poll();
+                if (relaxation == null) {
+                    relaxation = new Dijkstra.Relaxation(bound);
+                }
+                try {
+                    for (int i = start; i < end; ++i) {
+                        relaxation.reset();
+                        Dijkstra.settleAll(index, relaxation, sourceIndices[i]);
+                        distances[i] = Arrays.copyOf(relaxation.distances, bound);
+                    }
+                } finally {
+                    scratch.add(relaxation);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Shortest path computation was interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+
+        return new DistanceMatrix<>(indexed, sourceList, distances);
+    }
+}
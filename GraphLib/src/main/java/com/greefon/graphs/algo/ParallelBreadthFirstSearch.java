@@ -0,0 +1,279 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Поуровневый параллельный BFS с переключением направления (Beamer et al.):
+// пока фронт мал, вершины фронта просматривают исходящие рёбра (top-down);
+// когда рёбер фронта становится много, непосещённые вершины сами ищут
+// родителя среди входящих рёбер (bottom-up) и останавливаются на первом.
+// Фронты хранятся битовыми картами.
+public class ParallelBreadthFirstSearch {
+    // Графы меньше порога обходятся последовательно: накладные расходы
+    // на задачи там больше выигрыша.
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int WORDS_PER_TASK = 64;
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    public static class Result<T> {
+        private final IndexedGraph<T> graph;
+        private final int source;
+        private final int[] depths;
+        private final int[] parents;
+
+        Result(IndexedGraph<T> graph, int source, int[] depths, int[] parents) {
+            this.graph = graph;
+            this.source = source;
+            this.depths = depths;
+            this.parents = parents;
+        }
+
+        // Глубина вершины или -1, если она недостижима.
+        public int getDepth(T vertex) {
+            int index = graph.indexOf(vertex);
+            return index >= 0 ? depths[index] : -1;
+        }
+
+        public T getParent(T vertex) {
+            int index = graph.indexOf(vertex);
+            if (index < 0 || index == source || parents[index] < 0) {
+                return null;
+            }
+            return graph.vertexAt(parents[index]);
+        }
+
+        public boolean isReached(T vertex) {
+            return getDepth(vertex) >= 0;
+        }
+
+        // Массивы по индексам getGraph(): -1 для недостижимых вершин,
+        // родитель источника - он сам.
+        public int[] getDepths() {
+            return depths;
+        }
+
+        public int[] getParents() {
+            return parents;
+        }
+
+        public IndexedGraph<T> getGraph() {
+            return graph;
+        }
+    }
+
+    public static <T> Result<T> execute(Graph<T> graph, T source) {
+        return execute(graph, source, ForkJoinPool.commonPool());
+    }
+
+    public static <T> Result<T> execute(Graph<T> graph, T source, ForkJoinPool pool) {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                    "Source vertex is absent in this graph."
+            );
+        }
+
+        IndexedGraph<T> indexed = graph instanceof IndexedGraph
+                ? (IndexedGraph<T>) graph
+                : CsrGraph.of(graph);
+        int sourceIndex = indexed.indexOf(source);
+
+        if (indexed.getIndexBound() < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            return sequential(indexed, sourceIndex);
+        }
+        return new Search<>(indexed, pool).run(sourceIndex);
+    }
+
+    private static <T> Result<T> sequential(IndexedGraph<T> graph, int source) {
+        int n = graph.getIndexBound();
+        int[] depths = new int[n];
+        int[] parents = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(depths, -1);
+        Arrays.fill(parents, -1);
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        depths[source] = 0;
+        parents[source] = source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int i = 0; i < graph.getDegree(current); ++i) {
+                int neighbor = graph.getNeighborAt(current, i);
+                if (depths[neighbor] < 0) {
+                    depths[neighbor] = depths[current] + 1;
+                    parents[neighbor] = current;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return new Result<>(graph, source, depths, parents);
+    }
+
+    private static class Search<T> {
+        private final IndexedGraph<T> graph;
+        private final ForkJoinPool pool;
+        private final int n;
+        private final int words;
+        private final int[] depths;
+        private final AtomicIntegerArray parents;
+        private AtomicLongArray frontier;
+        private AtomicLongArray next;
+        private final LongAdder nextSize = new LongAdder();
+        private final LongAdder nextEdges = new LongAdder();
+        private int depth;
+
+        Search(IndexedGraph<T> graph, ForkJoinPool pool) {
+            this.graph = graph;
+            this.pool = pool;
+            this.n = graph.getIndexBound();
+            this.words = (n + 63) >>> 6;
+            this.depths = new int[n];
+            this.parents = new AtomicIntegerArray(n);
+            this.frontier = new AtomicLongArray(words);
+            this.next = new AtomicLongArray(words);
+            Arrays.fill(depths, -1);
+            for (int i = 0; i < n; ++i) {
+                parents.lazySet(i, -1);
+            }
+        }
+
+        Result<T> run(int source) {
+            long unexploredEdges = 0;
+            for (int i = 0; i < n; ++i) {
+                unexploredEdges += graph.getDegree(i);
+            }
+
+            depths[source] = 0;
+            parents.set(source, source);
+            frontier.set(source >>> 6, 1L << source);
+            long frontierSize = 1;
+            long frontierEdges = graph.getDegree(source);
+            unexploredEdges -= frontierEdges;
+            boolean bottomUp = false;
+
+            while (frontierSize > 0) {
+                if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < n / BETA) {
+                    bottomUp = false;
+                }
+
+                nextSize.reset();
+                nextEdges.reset();
+                if (bottomUp) {
+                    pool.invoke(new BottomUp(0, words));
+                } else {
+                    pool.invoke(new TopDown(0, words));
+                }
+
+                AtomicLongArray swap = frontier;
+                frontier = next;
+                next = swap;
+                for (int i = 0; i < words; ++i) {
+                    next.lazySet(i, 0L);
+                }
+
+                frontierSize = nextSize.sum();
+                frontierEdges = nextEdges.sum();
+                unexploredEdges -= frontierEdges;
+                ++depth;
+            }
+
+            int[] parentArray = new int[n];
+            for (int i = 0; i < n; ++i) {
+                parentArray[i] = parents.get(i);
+            }
+            return new Result<>(graph, source, depths, parentArray);
+        }
+
+        private void visit(int vertex) {
+            depths[vertex] = depth + 1;
+            next.getAndAccumulate(vertex >>> 6, 1L << vertex, (a, b) -> a | b);
+            nextSize.increment();
+            nextEdges.add(graph.getDegree(vertex));
+        }
+
+        private class TopDown extends RecursiveAction {
+            private final int fromWord;
+            private final int toWord;
+
+            TopDown(int fromWord, int toWord) {
+                this.fromWord = fromWord;
+                this.toWord = toWord;
+            }
+
+            @Override
+            protected void compute() {
+                if (toWord - fromWord > WORDS_PER_TASK) {
+                    int middle = (fromWord + toWord) >>> 1;
+                    invokeAll(new TopDown(fromWord, middle), new TopDown(middle, toWord));
+                    return;
+                }
+
+                for (int word = fromWord; word < toWord; ++word) {
+                    long bits = frontier.get(word);
+                    while (bits != 0) {
+                        int current = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+
+                        for (int i = 0; i < graph.getDegree(current); ++i) {
+                            int neighbor = graph.getNeighborAt(current, i);
+                            if (parents.get(neighbor) < 0
+                                    && parents.compareAndSet(neighbor, -1, current)) {
+                                visit(neighbor);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private class BottomUp extends RecursiveAction {
+            private final int fromWord;
+            private final int toWord;
+
+            BottomUp(int fromWord, int toWord) {
+                this.fromWord = fromWord;
+                this.toWord = toWord;
+            }
+
+            @Override
+            protected void compute() {
+                if (toWord - fromWord > WORDS_PER_TASK) {
+                    int middle = (fromWord + toWord) >>> 1;
+                    invokeAll(new BottomUp(fromWord, middle), new BottomUp(middle, toWord));
+                    return;
+                }
+
+                // Диапазоны выровнены по словам, поэтому каждая вершина
+                // принадлежит ровно одной задаче и CAS не нужен.
+                int from = fromWord << 6;
+                int to = Math.min(n, toWord << 6);
+                for (int vertex = from; vertex < to; ++vertex) {
+                    if (parents.get(vertex) >= 0) {
+                        continue;
+                    }
+                    for (int i = 0; i < graph.getInDegree(vertex); ++i) {
+                        int candidate = graph.getPredecessorAt(vertex, i);
+                        if ((frontier.get(candidate >>> 6) & (1L << candidate)) != 0) {
+                            parents.set(vertex, candidate);
+                            visit(vertex);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.AbstractGraph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntSupplier;
+
+// Кэш результатов Dijkstra.execute по источнику. Записи вытесняются в
+// порядке LRU, когда превышено число записей или суммарный вес - число
+// вершин во всех сохранённых результатах. Перед каждым запросом счётчик
+// изменений графа сравнивается с запомненным; если граф менялся, кэш
+// очищается целиком.
+public class ShortestPathCache<T> {
+    private final Graph<T> graph;
+    private final IntSupplier modificationCount;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<T, CompletableFuture<Dijkstra.ShortestPaths<T>>> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private int version;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ShortestPathCache(AbstractGraph<T> graph, int maxEntries, long maxWeight) {
+        this(graph, graph::getModificationCount, maxEntries, maxWeight);
+    }
+
+    // Для графов без встроенного счётчика изменений. Для неизменяемых
+    // графов (CsrGraph, MappedGraph) подходит () -> 0.
+    public ShortestPathCache(Graph<T> graph, IntSupplier modificationCount,
+                             int maxEntries, long maxWeight) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException(
+                    "Cache bounds must be positive: " + maxEntries + ", " + maxWeight);
+        }
+        this.graph = graph;
+        this.modificationCount = modificationCount;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.version = modificationCount.getAsInt();
+    }
+
+    // Под монитором выполняются только проверка версии и поиск записи;
+    // Дейкстра считается вне его, поэтому промах не блокирует попадания.
+    // Вычисляемая запись хранится как незавершённый future: параллельные
+    // запросы того же источника ждут его, а не считают повторно.
+    public Dijkstra.ShortestPaths<T> get(T source) {
+        CompletableFuture<Dijkstra.ShortestPaths<T>> future;
+        int observed;
+        boolean owner = false;
+        synchronized (this) {
+            observed = checkVersion();
+            future = entries.get(source);
+            if (future != null) {
+                ++hits;
+            } else {
+                ++misses;
+                future = new CompletableFuture<>();
+                entries.put(source, future);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return await(future);
+        }
+
+        Dijkstra.ShortestPaths<T> paths;
+        try {
+            paths = Dijkstra.execute(graph, source);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(source, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+
+        // Вес учитывается вместе с завершением future, поэтому evict()
+        // считает вес только завершённых записей. Если граф изменился во
+        // время вычисления, результат отдаётся, но не сохраняется.
+        synchronized (this) {
+            if (modificationCount.getAsInt() != observed) {
+                entries.remove(source, future);
+                future.complete(paths);
+            } else if (entries.get(source) == future) {
+                weight += paths.size();
+                future.complete(paths);
+                evict();
+            } else {
+                future.complete(paths);
+            }
+        }
+        return paths;
+    }
+
+    private static <T> Dijkstra.ShortestPaths<T> await(CompletableFuture<Dijkstra.ShortestPaths<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Если граф изменился, кэш очищается. Возвращает текущую версию.
+    private int checkVersion() {
+        int current = modificationCount.getAsInt();
+        if (current != version) {
+            if (!entries.isEmpty()) {
+                ++invalidations;
+            }
+            entries.clear();
+            weight = 0;
+            version = current;
+        }
+        return current;
+    }
+
+    public double getDistance(T source, T target) {
+        return get(source).getDistanceTo(target);
+    }
+
+    public List<T> getPath(T source, T target) {
+        return get(source).getPathTo(target);
+    }
+
+    // Только что добавленная запись не вытесняется, даже если одна
+    // превышает maxWeight. Вытесненная незавершённая запись дождётся
+    // своего вычисления, но в кэш уже не попадёт.
+    private void evict() {
+        Iterator<CompletableFuture<Dijkstra.ShortestPaths<T>>> iterator = entries.values().iterator();
+        while (entries.size() > 1 && (entries.size() > maxEntries || weight > maxWeight)) {
+            CompletableFuture<Dijkstra.ShortestPaths<T>> eldest = iterator.next();
+            if (eldest.isDone()) {
+                weight -= eldest.join().size();
+            }
+            iterator.remove();
+            ++evictions;
+        }
+    }
+
+    public synchronized void invalidate() {
+        if (!entries.isEmpty()) {
+            ++invalidations;
+        }
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,405 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.IndexedGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Компоненты связности орграфа над плотными индексами. Результат -
+// номер компоненты для каждого индекса (-1 для свободных индексов).
+// Все обходы итеративны, так что глубина графа ограничена только памятью.
+final class StrongComponents {
+    // Части меньше порога доразбираются последовательным Тарьяном.
+    private static final int SEQUENTIAL_CUTOFF = 1 << 12;
+    private static final int VERTICES_PER_TASK = 1 << 10;
+    private static final int TRIM_PASSES = 3;
+    private static final int DONE = -1;
+
+    private final IndexedGraph<?> graph;
+    private final int[] components;
+    private final AtomicInteger componentCount = new AtomicInteger();
+    // Рабочие массивы Тарьяна; параллельные задачи пишут в них только
+    // для своих вершин.
+    private final int[] order;
+    private final int[] low;
+
+    private StrongComponents(IndexedGraph<?> graph) {
+        this.graph = graph;
+        int n = graph.getIndexBound();
+        this.components = new int[n];
+        this.order = new int[n];
+        this.low = new int[n];
+        Arrays.fill(components, -1);
+        Arrays.fill(order, -1);
+    }
+
+    int[] components() {
+        return components;
+    }
+
+    int count() {
+        return componentCount.get();
+    }
+
+    // Итеративный Тарьян: компоненты нумеруются в обратном
+    // топологическом порядке графа компонент.
+    static StrongComponents tarjan(IndexedGraph<?> graph) {
+        StrongComponents result = new StrongComponents(graph);
+        int[] labels = new int[graph.getIndexBound()];
+        int[] vertices = new int[graph.getVertexCount()];
+        int size = 0;
+        for (int i = 0; i < labels.length; ++i) {
+            if (graph.containsIndex(i)) {
+                vertices[size++] = i;
+            } else {
+                labels[i] = DONE;
+            }
+        }
+        result.tarjan(Arrays.copyOf(vertices, size), labels, 0);
+        return result;
+    }
+
+    // Тарьян только по вершинам с меткой label; рёбра в другие части
+    // не рассматриваются.
+    private void tarjan(int[] vertices, int[] labels, int label) {
+        int[] stack = new int[vertices.length];
+        int[] calls = new int[vertices.length];
+        int[] positions = new int[vertices.length];
+        int stackSize = 0;
+        int counter = 0;
+
+        for (int root : vertices) {
+            if (order[root] >= 0) {
+                continue;
+            }
+
+            int depth = 0;
+            calls[depth] = root;
+            positions[depth++] = 0;
+            order[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+
+            while (depth > 0) {
+                int vertex = calls[depth - 1];
+                int position = positions[depth - 1];
+                if (position < graph.getDegree(vertex)) {
+                    ++positions[depth - 1];
+                    int next = graph.getNeighborAt(vertex, position);
+                    if (labels[next] != label) {
+                        continue;
+                    }
+                    if (order[next] < 0) {
+                        calls[depth] = next;
+                        positions[depth++] = 0;
+                        order[next] = low[next] = counter++;
+                        stack[stackSize++] = next;
+                    } else if (components[next] < 0) {
+                        low[vertex] = Math.min(low[vertex], order[next]);
+                    }
+                    continue;
+                }
+
+                --depth;
+                if (depth > 0) {
+                    int parent = calls[depth - 1];
+                    low[parent] = Math.min(low[parent], low[vertex]);
+                }
+                if (low[vertex] == order[vertex]) {
+                    int id = componentCount.getAndIncrement();
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        components[member] = id;
+                    } while (member != vertex);
+                }
+            }
+        }
+    }
+
+    // Компоненты слабой связности: обход в ширину по исходящим и
+    // входящим рёбрам.
+    static StrongComponents weak(IndexedGraph<?> graph) {
+        StrongComponents result = new StrongComponents(graph);
+        int[] queue = new int[graph.getIndexBound()];
+        int[] components = result.components;
+
+        for (int root = 0; root < queue.length; ++root) {
+            if (!graph.containsIndex(root) || components[root] >= 0) {
+                continue;
+            }
+            int id = result.componentCount.getAndIncrement();
+            int head = 0;
+            int tail = 0;
+            components[root] = id;
+            queue[tail++] = root;
+            while (head < tail) {
+                int vertex = queue[head++];
+                for (int i = 0; i < graph.getDegree(vertex); ++i) {
+                    int next = graph.getNeighborAt(vertex, i);
+                    if (components[next] < 0) {
+                        components[next] = id;
+                        queue[tail++] = next;
+                    }
+                }
+                for (int i = 0; i < graph.getInDegree(vertex); ++i) {
+                    int next = graph.getPredecessorAt(vertex, i);
+                    if (components[next] < 0) {
+                        components[next] = id;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // Forward-backward (Fleischer, Hendrickson, Pinar) с предварительной
+    // обрезкой: вершины без входящих или без исходящих рёбер внутри
+    // оставшегося графа - отдельные компоненты. Затем из опорной вершины
+    // части ищутся достижимые вперёд (F) и назад (B) множества;
+    // F ∩ B - компонента, а F \ B, B \ F и остаток разбираются
+    // независимо и параллельно. Номера компонент не упорядочены.
+    static StrongComponents forwardBackward(IndexedGraph<?> graph, ForkJoinPool pool) {
+        StrongComponents result = new StrongComponents(graph);
+        result.new Parallel(pool).run();
+        return result;
+    }
+
+    private static final class IntList {
+        int[] items = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+
+    private final class Parallel {
+        private final ForkJoinPool pool;
+        // Номер части, к которой относится вершина; DONE - компонента
+        // уже найдена или индекс свободен.
+        private final int[] labels;
+        private final AtomicIntegerArray forward;
+        private final AtomicIntegerArray backward;
+        private final AtomicInteger nextLabel = new AtomicInteger(1);
+
+        Parallel(ForkJoinPool pool) {
+            this.pool = pool;
+            int n = graph.getIndexBound();
+            this.labels = new int[n];
+            this.forward = new AtomicIntegerArray(n);
+            this.backward = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; ++i) {
+                if (!graph.containsIndex(i)) {
+                    labels[i] = DONE;
+                }
+            }
+        }
+
+        void run() {
+            for (int pass = 0; pass < TRIM_PASSES; ++pass) {
+                pool.invoke(new Trim(0, labels.length));
+            }
+
+            IntList remaining = new IntList();
+            for (int i = 0; i < labels.length; ++i) {
+                if (labels[i] == 0) {
+                    remaining.add(i);
+                }
+            }
+            if (remaining.size > 0) {
+                pool.invoke(new Split(remaining.toArray(), 0));
+            }
+        }
+
+        private boolean hasLiveNeighbor(int vertex, boolean outgoing) {
+            int label = labels[vertex];
+            int degree = outgoing ? graph.getDegree(vertex) : graph.getInDegree(vertex);
+            for (int i = 0; i < degree; ++i) {
+                int next = outgoing ? graph.getNeighborAt(vertex, i) : graph.getPredecessorAt(vertex, i);
+                if (next != vertex && labels[next] == label) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Проход обрезки. Соседи, обрезанные в этом же проходе другими
+        // потоками, могут быть ещё видны как живые - это лишь откладывает
+        // обрезку до следующего прохода или до разбора части.
+        private class Trim extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            Trim(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > VERTICES_PER_TASK * 16) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new Trim(from, middle), new Trim(middle, to));
+                    return;
+                }
+                for (int vertex = from; vertex < to; ++vertex) {
+                    if (labels[vertex] == 0
+                            && (!hasLiveNeighbor(vertex, true) || !hasLiveNeighbor(vertex, false))) {
+                        components[vertex] = componentCount.getAndIncrement();
+                        labels[vertex] = DONE;
+                    }
+                }
+            }
+        }
+
+        private class Split extends RecursiveAction {
+            private final int[] vertices;
+            private final int label;
+
+            Split(int[] vertices, int label) {
+                this.vertices = vertices;
+                this.label = label;
+            }
+
+            @Override
+            protected void compute() {
+                if (vertices.length <= SEQUENTIAL_CUTOFF) {
+                    tarjan(vertices, labels, label);
+                    for (int vertex : vertices) {
+                        labels[vertex] = DONE;
+                    }
+                    return;
+                }
+
+                // Метки достижимости помечаются номером части, поэтому
+                // массивы не нужно очищать между частями.
+                int pivot = vertices[vertices.length >>> 1];
+                int stamp = label + 1;
+                reach(pivot, label, stamp, true);
+                reach(pivot, label, stamp, false);
+
+                int id = componentCount.getAndIncrement();
+                IntList forwardOnly = new IntList();
+                IntList backwardOnly = new IntList();
+                IntList rest = new IntList();
+                for (int vertex : vertices) {
+                    boolean inForward = forward.get(vertex) == stamp;
+                    boolean inBackward = backward.get(vertex) == stamp;
+                    if (inForward && inBackward) {
+                        components[vertex] = id;
+                        labels[vertex] = DONE;
+                    } else if (inForward) {
+                        forwardOnly.add(vertex);
+                    } else if (inBackward) {
+                        backwardOnly.add(vertex);
+                    } else {
+                        rest.add(vertex);
+                    }
+                }
+
+                List<Split> parts = new ArrayList<>(3);
+                for (IntList part : Arrays.asList(forwardOnly, backwardOnly, rest)) {
+                    if (part.size > 0) {
+                        int partLabel = nextLabel.getAndIncrement();
+                        int[] members = part.toArray();
+                        for (int vertex : members) {
+                            labels[vertex] = partLabel;
+                        }
+                        parts.add(new Split(members, partLabel));
+                    }
+                }
+                invokeAll(parts);
+            }
+        }
+
+        // Поуровневый обход внутри части; большие фронты разбираются
+        // параллельно.
+        private void reach(int pivot, int label, int stamp, boolean outgoing) {
+            AtomicIntegerArray marks = outgoing ? forward : backward;
+            marks.set(pivot, stamp);
+            int[] frontier = {pivot};
+            while (frontier.length > 0) {
+                Queue<IntList> next = new ConcurrentLinkedQueue<>();
+                Expand expand = new Expand(frontier, 0, frontier.length, label, stamp, outgoing, next);
+                if (frontier.length > VERTICES_PER_TASK) {
+                    expand.invoke();
+                } else {
+                    expand.compute();
+                }
+
+                IntList merged = new IntList();
+                for (IntList part : next) {
+                    for (int i = 0; i < part.size; ++i) {
+                        merged.add(part.items[i]);
+                    }
+                }
+                frontier = merged.toArray();
+            }
+        }
+
+        private class Expand extends RecursiveAction {
+            private final int[] frontier;
+            private final int from;
+            private final int to;
+            private final int label;
+            private final int stamp;
+            private final boolean outgoing;
+            private final Queue<IntList> next;
+
+            Expand(int[] frontier, int from, int to, int label, int stamp,
+                   boolean outgoing, Queue<IntList> next) {
+                this.frontier = frontier;
+                this.from = from;
+                this.to = to;
+                this.label = label;
+                this.stamp = stamp;
+                this.outgoing = outgoing;
+                this.next = next;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > VERTICES_PER_TASK) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new Expand(frontier, from, middle, label, stamp, outgoing, next),
+                            new Expand(frontier, middle, to, label, stamp, outgoing, next));
+                    return;
+                }
+
+                AtomicIntegerArray marks = outgoing ? forward : backward;
+                IntList found = new IntList();
+                for (int i = from; i < to; ++i) {
+                    int vertex = frontier[i];
+                    int degree = outgoing ? graph.getDegree(vertex) : graph.getInDegree(vertex);
+                    for (int j = 0; j < degree; ++j) {
+                        int candidate = outgoing
+                                ? graph.getNeighborAt(vertex, j)
+                                : graph.getPredecessorAt(vertex, j);
+                        if (labels[candidate] != label) {
+                            continue;
+                        }
+                        int mark = marks.get(candidate);
+                        if (mark != stamp && marks.compareAndSet(candidate, mark, stamp)) {
+                            found.add(candidate);
+                        }
+                    }
+                }
+                if (found.size > 0) {
+                    next.add(found);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Ленивый обход из одной вершины: соседи вершины раскрываются только
+// при запросе следующей, поэтому остановка после первой найденной вершины
+// не трогает остальной граф. Очередь даёт порядок BFS, стек - DFS
+// (вершина помечается при добавлении, как в DepthFirstSearch.dfsComponent).
+final class Traversal<T> implements Iterator<T>, NeighborConsumer<T> {
+    private final Graph<T> graph;
+    private final int maxDepth;
+    private final boolean lifo;
+    private final TraversalVisitor<T> visitor;
+    private final VisitedSet<T> visited;
+
+    // Фронт - пары (вершина, глубина) в параллельных массивах;
+    // для очереди голова сдвигается, для стека - хвост.
+    private Object[] items = new Object[16];
+    private int[] depths = new int[16];
+    private int head;
+    private int tail;
+
+    private T expand;
+    private int expandDepth;
+    private T next;
+    private T stoppedAt;
+
+    // Метрики отправляются один раз, когда обход закончился или
+    // остановлен; после этого start обнуляется.
+    private long start;
+    private long popped;
+    private long scanned;
+    private int peak;
+
+    Traversal(Graph<T> graph, T source, int maxDepth, boolean lifo,
+              TraversalVisitor<T> visitor, VisitedSet<T> visited) {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                    "Source vertex is absent in this graph."
+            );
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException(
+                    "Depth limit must be non-negative: " + maxDepth);
+        }
+        this.graph = graph;
+        this.maxDepth = maxDepth;
+        this.lifo = lifo;
+        this.visitor = visitor;
+        this.visited = visited;
+        this.start = Instrumentation.start();
+
+        visited.add(source);
+        push(source, 0);
+    }
+
+    static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    // Проходит обход до конца или до STOP; возвращает вершину,
+    // на которой обработчик остановил обход. Вершина STOP итератором
+    // не выдаётся.
+    Optional<T> run() {
+        while (hasNext()) {
+            next();
+        }
+        return Optional.ofNullable(stoppedAt);
+    }
+
+    private void push(T vertex, int depth) {
+        if (tail == items.length) {
+            if (!lifo && head > items.length / 2) {
+                System.arraycopy(items, head, items, 0, tail - head);
+                System.arraycopy(depths, head, depths, 0, tail - head);
+                Arrays.fill(items, tail - head, tail, null);
+                tail -= head;
+                head = 0;
+            } else {
+                items = Arrays.copyOf(items, items.length * 2);
+                depths = Arrays.copyOf(depths, depths.length * 2);
+            }
+        }
+        items[tail] = vertex;
+        depths[tail] = depth;
+        ++tail;
+    }
+
+    @Override
+    public void accept(T neighbor, double weight) {
+        ++scanned;
+        if (visited.add(neighbor)) {
+            push(neighbor, expandDepth + 1);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (stoppedAt != null) {
+            return false;
+        }
+
+        // Соседи предыдущей вершины раскрываются только сейчас.
+        if (expand != null) {
+            if (expandDepth < maxDepth) {
+                graph.forEachNeighbor(expand, this);
+            }
+            expand = null;
+        }
+        if (head == tail) {
+            finish();
+            return false;
+        }
+
+        peak = Math.max(peak, tail - head);
+        ++popped;
+        int slot = lifo ? --tail : head++;
+        T vertex = (T) items[slot];
+        int depth = depths[slot];
+        items[slot] = null;
+
+        TraversalVisitor.Decision decision = visitor != null
+                ? visitor.visit(vertex, depth)
+                : TraversalVisitor.Decision.CONTINUE;
+        if (decision == TraversalVisitor.Decision.STOP) {
+            stoppedAt = vertex;
+            finish();
+            return false;
+        }
+        if (decision == TraversalVisitor.Decision.CONTINUE) {
+            expand = vertex;
+            expandDepth = depth;
+        }
+        next = vertex;
+        return true;
+    }
+
+    private void finish() {
+        Instrumentation.report(lifo ? "DepthFirstSearch.traversal" : "BreadthFirstSearch.traversal",
+                start, popped, scanned, peak);
+        start = 0L;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = next;
+        next = null;
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package com.greefon.graphs.algo;
+
+// Обработчик вершин ленивого обхода. Вызывается, когда вершина извлекается
+// из очереди (стека); depth - расстояние от источника в рёбрах по дереву
+// обхода. PRUNE оставляет вершину в обходе, но не раскрывает её соседей,
+// STOP завершает обход.
+@FunctionalInterface
+public interface TraversalVisitor<T> {
+
+    enum Decision {
+        CONTINUE,
+        PRUNE,
+        STOP
+    }
+
+    Decision visit(T vertex, int depth);
+}
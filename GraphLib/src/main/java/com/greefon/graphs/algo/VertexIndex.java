@@ -0,0 +1,191 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Отображение вершин произвольного графа в плотные индексы, над которыми
+// алгоритмы работают с примитивными массивами. Для IndexedGraph используются
+// его собственные индексы, для остальных графов индексы выдаются лениво,
+// по мере обнаружения вершин, так что стоимость пропорциональна
+// просмотренной части графа, а не всему графу.
+abstract class VertexIndex<T> {
+
+    static <T> VertexIndex<T> of(Graph<T> graph) {
+        if (graph instanceof IndexedGraph) {
+            return new Dense<>((IndexedGraph<T>) graph);
+        }
+        return new Hashed<>(graph);
+    }
+
+    abstract Graph<T> graph();
+
+    abstract int indexOf(T vertex);
+
+    abstract T vertexAt(int index);
+
+    // Текущая верхняя граница индексов; для ленивой нумерации растёт.
+    abstract int size();
+
+    abstract void forEachNeighbor(int index, IntDoubleConsumer consumer);
+
+    abstract void forEachPredecessor(int index, IntDoubleConsumer consumer);
+
+    // Та же нумерация с обращёнными рёбрами: поиск по ней идёт
+    // по входящим рёбрам.
+    VertexIndex<T> reversed() {
+        return new Reversed<>(this);
+    }
+
+    private static class Dense<T> extends VertexIndex<T> {
+        private final IndexedGraph<T> graph;
+
+        Dense(IndexedGraph<T> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        Graph<T> graph() {
+            return graph;
+        }
+
+        @Override
+        int indexOf(T vertex) {
+            return graph.indexOf(vertex);
+        }
+
+        @Override
+        T vertexAt(int index) {
+            return graph.vertexAt(index);
+        }
+
+        @Override
+        int size() {
+            return graph.getIndexBound();
+        }
+
+        @Override
+        void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+            graph.forEachNeighbor(index, consumer);
+        }
+
+        @Override
+        void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+            graph.forEachPredecessor(index, consumer);
+        }
+    }
+
+    private static class Hashed<T> extends VertexIndex<T> implements NeighborConsumer<T> {
+        private final Graph<T> graph;
+        private final Map<T, Integer> indices = new HashMap<>();
+        private final List<T> vertices = new ArrayList<>();
+        private IntDoubleConsumer target;
+
+        Hashed(Graph<T> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        Graph<T> graph() {
+            return graph;
+        }
+
+        @Override
+        int indexOf(T vertex) {
+            Integer index = indices.get(vertex);
+            if (index != null) {
+                return index;
+            }
+            int assigned = vertices.size();
+            indices.put(vertex, assigned);
+            vertices.add(vertex);
+            return assigned;
+        }
+
+        @Override
+        T vertexAt(int index) {
+            return vertices.get(index);
+        }
+
+        @Override
+        int size() {
+            return vertices.size();
+        }
+
+        @Override
+        void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+            IntDoubleConsumer previous = target;
+            target = consumer;
+            try {
+                graph.forEachNeighbor(vertices.get(index), this);
+            } finally {
+                target = previous;
+            }
+        }
+
+        @Override
+        void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+            IntDoubleConsumer previous = target;
+            target = consumer;
+            try {
+                graph.forEachPredecessor(vertices.get(index), this);
+            } finally {
+                target = previous;
+            }
+        }
+
+        @Override
+        public void accept(T neighbor, double weight) {
+            target.accept(indexOf(neighbor), weight);
+        }
+    }
+
+    private static class Reversed<T> extends VertexIndex<T> {
+        private final VertexIndex<T> base;
+
+        Reversed(VertexIndex<T> base) {
+            this.base = base;
+        }
+
+        @Override
+        Graph<T> graph() {
+            return base.graph();
+        }
+
+        @Override
+        int indexOf(T vertex) {
+            return base.indexOf(vertex);
+        }
+
+        @Override
+        T vertexAt(int index) {
+            return base.vertexAt(index);
+        }
+
+        @Override
+        int size() {
+            return base.size();
+        }
+
+        @Override
+        void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+            base.forEachPredecessor(index, consumer);
+        }
+
+        @Override
+        void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+            base.forEachNeighbor(index, consumer);
+        }
+
+        @Override
+        VertexIndex<T> reversed() {
+            return base;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+// Отметки посещённых вершин для обходов. Хеш-множество подходит для
+// любого графа; для IndexedGraph отметки хранятся по плотным индексам
+// битовой картой или массивом поколений. Последний очищается за O(1)
+// сменой поколения, поэтому его выгодно держать между запусками.
+public abstract class VisitedSet<T> {
+
+    // Отмечает вершину; false, если она уже была отмечена.
+    public abstract boolean add(T vertex);
+
+    public abstract boolean contains(T vertex);
+
+    public abstract void clear();
+
+    public static <T> VisitedSet<T> hashed() {
+        return of(new HashSet<>());
+    }
+
+    // Отметки пишутся в переданное множество, как в прежних
+    // bfsComponent/dfsComponent.
+    public static <T> VisitedSet<T> of(Set<T> set) {
+        return new Hashed<>(set);
+    }
+
+    public static <T> VisitedSet<T> bitSet(IndexedGraph<T> graph) {
+        return new Bits<>(graph);
+    }
+
+    public static <T> VisitedSet<T> stamped(IndexedGraph<T> graph) {
+        return new Stamped<>(graph);
+    }
+
+    // Выбор по умолчанию: битовая карта для графов с индексами,
+    // иначе хеш-множество.
+    public static <T> VisitedSet<T> forGraph(Graph<T> graph) {
+        return graph instanceof IndexedGraph
+                ? bitSet((IndexedGraph<T>) graph)
+                : hashed();
+    }
+
+    private static final class Hashed<T> extends VisitedSet<T> {
+        private final Set<T> set;
+
+        Hashed(Set<T> set) {
+            this.set = set;
+        }
+
+        @Override
+        public boolean add(T vertex) {
+            return set.add(vertex);
+        }
+
+        @Override
+        public boolean contains(T vertex) {
+            return set.contains(vertex);
+        }
+
+        @Override
+        public void clear() {
+            set.clear();
+        }
+    }
+
+    // Отметки по индексам вершин конкретного графа. Индексы могут расти
+    // вместе с изменяемым графом, поэтому границы проверяются при записи.
+    abstract static class Dense<T> extends VisitedSet<T> {
+        final IndexedGraph<T> graph;
+
+        Dense(IndexedGraph<T> graph) {
+            this.graph = graph;
+        }
+
+        abstract boolean addIndex(int index);
+
+        abstract boolean containsIndex(int index);
+
+        @Override
+        public boolean add(T vertex) {
+            int index = graph.indexOf(vertex);
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        "Vertex " + vertex + " is absent in this graph.");
+            }
+            return addIndex(index);
+        }
+
+        @Override
+        public boolean contains(T vertex) {
+            int index = graph.indexOf(vertex);
+            return index >= 0 && containsIndex(index);
+        }
+    }
+
+    private static final class Bits<T> extends Dense<T> {
+        private final BitSet bits;
+
+        Bits(IndexedGraph<T> graph) {
+            super(graph);
+            this.bits = new BitSet(graph.getIndexBound());
+        }
+
+        @Override
+        boolean addIndex(int index) {
+            if (bits.get(index)) {
+                return false;
+            }
+            bits.set(index);
+            return true;
+        }
+
+        @Override
+        boolean containsIndex(int index) {
+            return bits.get(index);
+        }
+
+        @Override
+        public void clear() {
+            bits.clear();
+        }
+    }
+
+    private static final class Stamped<T> extends Dense<T> {
+        private int[] stamps;
+        private int generation = 1;
+
+        Stamped(IndexedGraph<T> graph) {
+            super(graph);
+            this.stamps = new int[graph.getIndexBound()];
+        }
+
+        @Override
+        boolean addIndex(int index) {
+            if (index >= stamps.length) {
+                stamps = Arrays.copyOf(stamps, Math.max(index + 1, stamps.length * 2));
+            }
+            if (stamps[index] == generation) {
+                return false;
+            }
+            stamps[index] = generation;
+            return true;
+        }
+
+        @Override
+        boolean containsIndex(int index) {
+            return index < stamps.length && stamps[index] == generation;
+        }
+
+        // Массив обнуляется только при переполнении счётчика поколений.
+        @Override
+        public void clear() {
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+    }
+}
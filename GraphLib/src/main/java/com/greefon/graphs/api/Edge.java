@@ -0,0 +1,60 @@
+package com.greefon.graphs.api;
+
+import java.util.Objects;
+
+// Ребро как значение: используется для пакетной загрузки графа.
+public final class Edge<T> {
+    private final T source;
+    private final T destination;
+    private final double weight;
+
+    public Edge(T source, T destination, double weight) {
+        this.source = source;
+        this.destination = destination;
+        this.weight = weight;
+    }
+
+    public static <T> Edge<T> of(T source, T destination) {
+        return new Edge<>(source, destination, 1.0);
+    }
+
+    public static <T> Edge<T> of(T source, T destination, double weight) {
+        return new Edge<>(source, destination, weight);
+    }
+
+    public T getSource() {
+        return source;
+    }
+
+    public T getDestination() {
+        return destination;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Edge)) {
+            return false;
+        }
+        Edge<?> edge = (Edge<?>) o;
+        return Double.compare(edge.weight, weight) == 0
+                && Objects.equals(source, edge.source)
+                && Objects.equals(destination, edge.destination);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(source, destination, weight);
+    }
+
+    @Override
+    public String toString() {
+        return source + " -> " + destination + " (" + weight + ")";
+    }
+}
@@ -19,6 +19,14 @@ public interface Graph<T> {
 
     void addEdge(T source, T destination, double weight, boolean createVertices);
 
+    // Для загрузки большого числа рёбер в новый граф быстрее
+    // impl.GraphBuilder: он заранее выделяет память под всю смежность.
+    default void addEdges(Iterable<? extends Edge<T>> edges) {
+        for (Edge<T> edge : edges) {
+            addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+    }
+
     void removeVertex(T vertex);
 
     void removeEdge(T source, T destination);
@@ -37,7 +45,27 @@ public interface Graph<T> {
 
     Map<T, Double> getNeighborsWithWeights(T vertex);
 
+    default void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        for (Map.Entry<T, Double> entry : getNeighborsWithWeights(vertex).entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Вершины, из которых есть ребро в vertex. Для неориентированного
+    // графа совпадают с соседями.
+    Set<T> getPredecessors(T vertex);
+
+    int getInDegree(T vertex);
+
+    default void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        for (T predecessor : getPredecessors(vertex)) {
+            consumer.accept(predecessor, getWeight(predecessor, vertex).get());
+        }
+    }
+
     Optional<Double> getWeight(T source, T destination);
 
     void clear();
+
+    Graph<T> freeze();
 }
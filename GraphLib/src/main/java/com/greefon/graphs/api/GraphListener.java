@@ -0,0 +1,26 @@
+package com.greefon.graphs.api;
+
+// Уведомления об изменениях графа. Вызываются синхронно, сразу после
+// изменения; удаление вершины сообщается одним событием, без отдельных
+// событий для её рёбер.
+public interface GraphListener<T> {
+    default void vertexAdded(T vertex) {
+    }
+
+    default void vertexRemoved(T vertex) {
+    }
+
+    // Только для нового ребра; новый вес существующего ребра сообщается
+    // через edgeWeightChanged.
+    default void edgeAdded(T source, T destination, double weight) {
+    }
+
+    default void edgeWeightChanged(T source, T destination, double weight) {
+    }
+
+    default void edgeRemoved(T source, T destination) {
+    }
+
+    default void cleared() {
+    }
+}
@@ -0,0 +1,27 @@
+package com.greefon.graphs.api;
+
+// Граф, вершины которого пронумерованы плотными индексами
+// в диапазоне [0, getIndexBound()). Алгоритмы используют эти индексы
+// для работы с примитивными массивами вместо хеш-таблиц.
+public interface IndexedGraph<T> extends Graph<T> {
+
+    int indexOf(T vertex);
+
+    T vertexAt(int index);
+
+    int getIndexBound();
+
+    boolean containsIndex(int index);
+
+    int getDegree(int index);
+
+    int getNeighborAt(int index, int position);
+
+    void forEachNeighbor(int index, IntDoubleConsumer consumer);
+
+    int getInDegree(int index);
+
+    int getPredecessorAt(int index, int position);
+
+    void forEachPredecessor(int index, IntDoubleConsumer consumer);
+}
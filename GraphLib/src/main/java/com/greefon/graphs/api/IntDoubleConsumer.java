@@ -0,0 +1,6 @@
+package com.greefon.graphs.api;
+
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    void accept(int vertex, double weight);
+}
@@ -0,0 +1,6 @@
+package com.greefon.graphs.api;
+
+@FunctionalInterface
+public interface NeighborConsumer<T> {
+    void accept(T neighbor, double weight);
+}
@@ -0,0 +1,230 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
+
+// Граф для одновременной записи из нескольких потоков. Смежность хранится
+// в ConcurrentHashMap, счётчики - в LongAdder.
+// Добавление вершин и добавление/удаление рёбер идут под разделяемой
+// блокировкой и не мешают друг другу; операции над одним ребром
+// упорядочиваются полосным монитором. Удаление вершины, clear() и freeze()
+// берут исключительную блокировку, чтобы параллельное addEdge не оставило
+// ребро в удалённую вершину.
+// Чтение блокировок не берёт: обход соседей слабо согласован (видит
+// состояние на момент начала или более позднее, не бросает
+// ConcurrentModificationException), поэтому алгоритмы могут работать
+// одновременно с записью и никого не задерживают.
+public abstract class AbstractConcurrentGraph<T> implements Graph<T> {
+    private static final int STRIPES = 64;
+
+    protected final ConcurrentHashMap<T, ConcurrentHashMap<T, Double>> adjList;
+    protected final LongAdder vertexCount = new LongAdder();
+    protected final LongAdder edgeCount = new LongAdder();
+    private final Lock shared;
+    private final Lock exclusive;
+    private final Object[] stripes = new Object[STRIPES];
+
+    public AbstractConcurrentGraph() {
+        this(16);
+    }
+
+    public AbstractConcurrentGraph(int expectedVertices) {
+        this.adjList = new ConcurrentHashMap<>(Math.max(16, expectedVertices));
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.shared = lock.readLock();
+        this.exclusive = lock.writeLock();
+        for (int i = 0; i < STRIPES; ++i) {
+            stripes[i] = new Object();
+        }
+    }
+
+    // Полоса не зависит от порядка концов, так что (a, b) и (b, a)
+    // неориентированного ребра попадают под один монитор.
+    private Object stripe(T a, T b) {
+        int hash = a.hashCode() ^ b.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    protected void insertVertex(T vertex) {
+        adjList.computeIfAbsent(vertex, v -> {
+            vertexCount.increment();
+            return new ConcurrentHashMap<>();
+        });
+    }
+
+    // Возвращает true, если ребро новое, иначе лишь обновляет вес.
+    // Вызывается под монитором полосы ребра.
+    protected abstract boolean insertArcs(T source, T destination, double weight);
+
+    // Возвращает true, если ребро было.
+    protected abstract boolean deleteArcs(T source, T destination);
+
+    // Вызывается под исключительной блокировкой для существующей вершины.
+    protected abstract void deleteVertex(T vertex);
+
+    protected void clearStructure() {
+        adjList.clear();
+    }
+
+    private void requireVertex(T vertex) {
+        if (!containsVertex(vertex)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + vertex + " is absent in this graph.");
+        }
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        shared.lock();
+        try {
+            insertVertex(vertex);
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        shared.lock();
+        try {
+            if (createVertices) {
+                insertVertex(source);
+                insertVertex(destination);
+            } else {
+                requireVertex(source);
+                requireVertex(destination);
+            }
+
+            synchronized (stripe(source, destination)) {
+                if (insertArcs(source, destination, weight)) {
+                    edgeCount.increment();
+                }
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        if (!containsEdge(source, destination)) {
+            return;
+        }
+
+        shared.lock();
+        try {
+            synchronized (stripe(source, destination)) {
+                if (deleteArcs(source, destination)) {
+                    edgeCount.decrement();
+                }
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        exclusive.lock();
+        try {
+            if (adjList.containsKey(vertex)) {
+                deleteVertex(vertex);
+                vertexCount.decrement();
+            }
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        exclusive.lock();
+        try {
+            clearStructure();
+            vertexCount.reset();
+            edgeCount.reset();
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return adjList.containsKey(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        Map<T, Double> neighbors = adjList.get(source);
+        return neighbors != null && neighbors.containsKey(destination);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount.intValue();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount.intValue();
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return Collections.unmodifiableSet(adjList.keySet());
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        Map<T, Double> neighbors = adjList.get(vertex);
+        return neighbors != null
+                ? Collections.unmodifiableSet(neighbors.keySet())
+                : Collections.emptySet();
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        Map<T, Double> neighbors = adjList.get(vertex);
+        return neighbors != null
+                ? Collections.unmodifiableMap(neighbors)
+                : Collections.emptyMap();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        Map<T, Double> neighbors = adjList.get(vertex);
+        if (neighbors == null) {
+            return;
+        }
+        for (Map.Entry<T, Double> entry : neighbors.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        Map<T, Double> neighbors = adjList.get(source);
+        return neighbors != null
+                ? Optional.ofNullable(neighbors.get(destination))
+                : Optional.empty();
+    }
+
+    // Снимок делается под исключительной блокировкой, чтобы число рёбер
+    // совпало со строками смежности.
+    @Override
+    public CsrGraph<T> freeze() {
+        exclusive.lock();
+        try {
+            return CsrGraph.of(this);
+        } finally {
+            exclusive.unlock();
+        }
+    }
+}
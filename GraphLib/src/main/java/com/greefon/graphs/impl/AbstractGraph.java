@@ -1,6 +1,8 @@
 package com.greefon.graphs.impl;
 
 import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.GraphListener;
+import com.greefon.graphs.api.NeighborConsumer;
 
 import java.util.*;
 
@@ -9,21 +11,38 @@ public abstract class AbstractGraph<T> implements Graph<T> {
     protected final Map<T, Map<T, Double>> adjList;
     protected int vertexCount;
     protected int edgeCount;
+    // Растёт при каждом изменении рёбер или удалении вершин; кэши
+    // результатов сравнивают его со значением на момент вычисления.
+    protected int modCount;
+    // Без слушателя изменения стоят одну проверку на null.
+    protected GraphListener<? super T> listener;
 
     public AbstractGraph() {
         this.adjList = new HashMap<>();
         this.vertexCount = 0;
         this.edgeCount = 0;
     }
+
+    // Таблица вершин сразу выделяется под expectedVertices элементов
+    // и не перестраивается при заполнении.
+    public AbstractGraph(int expectedVertices) {
+        this.adjList = new HashMap<>(capacityFor(expectedVertices));
+        this.vertexCount = 0;
+        this.edgeCount = 0;
+    }
+
+    static int capacityFor(int expectedSize) {
+        return (int) (Math.max(0, expectedSize) / 0.75f) + 1;
+    }
     
+    // Если вершина существует - не добавляем её. Поведение аналогично
+    // множествам. О новой вершине сообщают подклассы через vertexAdded,
+    // когда все их структуры уже обновлены.
     @Override
     public void addVertex(T vertex) {
-        // Если вершина существует - не добавляем её. Поведение аналогично
-        // множествам.
-        if (!containsVertex(vertex)) {
+        if (adjList.putIfAbsent(vertex, new HashMap<>()) == null) {
             ++vertexCount;
         }
-        adjList.putIfAbsent(vertex, new HashMap<>());
     }
 
     @Override
@@ -41,6 +60,51 @@ public abstract class AbstractGraph<T> implements Graph<T> {
         return this.edgeCount;
     }
 
+    public int getModificationCount() {
+        return this.modCount;
+    }
+
+    // null отключает уведомления.
+    public void setListener(GraphListener<? super T> listener) {
+        this.listener = listener;
+    }
+
+    // Реализации вызывают эти методы после изменения структуры.
+    protected void vertexAdded(T vertex) {
+        if (listener != null) {
+            listener.vertexAdded(vertex);
+        }
+    }
+
+    protected void edgeAdded(T source, T destination, double weight) {
+        ++modCount;
+        if (listener != null) {
+            listener.edgeAdded(source, destination, weight);
+        }
+    }
+
+    // Меняет результаты кратчайших путей, поэтому тоже растит modCount.
+    protected void edgeWeightChanged(T source, T destination, double weight) {
+        ++modCount;
+        if (listener != null) {
+            listener.edgeWeightChanged(source, destination, weight);
+        }
+    }
+
+    protected void edgeRemoved(T source, T destination) {
+        ++modCount;
+        if (listener != null) {
+            listener.edgeRemoved(source, destination);
+        }
+    }
+
+    protected void vertexRemoved(T vertex) {
+        ++modCount;
+        if (listener != null) {
+            listener.vertexRemoved(vertex);
+        }
+    }
+
     @Override
     public Set<T> getNeighbors(T vertex) {
         return adjList.containsKey(vertex)
@@ -55,6 +119,19 @@ public abstract class AbstractGraph<T> implements Graph<T> {
                 : Collections.emptyMap();
     }
 
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        // Обходим внутреннюю таблицу напрямую, без обёрток
+        // Collections.unmodifiable*; веса уже хранятся упакованными.
+        Map<T, Double> neighbors = adjList.get(vertex);
+        if (neighbors == null) {
+            return;
+        }
+        for (Map.Entry<T, Double> entry : neighbors.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public Set<T> getVertices() {
         return Collections.unmodifiableSet(adjList.keySet());
@@ -73,10 +150,19 @@ public abstract class AbstractGraph<T> implements Graph<T> {
         return Optional.empty();
     }
 
+    @Override
+    public CsrGraph<T> freeze() {
+        return CsrGraph.of(this);
+    }
+
     @Override
     public void clear() {
         adjList.clear();
         this.edgeCount = 0;
         this.vertexCount = 0;
+        ++modCount;
+        if (listener != null) {
+            listener.cleared();
+        }
     }
 }
@@ -0,0 +1,496 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+
+public abstract class AbstractIntGraph implements IndexedGraph<Integer> {
+    static final int[] EMPTY_TARGETS = new int[0];
+    static final double[] EMPTY_WEIGHTS = new double[0];
+
+    // Идентификатор вершины служит индексом в массивах, поэтому
+    // допускаются только неотрицательные идентификаторы.
+    protected boolean[] present;
+    protected int[][] targets;
+    protected double[][] weights;
+    protected int[] degrees;
+    protected int vertexCount;
+    protected int edgeCount;
+    private final Set<Integer> vertexView = new VertexSet();
+
+    public AbstractIntGraph() {
+        this(16);
+    }
+
+    public AbstractIntGraph(int expectedVertices) {
+        allocate(Math.max(1, expectedVertices));
+    }
+
+    private void allocate(int capacity) {
+        this.present = new boolean[capacity];
+        this.targets = new int[capacity][];
+        this.weights = new double[capacity][];
+        this.degrees = new int[capacity];
+        this.vertexCount = 0;
+        this.edgeCount = 0;
+    }
+
+    private void ensureCapacity(int vertex) {
+        if (vertex < 0) {
+            throw new IllegalArgumentException(
+                    "Vertex id must be non-negative: " + vertex);
+        }
+        if (vertex < present.length) {
+            return;
+        }
+
+        int capacity = Math.max(vertex + 1, present.length * 2);
+        present = Arrays.copyOf(present, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        degrees = Arrays.copyOf(degrees, capacity);
+    }
+
+    protected void requireVertex(int vertex) {
+        if (!containsVertex(vertex)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + vertex + " is absent in this graph.");
+        }
+    }
+
+    protected int findArc(int source, int destination) {
+        return findArc(targets, degrees, source, destination);
+    }
+
+    // Возвращает true, если ребро новое, иначе лишь обновляет вес.
+    protected boolean putArc(int source, int destination, double weight) {
+        return putArc(targets, weights, degrees, source, destination, weight);
+    }
+
+    protected boolean removeArc(int source, int destination) {
+        return removeArc(targets, weights, degrees, source, destination);
+    }
+
+    // Операции над строками смежности вынесены в статические методы,
+    // чтобы IntDirectedGraph мог вести по ним же обратный индекс.
+    static int findArc(int[][] targets, int[] degrees, int source, int destination) {
+        int[] row = targets[source];
+        for (int i = 0; i < degrees[source]; ++i) {
+            if (row[i] == destination) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean putArc(int[][] targets, double[][] weights, int[] degrees,
+                          int source, int destination, double weight) {
+        int arc = findArc(targets, degrees, source, destination);
+        if (arc >= 0) {
+            weights[source][arc] = weight;
+            return false;
+        }
+
+        int degree = degrees[source];
+        if (degree == targets[source].length) {
+            int capacity = Math.max(4, degree * 2);
+            targets[source] = Arrays.copyOf(targets[source], capacity);
+            weights[source] = Arrays.copyOf(weights[source], capacity);
+        }
+        targets[source][degree] = destination;
+        weights[source][degree] = weight;
+        degrees[source] = degree + 1;
+        return true;
+    }
+
+    static boolean removeArc(int[][] targets, double[][] weights, int[] degrees,
+                             int source, int destination) {
+        int arc = findArc(targets, degrees, source, destination);
+        if (arc < 0) {
+            return false;
+        }
+
+        // Порядок соседей не важен: на место удалённого ставим последнего.
+        int last = --degrees[source];
+        targets[source][arc] = targets[source][last];
+        weights[source][arc] = weights[source][last];
+        return true;
+    }
+
+    protected void dropVertex(int vertex) {
+        present[vertex] = false;
+        targets[vertex] = EMPTY_TARGETS;
+        weights[vertex] = EMPTY_WEIGHTS;
+        degrees[vertex] = 0;
+        --vertexCount;
+    }
+
+    public void addVertex(int vertex) {
+        ensureCapacity(vertex);
+        if (!present[vertex]) {
+            present[vertex] = true;
+            targets[vertex] = EMPTY_TARGETS;
+            weights[vertex] = EMPTY_WEIGHTS;
+            ++vertexCount;
+        }
+    }
+
+    public void addEdge(int source, int destination) {
+        addEdge(source, destination, 1.0);
+    }
+
+    public void addEdge(int source, int destination, double weight) {
+        addEdge(source, destination, weight, true);
+    }
+
+    public abstract void addEdge(int source, int destination, double weight, boolean createVertices);
+
+    public abstract void removeVertex(int vertex);
+
+    public abstract void removeEdge(int source, int destination);
+
+    public boolean containsVertex(int vertex) {
+        return vertex >= 0 && vertex < present.length && present[vertex];
+    }
+
+    public boolean containsEdge(int source, int destination) {
+        return containsVertex(source) && findArc(source, destination) >= 0;
+    }
+
+    public OptionalDouble getWeight(int source, int destination) {
+        if (!containsVertex(source)) {
+            return OptionalDouble.empty();
+        }
+        int arc = findArc(source, destination);
+        return arc >= 0
+                ? OptionalDouble.of(weights[source][arc])
+                : OptionalDouble.empty();
+    }
+
+    @Override
+    public void addVertex(Integer vertex) {
+        addVertex(vertex.intValue());
+    }
+
+    @Override
+    public void addEdge(Integer source, Integer destination, double weight, boolean createVertices) {
+        addEdge(source.intValue(), destination.intValue(), weight, createVertices);
+    }
+
+    @Override
+    public void removeVertex(Integer vertex) {
+        removeVertex(vertex.intValue());
+    }
+
+    @Override
+    public void removeEdge(Integer source, Integer destination) {
+        removeEdge(source.intValue(), destination.intValue());
+    }
+
+    @Override
+    public boolean containsVertex(Integer vertex) {
+        return vertex != null && containsVertex(vertex.intValue());
+    }
+
+    @Override
+    public boolean containsEdge(Integer source, Integer destination) {
+        return source != null && destination != null
+                && containsEdge(source.intValue(), destination.intValue());
+    }
+
+    @Override
+    public Optional<Double> getWeight(Integer source, Integer destination) {
+        if (source == null || destination == null) {
+            return Optional.empty();
+        }
+        OptionalDouble weight = getWeight(source.intValue(), destination.intValue());
+        return weight.isPresent() ? Optional.of(weight.getAsDouble()) : Optional.empty();
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public Set<Integer> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<Integer> getNeighbors(Integer vertex) {
+        return containsVertex(vertex)
+                ? new NeighborSet(vertex)
+                : Collections.emptySet();
+    }
+
+    @Override
+    public Map<Integer, Double> getNeighborsWithWeights(Integer vertex) {
+        return containsVertex(vertex)
+                ? new NeighborMap(vertex)
+                : Collections.emptyMap();
+    }
+
+    @Override
+    public void forEachNeighbor(Integer vertex, NeighborConsumer<Integer> consumer) {
+        if (!containsVertex(vertex)) {
+            return;
+        }
+        int source = vertex;
+        for (int i = 0; i < degrees[source]; ++i) {
+            consumer.accept(targets[source][i], weights[source][i]);
+        }
+    }
+
+    @Override
+    public Set<Integer> getPredecessors(Integer vertex) {
+        return containsVertex(vertex)
+                ? new PredecessorSet(vertex)
+                : Collections.emptySet();
+    }
+
+    @Override
+    public int getInDegree(Integer vertex) {
+        return containsVertex(vertex) ? getInDegree(vertex.intValue()) : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(Integer vertex, NeighborConsumer<Integer> consumer) {
+        if (containsVertex(vertex)) {
+            forEachPredecessor(vertex.intValue(), consumer::accept);
+        }
+    }
+
+    @Override
+    public int indexOf(Integer vertex) {
+        return containsVertex(vertex) ? vertex : -1;
+    }
+
+    @Override
+    public Integer vertexAt(int index) {
+        return index;
+    }
+
+    @Override
+    public int getIndexBound() {
+        return present.length;
+    }
+
+    @Override
+    public boolean containsIndex(int index) {
+        return containsVertex(index);
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return degrees[index];
+    }
+
+    @Override
+    public int getNeighborAt(int index, int position) {
+        return targets[index][position];
+    }
+
+    @Override
+    public void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+        int[] rowTargets = targets[index];
+        double[] rowWeights = weights[index];
+        for (int i = 0; i < degrees[index]; ++i) {
+            consumer.accept(rowTargets[i], rowWeights[i]);
+        }
+    }
+
+    @Override
+    public CsrGraph<Integer> freeze() {
+        return CsrGraph.of(this);
+    }
+
+    @Override
+    public void clear() {
+        allocate(16);
+    }
+
+    private class VertexSet extends AbstractSet<Integer> {
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int next = advance(0);
+
+                private int advance(int from) {
+                    while (from < present.length && !present[from]) {
+                        ++from;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < present.length;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int current = next;
+                    next = advance(next + 1);
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return vertexCount;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && containsVertex((Integer) o);
+        }
+    }
+
+    private class NeighborSet extends AbstractSet<Integer> {
+        private final int source;
+
+        NeighborSet(int source) {
+            this.source = source;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int arc = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return arc < degrees[source];
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return targets[source][arc++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return degrees[source];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && findArc(source, (Integer) o) >= 0;
+        }
+    }
+
+    private class PredecessorSet extends AbstractSet<Integer> {
+        private final int destination;
+
+        PredecessorSet(int destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < getInDegree(destination);
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return getPredecessorAt(destination, position++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return getInDegree(destination);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && containsEdge(((Integer) o).intValue(), destination);
+        }
+    }
+
+    private class NeighborMap extends AbstractMap<Integer, Double> {
+        private final int source;
+
+        NeighborMap(int source) {
+            this.source = source;
+        }
+
+        @Override
+        public Set<Entry<Integer, Double>> entrySet() {
+            return new AbstractSet<Entry<Integer, Double>>() {
+                @Override
+                public Iterator<Entry<Integer, Double>> iterator() {
+                    return new Iterator<Entry<Integer, Double>>() {
+                        private int arc = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return arc < degrees[source];
+                        }
+
+                        @Override
+                        public Entry<Integer, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Integer, Double> entry = new SimpleImmutableEntry<>(
+                                    targets[source][arc], weights[source][arc]);
+                            ++arc;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return degrees[source];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return degrees[source];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            int arc = findArc(source, (Integer) key);
+            return arc >= 0 ? weights[source][arc] : null;
+        }
+    }
+}
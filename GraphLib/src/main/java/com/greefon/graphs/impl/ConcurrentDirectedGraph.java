@@ -0,0 +1,96 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ConcurrentDirectedGraph<T> extends AbstractConcurrentGraph<T> {
+    // Обратный индекс, как в DirectedGraph.
+    private final ConcurrentHashMap<T, ConcurrentHashMap<T, Double>> incoming;
+
+    public ConcurrentDirectedGraph() {
+        this(16);
+    }
+
+    public ConcurrentDirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+        this.incoming = new ConcurrentHashMap<>(Math.max(16, expectedVertices));
+    }
+
+    @Override
+    protected void insertVertex(T vertex) {
+        // Входящий список создаётся первым: как только вершина видна
+        // в adjList, её обратный индекс уже существует.
+        incoming.computeIfAbsent(vertex, v -> new ConcurrentHashMap<>());
+        super.insertVertex(vertex);
+    }
+
+    @Override
+    protected boolean insertArcs(T source, T destination, double weight) {
+        boolean added = adjList.get(source).put(destination, weight) == null;
+        incoming.get(destination).put(source, weight);
+        return added;
+    }
+
+    @Override
+    protected boolean deleteArcs(T source, T destination) {
+        Map<T, Double> outgoing = adjList.get(source);
+        if (outgoing == null || outgoing.remove(destination) == null) {
+            return false;
+        }
+        incoming.get(destination).remove(source);
+        return true;
+    }
+
+    @Override
+    protected void deleteVertex(T vertex) {
+        Map<T, Double> outgoing = adjList.remove(vertex);
+        Map<T, Double> predecessors = incoming.remove(vertex);
+        edgeCount.add(-outgoing.size());
+
+        for (T successor : outgoing.keySet()) {
+            if (!successor.equals(vertex)) {
+                incoming.get(successor).remove(vertex);
+            }
+        }
+        for (T predecessor : predecessors.keySet()) {
+            // Петля уже учтена среди исходящих рёбер.
+            if (!predecessor.equals(vertex)) {
+                adjList.get(predecessor).remove(vertex);
+                edgeCount.decrement();
+            }
+        }
+    }
+
+    @Override
+    protected void clearStructure() {
+        super.clearStructure();
+        incoming.clear();
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        Map<T, Double> predecessors = incoming.get(vertex);
+        return predecessors != null
+                ? Collections.unmodifiableSet(predecessors.keySet())
+                : Collections.emptySet();
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        Map<T, Double> predecessors = incoming.get(vertex);
+        return predecessors != null ? predecessors.size() : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        Map<T, Double> predecessors = incoming.get(vertex);
+        if (predecessors == null) {
+            return;
+        }
+        for (Map.Entry<T, Double> entry : predecessors.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+}
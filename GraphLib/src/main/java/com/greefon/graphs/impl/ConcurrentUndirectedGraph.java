@@ -0,0 +1,60 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.Map;
+import java.util.Set;
+
+public class ConcurrentUndirectedGraph<T> extends AbstractConcurrentGraph<T> {
+    public ConcurrentUndirectedGraph() {
+        super();
+    }
+
+    public ConcurrentUndirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+    }
+
+    @Override
+    protected boolean insertArcs(T source, T destination, double weight) {
+        boolean added = adjList.get(source).put(destination, weight) == null;
+        adjList.get(destination).put(source, weight);
+        return added;
+    }
+
+    @Override
+    protected boolean deleteArcs(T source, T destination) {
+        Map<T, Double> neighbors = adjList.get(source);
+        if (neighbors == null || neighbors.remove(destination) == null) {
+            return false;
+        }
+        adjList.get(destination).remove(source);
+        return true;
+    }
+
+    @Override
+    protected void deleteVertex(T vertex) {
+        Map<T, Double> neighbors = adjList.remove(vertex);
+        for (T neighbor : neighbors.keySet()) {
+            if (!neighbor.equals(vertex)) {
+                adjList.get(neighbor).remove(vertex);
+            }
+            edgeCount.decrement();
+        }
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return getNeighbors(vertex);
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        Map<T, Double> neighbors = adjList.get(vertex);
+        return neighbors != null ? neighbors.size() : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        forEachNeighbor(vertex, consumer);
+    }
+}
@@ -0,0 +1,499 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+
+public class CsrGraph<T> implements IndexedGraph<T> {
+    private final Object[] vertices;
+    private final Map<T, Integer> indices;
+    // Рёбра вершины i лежат в targets/weights на отрезке
+    // [offsets[i], offsets[i + 1]), цели внутри отрезка отсортированы.
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int edgeCount;
+    private final Set<T> vertexView;
+    private volatile CsrGraph<T> reversed;
+
+    private CsrGraph(Object[] vertices, Map<T, Integer> indices, int[] offsets,
+                     int[] targets, double[] weights, int edgeCount) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+        this.vertexView = new VertexSet();
+    }
+
+    public static <T> CsrGraph<T> of(Graph<T> graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph<T>) graph;
+        }
+
+        int n = graph.getVertexCount();
+        Object[] vertices = new Object[n];
+        Map<T, Integer> indices = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+
+        int index = 0;
+        for (T vertex : graph.getVertices()) {
+            vertices[index] = vertex;
+            indices.put(vertex, index++);
+        }
+
+        int[] rawOffsets = new int[n + 1];
+        for (int i = 0; i < n; ++i) {
+            @SuppressWarnings("unchecked")
+            T vertex = (T) vertices[i];
+            rawOffsets[i + 1] = rawOffsets[i] + graph.getNeighbors(vertex).size();
+        }
+
+        int arcs = rawOffsets[n];
+        int[] rawTargets = new int[arcs];
+        double[] rawWeights = new double[arcs];
+        for (int i = 0; i < n; ++i) {
+            @SuppressWarnings("unchecked")
+            T vertex = (T) vertices[i];
+            int cursor = rawOffsets[i];
+            for (Map.Entry<T, Double> entry : graph.getNeighborsWithWeights(vertex).entrySet()) {
+                rawTargets[cursor] = indices.get(entry.getKey());
+                rawWeights[cursor] = entry.getValue();
+                ++cursor;
+            }
+        }
+
+        // Двойное транспонирование упорядочивает цели внутри каждой строки
+        // за O(V + E) без сортировки.
+        int[] inOffsets = new int[n + 1];
+        int[] inSources = new int[arcs];
+        double[] inWeights = new double[arcs];
+        transpose(n, rawOffsets, rawTargets, rawWeights, inOffsets, inSources, inWeights);
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[arcs];
+        double[] weights = new double[arcs];
+        transpose(n, inOffsets, inSources, inWeights, offsets, targets, weights);
+
+        return new CsrGraph<>(vertices, indices, offsets, targets, weights,
+                graph.getEdgeCount());
+    }
+
+    // Сборка из списка дуг для GraphBuilder, без промежуточного графа.
+    // Дуги раскладываются подсчётом сначала по цели, затем по источнику;
+    // оба прохода устойчивы, поэтому повторы одной дуги оказываются рядом
+    // в порядке добавления и остаётся последний вес, как при addEdge.
+    // Для неориентированного графа каждое ребро даёт две дуги.
+    static <T> CsrGraph<T> fromArcs(Object[] vertices, Map<T, Integer> indices,
+                                    int[] sources, int[] destinations, double[] arcWeights,
+                                    int count, boolean undirected) {
+        int n = vertices.length;
+        int[] inOffsets = new int[n + 1];
+        int arcs = 0;
+        for (int i = 0; i < count; ++i) {
+            ++inOffsets[destinations[i] + 1];
+            ++arcs;
+            if (undirected && sources[i] != destinations[i]) {
+                ++inOffsets[sources[i] + 1];
+                ++arcs;
+            }
+        }
+        for (int i = 0; i < n; ++i) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+
+        int[] inSources = new int[arcs];
+        double[] inWeights = new double[arcs];
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        for (int i = 0; i < count; ++i) {
+            int position = cursor[destinations[i]]++;
+            inSources[position] = sources[i];
+            inWeights[position] = arcWeights[i];
+            if (undirected && sources[i] != destinations[i]) {
+                position = cursor[sources[i]]++;
+                inSources[position] = destinations[i];
+                inWeights[position] = arcWeights[i];
+            }
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[arcs];
+        double[] weights = new double[arcs];
+        transpose(n, inOffsets, inSources, inWeights, offsets, targets, weights);
+
+        int write = 0;
+        int selfLoops = 0;
+        for (int source = 0; source < n; ++source) {
+            int from = offsets[source];
+            int to = offsets[source + 1];
+            offsets[source] = write;
+            for (int arc = from; arc < to; ++arc) {
+                if (arc + 1 < to && targets[arc + 1] == targets[arc]) {
+                    continue;
+                }
+                if (targets[arc] == source) {
+                    ++selfLoops;
+                }
+                targets[write] = targets[arc];
+                weights[write] = weights[arc];
+                ++write;
+            }
+        }
+        offsets[n] = write;
+        if (write < arcs) {
+            targets = Arrays.copyOf(targets, write);
+            weights = Arrays.copyOf(weights, write);
+        }
+
+        int edgeCount = undirected ? (write + selfLoops) / 2 : write;
+        return new CsrGraph<>(vertices, indices, offsets, targets, weights, edgeCount);
+    }
+
+    // Снимок с обращёнными рёбрами и той же нумерацией вершин. Строится
+    // при первом обращении и кэшируется; построение синхронизировано,
+    // чтобы параллельные алгоритмы не транспонировали граф по нескольку раз.
+    public CsrGraph<T> reverse() {
+        CsrGraph<T> result = reversed;
+        if (result == null) {
+            synchronized (this) {
+                result = reversed;
+                if (result == null) {
+                    int n = vertices.length;
+                    int[] inOffsets = new int[n + 1];
+                    int[] inSources = new int[targets.length];
+                    double[] inWeights = new double[targets.length];
+                    transpose(n, offsets, targets, weights, inOffsets, inSources, inWeights);
+
+                    result = new CsrGraph<>(vertices, indices, inOffsets, inSources, inWeights, edgeCount);
+                    result.reversed = this;
+                    reversed = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void transpose(int n, int[] offsets, int[] targets, double[] weights,
+                                  int[] outOffsets, int[] outTargets, double[] outWeights) {
+        for (int arc = 0; arc < targets.length; ++arc) {
+            ++outOffsets[targets[arc] + 1];
+        }
+        for (int i = 0; i < n; ++i) {
+            outOffsets[i + 1] += outOffsets[i];
+        }
+
+        int[] cursor = Arrays.copyOf(outOffsets, n);
+        for (int source = 0; source < n; ++source) {
+            for (int arc = offsets[source]; arc < offsets[source + 1]; ++arc) {
+                int position = cursor[targets[arc]]++;
+                outTargets[position] = source;
+                outWeights[position] = weights[arc];
+            }
+        }
+    }
+
+    @Override
+    public int indexOf(T vertex) {
+        Integer index = indices.get(vertex);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T vertexAt(int index) {
+        return (T) vertices[index];
+    }
+
+    @Override
+    public int getIndexBound() {
+        return vertices.length;
+    }
+
+    @Override
+    public boolean containsIndex(int index) {
+        return index >= 0 && index < vertices.length;
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public int getNeighborAt(int index, int position) {
+        return targets[offsets[index] + position];
+    }
+
+    @Override
+    public void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+        for (int arc = offsets[index]; arc < offsets[index + 1]; ++arc) {
+            consumer.accept(targets[arc], weights[arc]);
+        }
+    }
+
+    // Входящие рёбра берутся из reverse(), поэтому первый запрос
+    // строит обращённый снимок.
+    @Override
+    public int getInDegree(int index) {
+        return reverse().getDegree(index);
+    }
+
+    @Override
+    public int getPredecessorAt(int index, int position) {
+        return reverse().getNeighborAt(index, position);
+    }
+
+    @Override
+    public void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+        reverse().forEachNeighbor(index, consumer);
+    }
+
+    private int findArc(int source, int target) {
+        int arc = Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target);
+        return arc >= 0 ? arc : -1;
+    }
+
+    private int findArc(T source, T destination) {
+        int from = indexOf(source);
+        int to = indexOf(destination);
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        return findArc(from, to);
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("CSR graph is immutable.");
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        throw new UnsupportedOperationException("CSR graph is immutable.");
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        throw new UnsupportedOperationException("CSR graph is immutable.");
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        throw new UnsupportedOperationException("CSR graph is immutable.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("CSR graph is immutable.");
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        return findArc(source, destination) >= 0;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? new NeighborSet(index) : Collections.emptySet();
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? new NeighborMap(index) : Collections.emptyMap();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        int index = indexOf(vertex);
+        if (index < 0) {
+            return;
+        }
+        for (int arc = offsets[index]; arc < offsets[index + 1]; ++arc) {
+            consumer.accept(vertexAt(targets[arc]), weights[arc]);
+        }
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return reverse().getNeighbors(vertex);
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? getInDegree(index) : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        reverse().forEachNeighbor(vertex, consumer);
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        int arc = findArc(source, destination);
+        return arc >= 0 ? Optional.of(weights[arc]) : Optional.empty();
+    }
+
+    @Override
+    public CsrGraph<T> freeze() {
+        return this;
+    }
+
+    private class VertexSet extends AbstractSet<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < vertices.length;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertexAt(index++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return vertices.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indices.containsKey(o);
+        }
+    }
+
+    private class NeighborSet extends AbstractSet<T> {
+        private final int source;
+
+        NeighborSet(int source) {
+            this.source = source;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int arc = offsets[source];
+
+                @Override
+                public boolean hasNext() {
+                    return arc < offsets[source + 1];
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertexAt(targets[arc++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return offsets[source + 1] - offsets[source];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer target = indices.get(o);
+            return target != null && findArc(source, target) >= 0;
+        }
+    }
+
+    private class NeighborMap extends AbstractMap<T, Double> {
+        private final int source;
+
+        NeighborMap(int source) {
+            this.source = source;
+        }
+
+        @Override
+        public Set<Entry<T, Double>> entrySet() {
+            return new AbstractSet<Entry<T, Double>>() {
+                @Override
+                public Iterator<Entry<T, Double>> iterator() {
+                    return new Iterator<Entry<T, Double>>() {
+                        private int arc = offsets[source];
+
+                        @Override
+                        public boolean hasNext() {
+                            return arc < offsets[source + 1];
+                        }
+
+                        @Override
+                        public Entry<T, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<T, Double> entry = new SimpleImmutableEntry<>(
+                                    vertexAt(targets[arc]), weights[arc]);
+                            ++arc;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return NeighborMap.this.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return offsets[source + 1] - offsets[source];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Double get(Object key) {
+            Integer target = indices.get(key);
+            if (target == null) {
+                return null;
+            }
+            int arc = findArc(source, target);
+            return arc >= 0 ? weights[arc] : null;
+        }
+    }
+}
@@ -1,18 +1,58 @@
 package com.greefon.graphs.impl;
 
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.*;
+
 public class DirectedGraph<T> extends AbstractGraph<T> {
+    // Обратный индекс: для каждой вершины - вершины, из которых в неё
+    // ведут рёбра, с весами. Поддерживается вместе с adjList, чтобы
+    // удаление вершины просматривало только её реальных предшественников.
+    protected final Map<T, Map<T, Double>> incoming;
+
+    public DirectedGraph() {
+        super();
+        this.incoming = new HashMap<>();
+    }
+
+    public DirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+        this.incoming = new HashMap<>(capacityFor(expectedVertices));
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        if (containsVertex(vertex)) {
+            return;
+        }
+        super.addVertex(vertex);
+        incoming.put(vertex, new HashMap<>());
+        vertexAdded(vertex);
+    }
+
     @Override
     public void addEdge(T source, T destination, double weight, boolean createVertices) {
         if (createVertices) {
             addVertex(source);
             addVertex(destination);
+        } else if (!containsVertex(source) || !containsVertex(destination)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + (containsVertex(source) ? destination : source)
+                            + " is absent in this graph.");
         }
 
-        if (!containsEdge(source, destination)) {
+        boolean isNew = !containsEdge(source, destination);
+        if (isNew) {
             ++edgeCount;
         }
 
         adjList.get(source).put(destination, weight);
+        incoming.get(destination).put(source, weight);
+        if (isNew) {
+            edgeAdded(source, destination, weight);
+        } else {
+            edgeWeightChanged(source, destination, weight);
+        }
     }
 
     @Override
@@ -21,23 +61,64 @@ public class DirectedGraph<T> extends AbstractGraph<T> {
             return;
         }
 
-        edgeCount -= adjList.get(vertex).size();
+        Map<T, Double> outgoing = adjList.remove(vertex);
+        Map<T, Double> predecessors = incoming.remove(vertex);
+        edgeCount -= outgoing.size();
 
-        for (T current : adjList.keySet()) {
-            if (adjList.get(current).remove(vertex) != null) {
+        for (T successor : outgoing.keySet()) {
+            if (!successor.equals(vertex)) {
+                incoming.get(successor).remove(vertex);
+            }
+        }
+        for (T predecessor : predecessors.keySet()) {
+            // Петля уже учтена среди исходящих рёбер.
+            if (!predecessor.equals(vertex)) {
+                adjList.get(predecessor).remove(vertex);
                 --edgeCount;
             }
         }
 
-        adjList.remove(vertex);
         --vertexCount;
+        vertexRemoved(vertex);
     }
 
     @Override
     public void removeEdge(T source, T destination) {
         if (containsEdge(source, destination)) {
             adjList.get(source).remove(destination);
+            incoming.get(destination).remove(source);
             --edgeCount;
+            edgeRemoved(source, destination);
         }
     }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return incoming.containsKey(vertex)
+                ? Collections.unmodifiableSet(incoming.get(vertex).keySet())
+                : Collections.emptySet();
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        Map<T, Double> predecessors = incoming.get(vertex);
+        return predecessors != null ? predecessors.size() : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        Map<T, Double> predecessors = incoming.get(vertex);
+        if (predecessors == null) {
+            return;
+        }
+        for (Map.Entry<T, Double> entry : predecessors.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        incoming.clear();
+    }
 }
@@ -0,0 +1,164 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.Edge;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+// Пакетная загрузка графа. Рёбра накапливаются в примитивных массивах
+// (вершины получают плотные номера), а при сборке все таблицы смежности
+// создаются сразу нужного размера: без повторных addVertex/containsEdge
+// на каждое ребро и без перестроек HashMap по мере роста.
+// buildDirectedCsr()/buildUndirectedCsr() собирают CsrGraph вообще без
+// хеш-таблиц смежности.
+public class GraphBuilder<T> {
+    private final Map<T, Integer> ids;
+    private final List<T> vertices;
+    private int[] sources;
+    private int[] destinations;
+    private double[] weights;
+    private int edgeCount;
+
+    public GraphBuilder() {
+        this(16, 16);
+    }
+
+    public GraphBuilder(int expectedVertices, int expectedEdges) {
+        this.ids = new HashMap<>(AbstractGraph.capacityFor(expectedVertices));
+        this.vertices = new ArrayList<>(Math.max(1, expectedVertices));
+        int capacity = Math.max(1, expectedEdges);
+        this.sources = new int[capacity];
+        this.destinations = new int[capacity];
+        this.weights = new double[capacity];
+    }
+
+    private int idOf(T vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = vertices.size();
+            ids.put(vertex, id);
+            vertices.add(vertex);
+        }
+        return id;
+    }
+
+    public GraphBuilder<T> addVertex(T vertex) {
+        idOf(vertex);
+        return this;
+    }
+
+    public GraphBuilder<T> addEdge(T source, T destination) {
+        return addEdge(source, destination, 1.0);
+    }
+
+    public GraphBuilder<T> addEdge(T source, T destination, double weight) {
+        if (edgeCount == sources.length) {
+            int capacity = sources.length * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[edgeCount] = idOf(source);
+        destinations[edgeCount] = idOf(destination);
+        weights[edgeCount] = weight;
+        ++edgeCount;
+        return this;
+    }
+
+    public GraphBuilder<T> addEdges(Iterable<? extends Edge<T>> edges) {
+        for (Edge<T> edge : edges) {
+            addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        return this;
+    }
+
+    public GraphBuilder<T> addEdges(Stream<? extends Edge<T>> edges) {
+        edges.forEachOrdered(edge -> addEdge(edge.getSource(), edge.getDestination(), edge.getWeight()));
+        return this;
+    }
+
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    // Число добавленных рёбер с учётом повторов.
+    public int getAddedEdgeCount() {
+        return edgeCount;
+    }
+
+    public DirectedGraph<T> buildDirected() {
+        int n = vertices.size();
+        int[] outDegrees = new int[n];
+        int[] inDegrees = new int[n];
+        for (int i = 0; i < edgeCount; ++i) {
+            ++outDegrees[sources[i]];
+            ++inDegrees[destinations[i]];
+        }
+
+        DirectedGraph<T> graph = new DirectedGraph<>(n);
+        Map<T, Double>[] outgoing = rows(graph.adjList, outDegrees);
+        Map<T, Double>[] incoming = rows(graph.incoming, inDegrees);
+        graph.vertexCount = n;
+
+        for (int i = 0; i < edgeCount; ++i) {
+            T source = vertices.get(sources[i]);
+            T destination = vertices.get(destinations[i]);
+            if (outgoing[sources[i]].put(destination, weights[i]) == null) {
+                ++graph.edgeCount;
+            }
+            incoming[destinations[i]].put(source, weights[i]);
+        }
+        return graph;
+    }
+
+    public UndirectedGraph<T> buildUndirected() {
+        int n = vertices.size();
+        int[] degrees = new int[n];
+        for (int i = 0; i < edgeCount; ++i) {
+            ++degrees[sources[i]];
+            if (sources[i] != destinations[i]) {
+                ++degrees[destinations[i]];
+            }
+        }
+
+        UndirectedGraph<T> graph = new UndirectedGraph<>(n);
+        Map<T, Double>[] rows = rows(graph.adjList, degrees);
+        graph.vertexCount = n;
+
+        for (int i = 0; i < edgeCount; ++i) {
+            T source = vertices.get(sources[i]);
+            T destination = vertices.get(destinations[i]);
+            if (rows[sources[i]].put(destination, weights[i]) == null) {
+                ++graph.edgeCount;
+            }
+            rows[destinations[i]].put(source, weights[i]);
+        }
+        return graph;
+    }
+
+    public CsrGraph<T> buildDirectedCsr() {
+        return buildCsr(false);
+    }
+
+    public CsrGraph<T> buildUndirectedCsr() {
+        return buildCsr(true);
+    }
+
+    private CsrGraph<T> buildCsr(boolean undirected) {
+        Map<T, Integer> indices = new HashMap<>(ids);
+        return CsrGraph.fromArcs(vertices.toArray(), indices,
+                sources, destinations, weights, edgeCount, undirected);
+    }
+
+    // Создаёт строки смежности нужной ёмкости и регистрирует их в графе;
+    // массив позволяет дальше обращаться к строкам по номеру вершины.
+    private Map<T, Double>[] rows(Map<T, Map<T, Double>> table, int[] degrees) {
+        @SuppressWarnings("unchecked")
+        Map<T, Double>[] rows = new Map[degrees.length];
+        for (int i = 0; i < degrees.length; ++i) {
+            rows[i] = new HashMap<>(AbstractGraph.capacityFor(degrees[i]));
+            table.put(vertices.get(i), rows[i]);
+        }
+        return rows;
+    }
+}
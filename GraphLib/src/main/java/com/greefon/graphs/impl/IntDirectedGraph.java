@@ -0,0 +1,121 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.IntDoubleConsumer;
+
+import java.util.Arrays;
+
+public class IntDirectedGraph extends AbstractIntGraph {
+    // Обратный индекс в том же формате, что и прямые строки: для каждой
+    // вершины - источники входящих рёбер и их веса.
+    private int[][] sources;
+    private double[][] sourceWeights;
+    private int[] inDegrees;
+
+    public IntDirectedGraph() {
+        super();
+        allocateIncoming();
+    }
+
+    public IntDirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+        allocateIncoming();
+    }
+
+    private void allocateIncoming() {
+        sources = new int[present.length][];
+        sourceWeights = new double[present.length][];
+        inDegrees = new int[present.length];
+    }
+
+    @Override
+    public void addVertex(int vertex) {
+        super.addVertex(vertex);
+        if (present.length > inDegrees.length) {
+            sources = Arrays.copyOf(sources, present.length);
+            sourceWeights = Arrays.copyOf(sourceWeights, present.length);
+            inDegrees = Arrays.copyOf(inDegrees, present.length);
+        }
+        if (sources[vertex] == null) {
+            sources[vertex] = EMPTY_TARGETS;
+            sourceWeights[vertex] = EMPTY_WEIGHTS;
+        }
+    }
+
+    @Override
+    public void addEdge(int source, int destination, double weight, boolean createVertices) {
+        if (createVertices) {
+            addVertex(source);
+            addVertex(destination);
+        } else {
+            requireVertex(source);
+            requireVertex(destination);
+        }
+
+        if (putArc(source, destination, weight)) {
+            ++edgeCount;
+        }
+        putArc(sources, sourceWeights, inDegrees, destination, source, weight);
+    }
+
+    @Override
+    public void removeVertex(int vertex) {
+        if (!containsVertex(vertex)) {
+            return;
+        }
+
+        edgeCount -= degrees[vertex];
+        int[] successors = targets[vertex];
+        for (int i = 0; i < degrees[vertex]; ++i) {
+            if (successors[i] != vertex) {
+                removeArc(sources, sourceWeights, inDegrees, successors[i], vertex);
+            }
+        }
+
+        int[] predecessors = sources[vertex];
+        for (int i = 0; i < inDegrees[vertex]; ++i) {
+            // Петля уже учтена среди исходящих рёбер.
+            if (predecessors[i] != vertex) {
+                removeArc(predecessors[i], vertex);
+                --edgeCount;
+            }
+        }
+
+        dropVertex(vertex);
+        sources[vertex] = EMPTY_TARGETS;
+        sourceWeights[vertex] = EMPTY_WEIGHTS;
+        inDegrees[vertex] = 0;
+    }
+
+    @Override
+    public void removeEdge(int source, int destination) {
+        if (containsVertex(source) && removeArc(source, destination)) {
+            removeArc(sources, sourceWeights, inDegrees, destination, source);
+            --edgeCount;
+        }
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        return inDegrees[index];
+    }
+
+    @Override
+    public int getPredecessorAt(int index, int position) {
+        return sources[index][position];
+    }
+
+    @Override
+    public void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+        int[] rowSources = sources[index];
+        double[] rowWeights = sourceWeights[index];
+        for (int i = 0; i < inDegrees[index]; ++i) {
+            consumer.accept(rowSources[i], rowWeights[i]);
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        allocateIncoming();
+    }
+}
@@ -0,0 +1,69 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.IntDoubleConsumer;
+
+public class IntUndirectedGraph extends AbstractIntGraph {
+    public IntUndirectedGraph() {
+        super();
+    }
+
+    public IntUndirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+    }
+
+    @Override
+    public void addEdge(int source, int destination, double weight, boolean createVertices) {
+        if (createVertices) {
+            addVertex(source);
+            addVertex(destination);
+        } else {
+            requireVertex(source);
+            requireVertex(destination);
+        }
+
+        if (putArc(source, destination, weight)) {
+            ++edgeCount;
+        }
+        putArc(destination, source, weight);
+    }
+
+    @Override
+    public void removeVertex(int vertex) {
+        if (!containsVertex(vertex)) {
+            return;
+        }
+
+        int[] row = targets[vertex];
+        for (int i = 0; i < degrees[vertex]; ++i) {
+            if (row[i] != vertex) {
+                removeArc(row[i], vertex);
+            }
+            --edgeCount;
+        }
+        dropVertex(vertex);
+    }
+
+    @Override
+    public void removeEdge(int source, int destination) {
+        if (containsVertex(source) && removeArc(source, destination)) {
+            removeArc(destination, source);
+            --edgeCount;
+        }
+    }
+
+    // Предшественники неориентированного графа совпадают с соседями.
+    @Override
+    public int getInDegree(int index) {
+        return degrees[index];
+    }
+
+    @Override
+    public int getPredecessorAt(int index, int position) {
+        return targets[index][position];
+    }
+
+    @Override
+    public void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+        forEachNeighbor(index, consumer);
+    }
+}
@@ -0,0 +1,727 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.Edge;
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Неизменяемый граф в формате CSR, у которого смежность (смещения строк,
+// концы и веса дуг) лежит вне кучи, в direct-буферах. Сборщик мусора не
+// просматривает эти данные, а их объём ограничен не -Xmx, а
+// -XX:MaxDirectMemorySize (по умолчанию он равен размеру кучи, поэтому
+// для графов больше кучи его нужно задать явно). В куче остаётся только
+// словарь вершин. Строки отсортированы по номеру цели.
+// После close() память освобождается сразу, а обращения к смежности
+// бросают IllegalStateException; close() не должен выполняться
+// одновременно с чтением из других потоков.
+public class OffHeapGraph<T> implements IndexedGraph<T>, AutoCloseable {
+    // Один ByteBuffer адресует не больше 2 ГБ, поэтому массивы
+    // разбиваются на куски по 4 МБ.
+    static final int CHUNK_SHIFT = 22;
+
+    private final Object[] vertices;
+    private final Map<T, Integer> indices;
+    private final Block offsets;
+    private final Block targets;
+    private final Block weights;
+    private final Block inOffsets;
+    private final Block inSources;
+    private final Block inWeights;
+    private final int edgeCount;
+    private final Set<T> vertexView = new VertexSet();
+    private volatile boolean closed;
+
+    private OffHeapGraph(Object[] vertices, Map<T, Integer> indices, Block[] forward,
+                         Block[] backward, int edgeCount) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.offsets = forward[0];
+        this.targets = forward[1];
+        this.weights = forward[2];
+        this.inOffsets = backward[0];
+        this.inSources = backward[1];
+        this.inWeights = backward[2];
+        this.edgeCount = edgeCount;
+    }
+
+    // Копия произвольного графа; исходный граф должен помещаться в куче.
+    // Для графов больше кучи рёбра передаются в Builder напрямую.
+    public static <T> OffHeapGraph<T> of(Graph<T> graph) {
+        if (graph instanceof OffHeapGraph) {
+            return (OffHeapGraph<T>) graph;
+        }
+        Builder<T> builder = new Builder<>();
+        for (T vertex : graph.getVertices()) {
+            builder.addVertex(vertex);
+        }
+        for (T vertex : graph.getVertices()) {
+            graph.forEachNeighbor(vertex, (neighbor, weight) -> builder.addEdge(vertex, neighbor, weight));
+        }
+        return builder.build(false, graph.getEdgeCount());
+    }
+
+    // Как GraphBuilder, но дуги до сборки тоже копятся вне кучи.
+    // Сборка освобождает эту память, поэтому строитель одноразовый.
+    public static class Builder<T> {
+        private final Map<T, Integer> ids = new HashMap<>();
+        private final List<T> vertices = new ArrayList<>();
+        private final int chunkShift;
+        private Block sources;
+        private Block destinations;
+        private Block weights;
+        private long count;
+
+        public Builder() {
+            this(CHUNK_SHIFT);
+        }
+
+        // Маленькие куски позволяют тестам проверить переходы между ними.
+        Builder(int chunkShift) {
+            this.chunkShift = chunkShift;
+            this.sources = new Block(0, chunkShift);
+            this.destinations = new Block(0, chunkShift);
+            this.weights = new Block(0, chunkShift);
+        }
+
+        private int idOf(T vertex) {
+            Integer id = ids.get(vertex);
+            if (id == null) {
+                id = vertices.size();
+                ids.put(vertex, id);
+                vertices.add(vertex);
+            }
+            return id;
+        }
+
+        private void checkUsable() {
+            if (sources == null) {
+                throw new IllegalStateException("Off-heap graph builder has already been used.");
+            }
+        }
+
+        public Builder<T> addVertex(T vertex) {
+            checkUsable();
+            idOf(vertex);
+            return this;
+        }
+
+        public Builder<T> addEdge(T source, T destination) {
+            return addEdge(source, destination, 1.0);
+        }
+
+        public Builder<T> addEdge(T source, T destination, double weight) {
+            checkUsable();
+            sources.ensureCapacity((count + 1) * Integer.BYTES);
+            destinations.ensureCapacity((count + 1) * Integer.BYTES);
+            weights.ensureCapacity((count + 1) * Double.BYTES);
+            sources.putInt(count, idOf(source));
+            destinations.putInt(count, idOf(destination));
+            weights.putDouble(count, weight);
+            ++count;
+            return this;
+        }
+
+        public Builder<T> addEdges(Iterable<? extends Edge<T>> edges) {
+            for (Edge<T> edge : edges) {
+                addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+            }
+            return this;
+        }
+
+        public Builder<T> addEdges(Stream<? extends Edge<T>> edges) {
+            edges.forEachOrdered(edge -> addEdge(edge.getSource(), edge.getDestination(), edge.getWeight()));
+            return this;
+        }
+
+        public int getVertexCount() {
+            return vertices.size();
+        }
+
+        // Число добавленных рёбер с учётом повторов.
+        public long getAddedEdgeCount() {
+            return count;
+        }
+
+        public OffHeapGraph<T> buildDirected() {
+            return build(false, -1);
+        }
+
+        public OffHeapGraph<T> buildUndirected() {
+            return build(true, -1);
+        }
+
+        // Дуги раскладываются подсчётом сначала по цели, затем по
+        // источнику, как в CsrGraph.fromArcs: оба прохода устойчивы, так
+        // что повторы одной дуги стоят рядом и остаётся последний вес.
+        // Для неориентированного графа каждое ребро даёт две дуги.
+        OffHeapGraph<T> build(boolean undirected, int knownEdgeCount) {
+            checkUsable();
+            int n = vertices.size();
+            Block[] byTarget;
+            Block[] forward;
+            Block[] backward;
+            long[] selfLoops = new long[1];
+            try {
+                long[] cursor = new long[n + 1];
+                for (long i = 0; i < count; ++i) {
+                    int source = sources.getInt(i);
+                    int destination = destinations.getInt(i);
+                    ++cursor[destination + 1];
+                    if (undirected && source != destination) {
+                        ++cursor[source + 1];
+                    }
+                }
+                for (int i = 0; i < n; ++i) {
+                    cursor[i + 1] += cursor[i];
+                }
+                long arcs = cursor[n];
+
+                byTarget = allocate(n, arcs, chunkShift);
+                for (int i = 0; i <= n; ++i) {
+                    byTarget[0].putLong(i, cursor[i]);
+                }
+                for (long i = 0; i < count; ++i) {
+                    int source = sources.getInt(i);
+                    int destination = destinations.getInt(i);
+                    double weight = weights.getDouble(i);
+                    long position = cursor[destination]++;
+                    byTarget[1].putInt(position, source);
+                    byTarget[2].putDouble(position, weight);
+                    if (undirected && source != destination) {
+                        position = cursor[source]++;
+                        byTarget[1].putInt(position, destination);
+                        byTarget[2].putDouble(position, weight);
+                    }
+                }
+            } finally {
+                release();
+            }
+
+            try {
+                forward = transpose(n, byTarget, chunkShift);
+            } finally {
+                free(byTarget);
+            }
+            long unique = deduplicate(n, forward, selfLoops);
+
+            int edgeCount = knownEdgeCount >= 0 ? knownEdgeCount
+                    : (int) Math.min(Integer.MAX_VALUE, undirected ? (unique + selfLoops[0]) / 2 : unique);
+            if (undirected) {
+                backward = forward;
+            } else {
+                backward = transpose(n, forward, chunkShift);
+                // Симметричный граф хранит смежность один раз.
+                if (sameRows(n, forward, backward)) {
+                    free(backward);
+                    backward = forward;
+                }
+            }
+            return new OffHeapGraph<>(vertices.toArray(), new HashMap<>(ids), forward, backward, edgeCount);
+        }
+
+        private void release() {
+            sources.free();
+            destinations.free();
+            weights.free();
+            sources = null;
+            destinations = null;
+            weights = null;
+        }
+    }
+
+    // offsets long[n + 1], концы int[arcs] и веса double[arcs].
+    private static Block[] allocate(int n, long arcs, int chunkShift) {
+        return new Block[]{
+                new Block((n + 1L) * Long.BYTES, chunkShift),
+                new Block(arcs * Integer.BYTES, chunkShift),
+                new Block(arcs * Double.BYTES, chunkShift)
+        };
+    }
+
+    private static void free(Block[] rows) {
+        for (Block block : rows) {
+            block.free();
+        }
+    }
+
+    // Устойчивая раскладка подсчётом: дуга i -> j строки i попадает в
+    // строку j, строки результата упорядочены по i.
+    private static Block[] transpose(int n, Block[] rows, int chunkShift) {
+        long[] cursor = new long[n + 1];
+        long arcs = rows[0].getLong(n);
+        for (long arc = 0; arc < arcs; ++arc) {
+            ++cursor[rows[1].getInt(arc) + 1];
+        }
+        for (int i = 0; i < n; ++i) {
+            cursor[i + 1] += cursor[i];
+        }
+
+        Block[] result = allocate(n, arcs, chunkShift);
+        for (int i = 0; i <= n; ++i) {
+            result[0].putLong(i, cursor[i]);
+        }
+        for (int row = 0; row < n; ++row) {
+            long end = rows[0].getLong(row + 1);
+            for (long arc = rows[0].getLong(row); arc < end; ++arc) {
+                long position = cursor[rows[1].getInt(arc)]++;
+                result[1].putInt(position, row);
+                result[2].putDouble(position, rows[2].getDouble(arc));
+            }
+        }
+        return result;
+    }
+
+    // Оставляет последнюю из подряд идущих одинаковых дуг и сдвигает
+    // строки влево; освободившийся хвост блоков отдаётся сразу.
+    private static long deduplicate(int n, Block[] rows, long[] selfLoops) {
+        long write = 0;
+        for (int row = 0; row < n; ++row) {
+            long from = rows[0].getLong(row);
+            long to = rows[0].getLong(row + 1);
+            rows[0].putLong(row, write);
+            for (long arc = from; arc < to; ++arc) {
+                int target = rows[1].getInt(arc);
+                if (arc + 1 < to && rows[1].getInt(arc + 1) == target) {
+                    continue;
+                }
+                if (target == row) {
+                    ++selfLoops[0];
+                }
+                rows[1].putInt(write, target);
+                rows[2].putDouble(write, rows[2].getDouble(arc));
+                ++write;
+            }
+        }
+        rows[0].putLong(n, write);
+        rows[1].truncate(write * Integer.BYTES);
+        rows[2].truncate(write * Double.BYTES);
+        return write;
+    }
+
+    private static boolean sameRows(int n, Block[] left, Block[] right) {
+        for (int i = 0; i <= n; ++i) {
+            if (left[0].getLong(i) != right[0].getLong(i)) {
+                return false;
+            }
+        }
+        for (long arc = 0; arc < left[0].getLong(n); ++arc) {
+            if (left[1].getInt(arc) != right[1].getInt(arc)
+                    || Double.compare(left[2].getDouble(arc), right[2].getDouble(arc)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Освобождает память вне кучи. Повторный вызов ничего не делает.
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        offsets.free();
+        targets.free();
+        weights.free();
+        if (inOffsets != offsets) {
+            inOffsets.free();
+            inSources.free();
+            inWeights.free();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap graph is closed.");
+        }
+    }
+
+    @Override
+    public int indexOf(T vertex) {
+        Integer index = indices.get(vertex);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T vertexAt(int index) {
+        return (T) vertices[index];
+    }
+
+    @Override
+    public int getIndexBound() {
+        return vertices.length;
+    }
+
+    @Override
+    public boolean containsIndex(int index) {
+        return index >= 0 && index < vertices.length;
+    }
+
+    @Override
+    public int getDegree(int index) {
+        checkOpen();
+        return (int) (offsets.getLong(index + 1) - offsets.getLong(index));
+    }
+
+    @Override
+    public int getNeighborAt(int index, int position) {
+        checkOpen();
+        return targets.getInt(offsets.getLong(index) + position);
+    }
+
+    @Override
+    public void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+        checkOpen();
+        long end = offsets.getLong(index + 1);
+        for (long arc = offsets.getLong(index); arc < end; ++arc) {
+            consumer.accept(targets.getInt(arc), weights.getDouble(arc));
+        }
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        checkOpen();
+        return (int) (inOffsets.getLong(index + 1) - inOffsets.getLong(index));
+    }
+
+    @Override
+    public int getPredecessorAt(int index, int position) {
+        checkOpen();
+        return inSources.getInt(inOffsets.getLong(index) + position);
+    }
+
+    @Override
+    public void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+        checkOpen();
+        long end = inOffsets.getLong(index + 1);
+        for (long arc = inOffsets.getLong(index); arc < end; ++arc) {
+            consumer.accept(inSources.getInt(arc), inWeights.getDouble(arc));
+        }
+    }
+
+    // Цели внутри строки отсортированы.
+    private long findArc(T source, T destination) {
+        int from = indexOf(source);
+        int to = indexOf(destination);
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        checkOpen();
+        long low = offsets.getLong(from);
+        long high = offsets.getLong(from + 1) - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int value = targets.getInt(middle);
+            if (value < to) {
+                low = middle + 1;
+            } else if (value > to) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("Off-heap graph is immutable.");
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        throw new UnsupportedOperationException("Off-heap graph is immutable.");
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        throw new UnsupportedOperationException("Off-heap graph is immutable.");
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        throw new UnsupportedOperationException("Off-heap graph is immutable.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Off-heap graph is immutable.");
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        return findArc(source, destination) >= 0;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return vertexView;
+    }
+
+    // Строки копируются в кучу: они короткие, а представление поверх
+    // буфера пережило бы close().
+    private Map<T, Double> row(int index, Block rowOffsets, Block ends, Block rowWeights) {
+        checkOpen();
+        long from = rowOffsets.getLong(index);
+        long to = rowOffsets.getLong(index + 1);
+        Map<T, Double> result = new LinkedHashMap<>(AbstractGraph.capacityFor((int) (to - from)));
+        for (long arc = from; arc < to; ++arc) {
+            result.put(vertexAt(ends.getInt(arc)), rowWeights.getDouble(arc));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        return getNeighborsWithWeights(vertex).keySet();
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? row(index, offsets, targets, weights) : Collections.emptyMap();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        int index = indexOf(vertex);
+        if (index >= 0) {
+            forEachNeighbor(index, (target, weight) -> consumer.accept(vertexAt(target), weight));
+        }
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0
+                ? row(index, inOffsets, inSources, inWeights).keySet()
+                : Collections.emptySet();
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? getInDegree(index) : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        int index = indexOf(vertex);
+        if (index >= 0) {
+            forEachPredecessor(index, (source, weight) -> consumer.accept(vertexAt(source), weight));
+        }
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        long arc = findArc(source, destination);
+        return arc >= 0 ? Optional.of(weights.getDouble(arc)) : Optional.empty();
+    }
+
+    @Override
+    public Graph<T> freeze() {
+        return this;
+    }
+
+    private class VertexSet extends AbstractSet<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < vertices.length;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertexAt(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return vertices.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indices.containsKey(o);
+        }
+    }
+
+    // Массив вне кучи из direct-буферов по 2^chunkShift байт. Элементы
+    // выровнены по своему размеру и не пересекают границу куска.
+    static final class Block {
+        // Direct-буфер иначе освобождается лишь вместе с объектом буфера
+        // при сборке мусора; Unsafe.invokeCleaner (JDK 9+, модуль
+        // jdk.unsupported) освобождает его сразу. Если он недоступен,
+        // free() только отпускает ссылки.
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> type = Class.forName("sun.misc.Unsafe");
+                Field field = type.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                unsafe = null;
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        private final int chunkShift;
+        private final long chunkMask;
+        private ByteBuffer[] chunks;
+        private long capacity;
+
+        Block(long bytes, int chunkShift) {
+            this.chunkShift = chunkShift;
+            this.chunkMask = (1L << chunkShift) - 1;
+            long count = (bytes + chunkMask) >>> chunkShift;
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Off-heap block is too large: " + bytes);
+            }
+            this.chunks = new ByteBuffer[(int) count];
+            for (int i = 0; i < chunks.length; ++i) {
+                long size = Math.min(1L << chunkShift, bytes - ((long) i << chunkShift));
+                chunks[i] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+            }
+            this.capacity = bytes;
+        }
+
+        // Дописывает целые куски; вызывается только для блоков, созданных
+        // пустыми, иначе последний кусок мог бы оказаться неполным.
+        void ensureCapacity(long bytes) {
+            while (capacity < bytes) {
+                chunks = Arrays.copyOf(chunks, chunks.length + 1);
+                chunks[chunks.length - 1] = ByteBuffer.allocateDirect(1 << chunkShift)
+                        .order(ByteOrder.nativeOrder());
+                capacity += 1L << chunkShift;
+            }
+        }
+
+        // Освобождает куски за пределами bytes, последний кусок
+        // перевыделяется точно по размеру. После этого ensureCapacity
+        // вызывать нельзя.
+        void truncate(long bytes) {
+            if (bytes >= capacity) {
+                return;
+            }
+            int count = (int) ((bytes + chunkMask) >>> chunkShift);
+            for (int i = count; i < chunks.length; ++i) {
+                release(chunks[i]);
+            }
+            ByteBuffer[] kept = Arrays.copyOf(chunks, count);
+            if (count > 0) {
+                int tail = (int) (bytes - ((long) (count - 1) << chunkShift));
+                ByteBuffer last = kept[count - 1];
+                if (tail < last.capacity()) {
+                    ByteBuffer resized = ByteBuffer.allocateDirect(tail).order(ByteOrder.nativeOrder());
+                    ByteBuffer used = last.duplicate();
+                    used.position(0).limit(tail);
+                    resized.put(used).clear();
+                    release(last);
+                    kept[count - 1] = resized;
+                }
+            }
+            chunks = kept;
+            capacity = bytes;
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        int getInt(long index) {
+            long at = index * Integer.BYTES;
+            return chunks[(int) (at >>> chunkShift)].getInt((int) (at & chunkMask));
+        }
+
+        void putInt(long index, int value) {
+            long at = index * Integer.BYTES;
+            chunks[(int) (at >>> chunkShift)].putInt((int) (at & chunkMask), value);
+        }
+
+        long getLong(long index) {
+            long at = index * Long.BYTES;
+            return chunks[(int) (at >>> chunkShift)].getLong((int) (at & chunkMask));
+        }
+
+        void putLong(long index, long value) {
+            long at = index * Long.BYTES;
+            chunks[(int) (at >>> chunkShift)].putLong((int) (at & chunkMask), value);
+        }
+
+        double getDouble(long index) {
+            long at = index * Double.BYTES;
+            return chunks[(int) (at >>> chunkShift)].getDouble((int) (at & chunkMask));
+        }
+
+        void putDouble(long index, double value) {
+            long at = index * Double.BYTES;
+            chunks[(int) (at >>> chunkShift)].putDouble((int) (at & chunkMask), value);
+        }
+
+        void free() {
+            ByteBuffer[] released = chunks;
+            chunks = new ByteBuffer[0];
+            capacity = 0;
+            for (ByteBuffer chunk : released) {
+                release(chunk);
+            }
+        }
+
+        // Неудача с одним куском не мешает освободить остальные.
+        private static void release(ByteBuffer chunk) {
+            if (INVOKE_CLEANER == null) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, chunk);
+            } catch (ReflectiveOperationException e) {
+                // кусок остаётся на сборщик мусора
+            }
+        }
+    }
+}
@@ -1,19 +1,50 @@
 package com.greefon.graphs.impl;
 
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.util.Map;
+import java.util.Set;
+
 public class UndirectedGraph<T> extends AbstractGraph<T> {
+    public UndirectedGraph() {
+        super();
+    }
+
+    public UndirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        if (!containsVertex(vertex)) {
+            super.addVertex(vertex);
+            vertexAdded(vertex);
+        }
+    }
+
     @Override
     public void addEdge(T source, T destination, double weight, boolean createVertices) {
         if (createVertices) {
             addVertex(source);
             addVertex(destination);
+        } else if (!containsVertex(source) || !containsVertex(destination)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + (containsVertex(source) ? destination : source)
+                            + " is absent in this graph.");
         }
 
-        if (!containsEdge(source, destination)) {
+        boolean isNew = !containsEdge(source, destination);
+        if (isNew) {
             ++edgeCount;
         }
 
         adjList.get(source).put(destination, weight);
         adjList.get(destination).put(source, weight);
+        if (isNew) {
+            edgeAdded(source, destination, weight);
+        } else {
+            edgeWeightChanged(source, destination, weight);
+        }
     }
 
     @Override
@@ -22,12 +53,17 @@ public class UndirectedGraph<T> extends AbstractGraph<T> {
             return;
         }
 
-        for (T neighbor : getNeighbors(vertex)) {
-            adjList.get(neighbor).remove(vertex);
+        // Петля хранится в собственной таблице вершины, поэтому таблица
+        // убирается до обхода соседей.
+        Map<T, Double> neighbors = adjList.remove(vertex);
+        for (T neighbor : neighbors.keySet()) {
+            if (!neighbor.equals(vertex)) {
+                adjList.get(neighbor).remove(vertex);
+            }
             --edgeCount;
         }
-        adjList.remove(vertex);
         --vertexCount;
+        vertexRemoved(vertex);
     }
 
     @Override
@@ -36,6 +72,25 @@ public class UndirectedGraph<T> extends AbstractGraph<T> {
             adjList.get(source).remove(destination);
             adjList.get(destination).remove(source);
             --edgeCount;
+            edgeRemoved(source, destination);
         }
     }
+
+    // Ребро неориентированного графа входит в обе вершины, поэтому
+    // предшественники совпадают с соседями.
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        return getNeighbors(vertex);
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        Map<T, Double> neighbors = adjList.get(vertex);
+        return neighbors != null ? neighbors.size() : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        forEachNeighbor(vertex, consumer);
+    }
 }
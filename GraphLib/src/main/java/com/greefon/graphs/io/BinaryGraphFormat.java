@@ -0,0 +1,397 @@
+package com.greefon.graphs.io;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.impl.CsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Двоичный формат графа для быстрой загрузки. Все числа little-endian,
+// разделы выровнены по 8 байт:
+//   заголовок: magic, version, flags, vertexCount, edgeCount, arcCount,
+//              hashTableSize, резерв и таблица разделов (позиция, длина);
+//   словарь вершин: смещения int[V + 1], закодированные вершины,
+//              хеши вершин int[V] и хеш-таблица (индекс + 1, 0 - пусто)
+//              с линейным пробированием;
+//   CSR: offsets int[V + 1], targets int[A], weights double[A];
+//   обратный CSR в том же виде, если граф не симметричен.
+// open() отображает разделы в память через FileChannel.map и ничего
+// не копирует, так что загрузка почти мгновенна, а страницы файла
+// разделяются между процессами.
+public final class BinaryGraphFormat {
+    static final int MAGIC = 0x4C435247; // "GRCL"
+    static final int VERSION = 1;
+    static final int FLAG_SYMMETRIC = 1;
+
+    static final int VERTEX_OFFSETS = 0;
+    static final int VERTEX_DATA = 1;
+    static final int VERTEX_HASHES = 2;
+    static final int HASH_TABLE = 3;
+    static final int OFFSETS = 4;
+    static final int TARGETS = 5;
+    static final int WEIGHTS = 6;
+    static final int IN_OFFSETS = 7;
+    static final int IN_SOURCES = 8;
+    static final int IN_WEIGHTS = 9;
+    static final int SECTIONS = 10;
+
+    private static final int HEADER_SIZE = 8 * Integer.BYTES + SECTIONS * 2 * Long.BYTES;
+
+    private BinaryGraphFormat() {
+    }
+
+    static int slot(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    public static <T> void write(Graph<T> graph, Path path, VertexCodec<T> codec) throws IOException {
+        // CSR-снимок даёт плотную нумерацию и отсортированные строки,
+        // по которым MappedGraph ищет рёбра двоичным поиском.
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        CsrGraph<T> reverse = csr.reverse();
+        int n = csr.getIndexBound();
+        long arcs = 0;
+        for (int i = 0; i < n; ++i) {
+            arcs += csr.getDegree(i);
+        }
+        // Каждый раздел отображается одним буфером, а он ограничен 2 ГБ.
+        if (arcs > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException(
+                    "Graph has too many arcs for the binary format: " + arcs);
+        }
+        boolean symmetric = isSymmetric(csr, reverse);
+
+        long[] sections = new long[SECTIONS * 2];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ChannelWriter out = new ChannelWriter(channel, HEADER_SIZE)) {
+
+            byte[][] encoded = new byte[n][];
+            int[] hashes = new int[n];
+            long dataSize = 0;
+            for (int i = 0; i < n; ++i) {
+                T vertex = csr.vertexAt(i);
+                encoded[i] = codec.encode(vertex);
+                hashes[i] = codec.hash(vertex);
+                dataSize += encoded[i].length;
+            }
+            if (dataSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "Vertex dictionary is too large for the binary format: " + dataSize);
+            }
+
+            out.begin(sections, VERTEX_OFFSETS);
+            int position = 0;
+            out.putInt(0);
+            for (int i = 0; i < n; ++i) {
+                position += encoded[i].length;
+                out.putInt(position);
+            }
+            out.end(sections, VERTEX_OFFSETS);
+
+            out.begin(sections, VERTEX_DATA);
+            for (int i = 0; i < n; ++i) {
+                out.putBytes(encoded[i]);
+            }
+            out.end(sections, VERTEX_DATA);
+
+            out.begin(sections, VERTEX_HASHES);
+            for (int i = 0; i < n; ++i) {
+                out.putInt(hashes[i]);
+            }
+            out.end(sections, VERTEX_HASHES);
+
+            int tableSize = Integer.highestOneBit(Math.max(1, n) * 2 - 1) << 1;
+            int[] table = new int[tableSize];
+            for (int i = 0; i < n; ++i) {
+                int slot = slot(hashes[i], tableSize - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (tableSize - 1);
+                }
+                table[slot] = i + 1;
+            }
+            out.begin(sections, HASH_TABLE);
+            for (int entry : table) {
+                out.putInt(entry);
+            }
+            out.end(sections, HASH_TABLE);
+
+            writeRows(out, sections, csr, OFFSETS);
+            if (!symmetric) {
+                writeRows(out, sections, reverse, IN_OFFSETS);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(symmetric ? FLAG_SYMMETRIC : 0)
+                    .putInt(n)
+                    .putInt(csr.getEdgeCount())
+                    .putInt((int) arcs)
+                    .putInt(tableSize)
+                    .putInt(0);
+            for (long value : sections) {
+                header.putLong(value);
+            }
+            header.flip();
+            out.flush();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    // Пишет три раздела подряд: offsets, targets и weights.
+    private static <T> void writeRows(ChannelWriter out, long[] sections,
+                                      CsrGraph<T> csr, int first) throws IOException {
+        int n = csr.getIndexBound();
+
+        out.begin(sections, first);
+        int offset = 0;
+        out.putInt(0);
+        for (int i = 0; i < n; ++i) {
+            offset += csr.getDegree(i);
+            out.putInt(offset);
+        }
+        out.end(sections, first);
+
+        out.begin(sections, first + 1);
+        for (int i = 0; i < n; ++i) {
+            for (int position = 0; position < csr.getDegree(i); ++position) {
+                out.putInt(csr.getNeighborAt(i, position));
+            }
+        }
+        out.end(sections, first + 1);
+
+        out.begin(sections, first + 2);
+        for (int i = 0; i < n; ++i) {
+            csr.forEachNeighbor(i, out::putDoubleUnchecked);
+        }
+        out.rethrow();
+        out.end(sections, first + 2);
+    }
+
+    // Симметричный граф (в том числе любой неориентированный) хранит
+    // смежность один раз: входящие рёбра совпадают с исходящими.
+    private static <T> boolean isSymmetric(CsrGraph<T> csr, CsrGraph<T> reverse) {
+        int n = csr.getIndexBound();
+        RowCollector forward = new RowCollector();
+        RowCollector backward = new RowCollector();
+        for (int i = 0; i < n; ++i) {
+            if (csr.getDegree(i) != reverse.getDegree(i)) {
+                return false;
+            }
+            forward.reset(csr.getDegree(i));
+            backward.reset(reverse.getDegree(i));
+            csr.forEachNeighbor(i, forward);
+            reverse.forEachNeighbor(i, backward);
+            if (!forward.sameAs(backward)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static <T> MappedGraph<T> open(Path path, VertexCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated graph file header: " + path);
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph format version " + version);
+            }
+            int flags = header.getInt();
+            int vertexCount = header.getInt();
+            int edgeCount = header.getInt();
+            int arcCount = header.getInt();
+            int tableSize = header.getInt();
+            header.getInt();
+            // Заголовок проверяется до отображения: иначе испорченный файл
+            // всплыл бы IndexOutOfBoundsException при обращении к графу.
+            if (vertexCount < 0 || vertexCount == Integer.MAX_VALUE || edgeCount < 0 || arcCount < 0) {
+                throw corrupt(path, "invalid counts " + vertexCount + ", " + edgeCount + ", " + arcCount);
+            }
+            if (Integer.bitCount(tableSize) != 1 || tableSize <= vertexCount) {
+                throw corrupt(path, "invalid hash table size " + tableSize);
+            }
+
+            long rowsLength = (vertexCount + 1L) * Integer.BYTES;
+            long[] expected = {
+                    rowsLength, -1, (long) vertexCount * Integer.BYTES, (long) tableSize * Integer.BYTES,
+                    rowsLength, (long) arcCount * Integer.BYTES, (long) arcCount * Double.BYTES,
+                    rowsLength, (long) arcCount * Integer.BYTES, (long) arcCount * Double.BYTES
+            };
+            ByteBuffer[] buffers = new ByteBuffer[SECTIONS];
+            boolean symmetric = (flags & FLAG_SYMMETRIC) != 0;
+            for (int section = 0; section < SECTIONS; ++section) {
+                long position = header.getLong();
+                long length = header.getLong();
+                if (symmetric && section >= IN_OFFSETS) {
+                    continue;
+                }
+                if (position < HEADER_SIZE || (position & 7) != 0 || length < 0
+                        || (expected[section] >= 0 && length != expected[section])) {
+                    throw corrupt(path, "invalid section " + section + " at " + position + ", length " + length);
+                }
+                if (length > channel.size() - position) {
+                    throw new IOException("Truncated graph file: " + path);
+                }
+                // Отображение остаётся действительным и после закрытия канала.
+                buffers[section] = channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (symmetric) {
+                buffers[IN_OFFSETS] = buffers[OFFSETS];
+                buffers[IN_SOURCES] = buffers[TARGETS];
+                buffers[IN_WEIGHTS] = buffers[WEIGHTS];
+            }
+
+            // Полная проверка строк стоила бы чтения всего файла; концы
+            // массивов смещений сверяются с длинами разделов.
+            int vertexEnd = vertexCount * Integer.BYTES;
+            if (buffers[VERTEX_OFFSETS].getInt(0) != 0
+                    || buffers[VERTEX_OFFSETS].getInt(vertexEnd) != buffers[VERTEX_DATA].capacity()) {
+                throw corrupt(path, "vertex offsets do not match the vertex data");
+            }
+            for (int section : new int[]{OFFSETS, IN_OFFSETS}) {
+                if (buffers[section].getInt(0) != 0 || buffers[section].getInt(vertexEnd) != arcCount) {
+                    throw corrupt(path, "arc offsets do not match the arc count " + arcCount);
+                }
+            }
+
+            return new MappedGraph<>(codec, vertexCount, edgeCount, tableSize, buffers);
+        }
+    }
+
+    private static IOException corrupt(Path path, String reason) {
+        return new IOException("Corrupt binary graph file " + path + ": " + reason);
+    }
+
+    private static class RowCollector implements IntDoubleConsumer {
+        private int[] targets = new int[16];
+        private double[] weights = new double[16];
+        private int size;
+
+        void reset(int capacity) {
+            if (targets.length < capacity) {
+                targets = new int[capacity];
+                weights = new double[capacity];
+            }
+            size = 0;
+        }
+
+        @Override
+        public void accept(int vertex, double weight) {
+            targets[size] = vertex;
+            weights[size] = weight;
+            ++size;
+        }
+
+        boolean sameAs(RowCollector other) {
+            if (size != other.size) {
+                return false;
+            }
+            for (int i = 0; i < size; ++i) {
+                if (targets[i] != other.targets[i]
+                        || Double.compare(weights[i], other.weights[i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Последовательная запись через буфер; позиции разделов
+    // запоминаются в таблице sections.
+    private static class ChannelWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+        private IOException failure;
+
+        ChannelWriter(FileChannel channel, long start) {
+            this.channel = channel;
+            this.position = start;
+        }
+
+        void begin(long[] sections, int section) throws IOException {
+            while ((position & 7) != 0) {
+                put(1).put((byte) 0);
+            }
+            sections[section * 2] = position;
+        }
+
+        void end(long[] sections, int section) {
+            sections[section * 2 + 1] = position - sections[section * 2];
+        }
+
+        private ByteBuffer put(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            position += bytes;
+            return buffer;
+        }
+
+        void putInt(int value) throws IOException {
+            put(Integer.BYTES).putInt(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length <= buffer.capacity()) {
+                put(bytes.length).put(bytes);
+                return;
+            }
+            for (byte value : bytes) {
+                put(1).put(value);
+            }
+        }
+
+        // Для обхода через IntDoubleConsumer, который не может бросать
+        // IOException: ошибка откладывается до rethrow().
+        void putDoubleUnchecked(int vertex, double weight) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                put(Double.BYTES).putDouble(weight);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        void rethrow() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            long at = position - buffer.remaining();
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.greefon.graphs.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Разбор текстовых форматов прямо из байтов канала: числа собираются
+// по цифрам без промежуточных String, строки создаются только для меток
+// вершин (и переиспользуются через SymbolTable).
+final class ByteTokenizer implements Closeable {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] data;
+    private int position;
+    private int limit;
+    private boolean eof;
+    private int line = 1;
+    private byte[] scratch = new byte[64];
+    private int scratchLength;
+
+    ByteTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(1 << 16);
+        this.data = buffer.array();
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            limit = position = 0;
+            return false;
+        }
+        position = 0;
+        limit = buffer.position();
+        return true;
+    }
+
+    // Текущий байт или -1 в конце данных.
+    int peek() throws IOException {
+        if (position < limit || fill()) {
+            return data[position] & 0xFF;
+        }
+        return -1;
+    }
+
+    void advance() {
+        if (data[position++] == '\n') {
+            ++line;
+        }
+    }
+
+    int line() {
+        return line;
+    }
+
+    // Пропускает пробелы и табуляции в пределах строки.
+    void skipSpaces() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t') {
+            advance();
+            c = peek();
+        }
+    }
+
+    // Пропускает пробельные символы, включая переводы строк;
+    // false, если данные закончились.
+    boolean skipBlank() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+            advance();
+            c = peek();
+        }
+        return c >= 0;
+    }
+
+    boolean atLineEnd() throws IOException {
+        int c = peek();
+        return c < 0 || c == '\n' || c == '\r';
+    }
+
+    // Пропускает остаток строки вместе с переводом строки.
+    void skipLine() throws IOException {
+        int c = peek();
+        while (c >= 0 && c != '\n') {
+            advance();
+            c = peek();
+        }
+        if (c == '\n') {
+            advance();
+        }
+    }
+
+    private static boolean isSeparator(int c, int delimiter) {
+        return c <= ' ' || c == delimiter;
+    }
+
+    IOException error(String message) {
+        return new IOException(message + " at line " + line + ".");
+    }
+
+    long parseLong(int delimiter) throws IOException {
+        int c = peek();
+        boolean negative = c == '-';
+        if (c == '-' || c == '+') {
+            advance();
+            c = peek();
+        }
+        if (c < '0' || c > '9') {
+            throw error("Expected an integer");
+        }
+
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw error("Integer is too large");
+            }
+            value = value * 10 + digit;
+            advance();
+            c = peek();
+        }
+        if (c >= 0 && !isSeparator(c, delimiter)) {
+            throw error("Expected an integer");
+        }
+        return negative ? -value : value;
+    }
+
+    int parseInt(int delimiter) throws IOException {
+        long value = parseLong(delimiter);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("Vertex id does not fit into int");
+        }
+        return (int) value;
+    }
+
+    double parseDouble(int delimiter) throws IOException {
+        readToken(delimiter);
+        if (scratchLength == 0) {
+            throw error("Expected a number");
+        }
+        double value = parseDouble(scratch, scratchLength);
+        if (Double.isNaN(value) && !isNaNLiteral()) {
+            throw error("Expected a number");
+        }
+        return value;
+    }
+
+    private boolean isNaNLiteral() {
+        String token = new String(scratch, 0, scratchLength, StandardCharsets.US_ASCII);
+        return token.equalsIgnoreCase("nan") || token.equalsIgnoreCase("+nan") || token.equalsIgnoreCase("-nan");
+    }
+
+    // Быстрый путь для обычной десятичной записи: мантисса до 15 значащих
+    // цифр и порядок до 22 по модулю дают точно округлённый результат одним
+    // умножением или делением. Остальное разбирает Double.parseDouble.
+    // NaN означает ошибку разбора.
+    static double parseDouble(byte[] text, int length) {
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            ++i;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        boolean exact = true;
+        for (; i < length && text[i] >= '0' && text[i] <= '9'; ++i) {
+            any = true;
+            int digit = text[i] - '0';
+            if (mantissa != 0 || digit != 0) {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + digit;
+                    ++digits;
+                } else {
+                    ++exponent;
+                    exact = false;
+                }
+            }
+        }
+        if (i < length && text[i] == '.') {
+            ++i;
+            for (; i < length && text[i] >= '0' && text[i] <= '9'; ++i) {
+                any = true;
+                int digit = text[i] - '0';
+                if (mantissa != 0 || digit != 0) {
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + digit;
+                        ++digits;
+                        --exponent;
+                    } else {
+                        exact = false;
+                    }
+                } else {
+                    --exponent;
+                }
+            }
+        }
+        if (any && i < length && (text[i] == 'e' || text[i] == 'E')) {
+            ++i;
+            boolean negativeExponent = false;
+            if (i < length && (text[i] == '-' || text[i] == '+')) {
+                negativeExponent = text[i] == '-';
+                ++i;
+            }
+            int value = 0;
+            boolean exponentDigits = false;
+            for (; i < length && text[i] >= '0' && text[i] <= '9'; ++i) {
+                exponentDigits = true;
+                value = Math.min(value * 10 + (text[i] - '0'), 100_000);
+            }
+            if (!exponentDigits) {
+                any = false;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (any && i == length && exact && digits <= 15) {
+            double result;
+            if (mantissa == 0) {
+                result = 0.0;
+            } else if (exponent == 0) {
+                result = mantissa;
+            } else if (exponent > 0 && exponent <= 22) {
+                result = mantissa * POWERS_OF_TEN[exponent];
+            } else if (exponent < 0 && exponent >= -22) {
+                result = mantissa / POWERS_OF_TEN[-exponent];
+            } else {
+                return slowParse(text, length);
+            }
+            return negative ? -result : result;
+        }
+        return slowParse(text, length);
+    }
+
+    private static double slowParse(byte[] text, int length) {
+        try {
+            return Double.parseDouble(new String(text, 0, length, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // Читает токен до разделителя или пробельного символа во внутренний буфер.
+    private void readToken(int delimiter) throws IOException {
+        scratchLength = 0;
+        int c = peek();
+        while (c >= 0 && !isSeparator(c, delimiter)) {
+            append(c);
+            advance();
+            c = peek();
+        }
+    }
+
+    private void append(int c) {
+        if (scratchLength == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratch.length * 2);
+        }
+        scratch[scratchLength++] = (byte) c;
+    }
+
+    String word() throws IOException {
+        readToken(-1);
+        return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+    }
+
+    String label(SymbolTable symbols) throws IOException {
+        readToken(-1);
+        if (scratchLength == 0) {
+            throw error("Expected a vertex label");
+        }
+        return symbols.intern(scratch, scratchLength);
+    }
+
+    // Поле CSV: без кавычек - до разделителя или конца строки, в кавычках -
+    // до закрывающей кавычки, "" внутри означает кавычку. Пробелы вокруг
+    // поля без кавычек сохраняются, как требует RFC 4180.
+    void readCsvField(int delimiter) throws IOException {
+        scratchLength = 0;
+        int c = peek();
+        if (c == '"') {
+            advance();
+            while (true) {
+                c = peek();
+                if (c < 0) {
+                    throw error("Unterminated quoted field");
+                }
+                advance();
+                if (c == '"') {
+                    if (peek() != '"') {
+                        break;
+                    }
+                    advance();
+                }
+                append(c);
+            }
+            c = peek();
+            if (c >= 0 && c != delimiter && c != '\r' && c != '\n') {
+                throw error("Unexpected character after quoted field");
+            }
+            return;
+        }
+        while (c >= 0 && c != delimiter && c != '\r' && c != '\n') {
+            append(c);
+            advance();
+            c = peek();
+        }
+    }
+
+    boolean csvFieldIsEmpty() {
+        return scratchLength == 0;
+    }
+
+    String csvField(SymbolTable symbols) {
+        return symbols.intern(scratch, scratchLength);
+    }
+
+    double csvNumber() throws IOException {
+        int from = 0;
+        int to = scratchLength;
+        while (from < to && scratch[from] == ' ') {
+            ++from;
+        }
+        while (to > from && scratch[to - 1] == ' ') {
+            --to;
+        }
+        byte[] text = from == 0 ? scratch : Arrays.copyOfRange(scratch, from, to);
+        double value = parseDouble(text, to - from);
+        if (Double.isNaN(value)) {
+            throw error("Expected a number");
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
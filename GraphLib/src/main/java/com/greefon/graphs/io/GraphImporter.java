@@ -0,0 +1,347 @@
+package com.greefon.graphs.io;
+
+import com.greefon.graphs.impl.GraphBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+// Потоковый импорт текстовых форматов в GraphBuilder. Файлы читаются
+// через NIO-каналы блоками по 64 КБ, строки не создаются: числа
+// разбираются прямо из байтов. Сжатые gzip данные распознаются
+// по сигнатуре автоматически.
+// Форматы:
+//   список рёбер - "u v [w]" с целыми идентификаторами, разделители -
+//     пробелы и табуляции, строки с # или % - комментарии;
+//   список рёбер с метками - то же, но вершины - произвольные слова;
+//   CSV - источник, приёмник и необязательный вес в первых трёх столбцах;
+//   DIMACS .gr - строки "p sp n m", "a u v w" и комментарии "c";
+//   Matrix Market - coordinate-матрица, элемент (i, j) становится ребром
+//     i -> j, для symmetric/skew-symmetric добавляется и j -> i.
+// Результат - GraphBuilder, из которого собирается граф нужного вида.
+public final class GraphImporter {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    // Средняя длина строки списка рёбер для оценки числа рёбер по размеру файла.
+    private static final int BYTES_PER_EDGE = 16;
+    private static final int MAX_ESTIMATED_EDGES = 1 << 24;
+
+    private GraphImporter() {
+    }
+
+    public static GraphBuilder<Integer> readEdgeList(Path path) throws IOException {
+        try (ByteTokenizer tokenizer = open(path)) {
+            return readEdgeList(tokenizer, estimatedBuilder(path));
+        }
+    }
+
+    public static GraphBuilder<Integer> readEdgeList(InputStream input) throws IOException {
+        return readEdgeList(tokenizer(input), new GraphBuilder<>());
+    }
+
+    public static GraphBuilder<String> readLabeledEdgeList(Path path) throws IOException {
+        try (ByteTokenizer tokenizer = open(path)) {
+            return readLabeledEdgeList(tokenizer, estimatedBuilder(path));
+        }
+    }
+
+    public static GraphBuilder<String> readLabeledEdgeList(InputStream input) throws IOException {
+        return readLabeledEdgeList(tokenizer(input), new GraphBuilder<>());
+    }
+
+    public static GraphBuilder<String> readCsv(Path path, char delimiter, boolean header) throws IOException {
+        try (ByteTokenizer tokenizer = open(path)) {
+            return readCsv(tokenizer, delimiter, header, estimatedBuilder(path));
+        }
+    }
+
+    public static GraphBuilder<String> readCsv(InputStream input, char delimiter, boolean header) throws IOException {
+        return readCsv(tokenizer(input), delimiter, header, new GraphBuilder<>());
+    }
+
+    public static GraphBuilder<Integer> readDimacs(Path path) throws IOException {
+        try (ByteTokenizer tokenizer = open(path)) {
+            return readDimacs(tokenizer);
+        }
+    }
+
+    public static GraphBuilder<Integer> readDimacs(InputStream input) throws IOException {
+        return readDimacs(tokenizer(input));
+    }
+
+    public static GraphBuilder<Integer> readMatrixMarket(Path path) throws IOException {
+        try (ByteTokenizer tokenizer = open(path)) {
+            return readMatrixMarket(tokenizer);
+        }
+    }
+
+    public static GraphBuilder<Integer> readMatrixMarket(InputStream input) throws IOException {
+        return readMatrixMarket(tokenizer(input));
+    }
+
+    private static <T> GraphBuilder<T> estimatedBuilder(Path path) throws IOException {
+        long edges = Math.min(MAX_ESTIMATED_EDGES, Files.size(path) / BYTES_PER_EDGE);
+        return new GraphBuilder<>(16, (int) Math.max(16, edges));
+    }
+
+    // Несжатый файл читается напрямую из FileChannel, сжатый - через
+    // GZIPInputStream.
+    private static ByteTokenizer open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer magic = ByteBuffer.allocate(2);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // дочитываем сигнатуру
+            }
+            channel.position(0);
+            if (magic.position() == 2 && ((magic.get(0) & 0xFF) | (magic.get(1) & 0xFF) << 8) == GZIP_MAGIC) {
+                channel.close();
+                return tokenizer(Files.newInputStream(path));
+            }
+            return new ByteTokenizer(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteTokenizer tokenizer(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, 1 << 16);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+
+        InputStream source = buffered;
+        if (first >= 0 && second >= 0 && (first | second << 8) == GZIP_MAGIC) {
+            source = new GZIPInputStream(buffered, 1 << 16);
+        }
+        ReadableByteChannel channel = Channels.newChannel(source);
+        return new ByteTokenizer(channel);
+    }
+
+    private static boolean isComment(int c) {
+        return c == '#' || c == '%';
+    }
+
+    private static GraphBuilder<Integer> readEdgeList(ByteTokenizer tokenizer,
+                                                      GraphBuilder<Integer> builder) throws IOException {
+        while (tokenizer.skipBlank()) {
+            if (isComment(tokenizer.peek())) {
+                tokenizer.skipLine();
+                continue;
+            }
+            int source = tokenizer.parseInt(-1);
+            tokenizer.skipSpaces();
+            int destination = tokenizer.parseInt(-1);
+            tokenizer.skipSpaces();
+            double weight = tokenizer.atLineEnd() ? 1.0 : tokenizer.parseDouble(-1);
+            // Остальные столбцы (например, метки времени) игнорируются.
+            tokenizer.skipLine();
+            builder.addEdge(source, destination, weight);
+        }
+        return builder;
+    }
+
+    private static GraphBuilder<String> readLabeledEdgeList(ByteTokenizer tokenizer,
+                                                           GraphBuilder<String> builder) throws IOException {
+        SymbolTable symbols = new SymbolTable();
+        while (tokenizer.skipBlank()) {
+            if (isComment(tokenizer.peek())) {
+                tokenizer.skipLine();
+                continue;
+            }
+            String source = tokenizer.label(symbols);
+            tokenizer.skipSpaces();
+            if (tokenizer.atLineEnd()) {
+                throw tokenizer.error("Expected a destination vertex");
+            }
+            String destination = tokenizer.label(symbols);
+            tokenizer.skipSpaces();
+            double weight = tokenizer.atLineEnd() ? 1.0 : tokenizer.parseDouble(-1);
+            tokenizer.skipLine();
+            builder.addEdge(source, destination, weight);
+        }
+        return builder;
+    }
+
+    private static GraphBuilder<String> readCsv(ByteTokenizer tokenizer, char delimiter, boolean header,
+                                               GraphBuilder<String> builder) throws IOException {
+        SymbolTable symbols = new SymbolTable();
+        if (header) {
+            tokenizer.skipLine();
+        }
+        while (tokenizer.peek() >= 0) {
+            if (tokenizer.atLineEnd()) {
+                tokenizer.skipLine();
+                continue;
+            }
+
+            tokenizer.readCsvField(delimiter);
+            String source = tokenizer.csvField(symbols);
+            if (tokenizer.peek() != delimiter) {
+                throw tokenizer.error("Expected a destination column");
+            }
+            tokenizer.advance();
+            tokenizer.readCsvField(delimiter);
+            String destination = tokenizer.csvField(symbols);
+
+            double weight = 1.0;
+            if (tokenizer.peek() == delimiter) {
+                tokenizer.advance();
+                tokenizer.readCsvField(delimiter);
+                if (!tokenizer.csvFieldIsEmpty()) {
+                    weight = tokenizer.csvNumber();
+                }
+            }
+            tokenizer.skipLine();
+            builder.addEdge(source, destination, weight);
+        }
+        return builder;
+    }
+
+    private static GraphBuilder<Integer> readDimacs(ByteTokenizer tokenizer) throws IOException {
+        GraphBuilder<Integer> builder = null;
+        int vertexCount = 0;
+        while (tokenizer.skipBlank()) {
+            int kind = tokenizer.peek();
+            if (kind == 'c') {
+                tokenizer.skipLine();
+                continue;
+            }
+
+            tokenizer.word();
+            tokenizer.skipSpaces();
+            if (kind == 'p') {
+                if (builder != null) {
+                    throw tokenizer.error("Duplicate DIMACS problem line");
+                }
+                tokenizer.word();
+                tokenizer.skipSpaces();
+                int vertices = tokenizer.parseInt(-1);
+                tokenizer.skipSpaces();
+                int arcs = tokenizer.parseInt(-1);
+                if (vertices < 0 || arcs < 0) {
+                    throw tokenizer.error("Invalid DIMACS problem size " + vertices + " " + arcs);
+                }
+                builder = new GraphBuilder<>(vertices, arcs);
+                vertexCount = vertices;
+                // В DIMACS вершины пронумерованы 1..n, в том числе изолированные.
+                for (int vertex = 1; vertex <= vertices; ++vertex) {
+                    builder.addVertex(vertex);
+                }
+            } else if (kind == 'a') {
+                if (builder == null) {
+                    throw tokenizer.error("DIMACS arc before the problem line");
+                }
+                int source = tokenizer.parseInt(-1);
+                tokenizer.skipSpaces();
+                int destination = tokenizer.parseInt(-1);
+                tokenizer.skipSpaces();
+                double weight = tokenizer.parseDouble(-1);
+                if (source < 1 || source > vertexCount || destination < 1 || destination > vertexCount) {
+                    throw tokenizer.error("DIMACS arc " + source + " -> " + destination
+                            + " is outside vertices 1.." + vertexCount);
+                }
+                builder.addEdge(source, destination, weight);
+            } else {
+                throw tokenizer.error("Unknown DIMACS line type '" + (char) kind + "'");
+            }
+            tokenizer.skipLine();
+        }
+        if (builder == null) {
+            throw tokenizer.error("Missing DIMACS problem line");
+        }
+        return builder;
+    }
+
+    private static GraphBuilder<Integer> readMatrixMarket(ByteTokenizer tokenizer) throws IOException {
+        if (!tokenizer.word().equalsIgnoreCase("%%MatrixMarket")) {
+            throw tokenizer.error("Missing Matrix Market banner");
+        }
+        tokenizer.skipSpaces();
+        String object = tokenizer.word().toLowerCase(Locale.ROOT);
+        tokenizer.skipSpaces();
+        String format = tokenizer.word().toLowerCase(Locale.ROOT);
+        tokenizer.skipSpaces();
+        String field = tokenizer.word().toLowerCase(Locale.ROOT);
+        tokenizer.skipSpaces();
+        String symmetry = tokenizer.word().toLowerCase(Locale.ROOT);
+        tokenizer.skipLine();
+
+        if (!object.equals("matrix") || !format.equals("coordinate")) {
+            throw tokenizer.error("Only coordinate Matrix Market matrices are supported");
+        }
+        if (!field.equals("real") && !field.equals("integer") && !field.equals("pattern")) {
+            throw tokenizer.error("Unsupported Matrix Market field '" + field + "'");
+        }
+        boolean mirrored = symmetry.equals("symmetric") || symmetry.equals("skew-symmetric");
+        if (!mirrored && !symmetry.equals("general")) {
+            throw tokenizer.error("Unsupported Matrix Market symmetry '" + symmetry + "'");
+        }
+        double mirrorSign = symmetry.equals("skew-symmetric") ? -1.0 : 1.0;
+        boolean pattern = field.equals("pattern");
+
+        while (tokenizer.skipBlank() && tokenizer.peek() == '%') {
+            tokenizer.skipLine();
+        }
+        if (tokenizer.peek() < 0) {
+            throw tokenizer.error("Missing Matrix Market size line");
+        }
+        int rows = tokenizer.parseInt(-1);
+        tokenizer.skipSpaces();
+        int columns = tokenizer.parseInt(-1);
+        tokenizer.skipSpaces();
+        int entries = tokenizer.parseInt(-1);
+        // Проверка до skipLine, чтобы ошибка указывала на строку размеров.
+        if (rows < 0 || columns < 0 || entries < 0) {
+            throw tokenizer.error("Invalid Matrix Market size " + rows + " " + columns + " " + entries);
+        }
+        long arcs = mirrored ? 2L * entries : entries;
+        if (arcs > Integer.MAX_VALUE) {
+            throw tokenizer.error("Too many Matrix Market entries: " + entries);
+        }
+        tokenizer.skipLine();
+
+        int vertices = Math.max(rows, columns);
+        GraphBuilder<Integer> builder = new GraphBuilder<>(vertices, (int) arcs);
+        for (int vertex = 1; vertex <= vertices; ++vertex) {
+            builder.addVertex(vertex);
+        }
+
+        int read = 0;
+        while (tokenizer.skipBlank()) {
+            if (tokenizer.peek() == '%') {
+                tokenizer.skipLine();
+                continue;
+            }
+            int row = tokenizer.parseInt(-1);
+            tokenizer.skipSpaces();
+            int column = tokenizer.parseInt(-1);
+            tokenizer.skipSpaces();
+            double value = pattern ? 1.0 : tokenizer.parseDouble(-1);
+            tokenizer.skipLine();
+
+            if (row < 1 || row > rows || column < 1 || column > columns) {
+                throw tokenizer.error("Matrix Market entry (" + row + ", " + column + ") is out of bounds");
+            }
+            builder.addEdge(row, column, value);
+            if (mirrored && row != column) {
+                builder.addEdge(column, row, mirrorSign * value);
+            }
+            ++read;
+        }
+        if (read != entries) {
+            throw tokenizer.error("Expected " + entries + " Matrix Market entries, found " + read);
+        }
+        return builder;
+    }
+}
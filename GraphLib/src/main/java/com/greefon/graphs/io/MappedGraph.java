@@ -0,0 +1,377 @@
+package com.greefon.graphs.io;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.api.IntDoubleConsumer;
+import com.greefon.graphs.api.NeighborConsumer;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+
+// Граф только для чтения поверх отображённого в память файла
+// BinaryGraphFormat. Все запросы читают буферы абсолютными обращениями,
+// поэтому граф можно использовать из нескольких потоков.
+// vertexAt() декодирует вершину из словаря при каждом вызове.
+public class MappedGraph<T> implements IndexedGraph<T> {
+    private final VertexCodec<T> codec;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int tableMask;
+    private final IntBuffer vertexOffsets;
+    private final ByteBuffer vertexData;
+    private final IntBuffer vertexHashes;
+    private final IntBuffer hashTable;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inSources;
+    private final DoubleBuffer inWeights;
+    private final Set<T> vertexView = new VertexSet();
+
+    MappedGraph(VertexCodec<T> codec, int vertexCount, int edgeCount, int tableSize,
+                ByteBuffer[] sections) {
+        this.codec = codec;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.tableMask = tableSize - 1;
+        this.vertexOffsets = sections[BinaryGraphFormat.VERTEX_OFFSETS].asIntBuffer();
+        this.vertexData = sections[BinaryGraphFormat.VERTEX_DATA];
+        this.vertexHashes = sections[BinaryGraphFormat.VERTEX_HASHES].asIntBuffer();
+        this.hashTable = sections[BinaryGraphFormat.HASH_TABLE].asIntBuffer();
+        this.offsets = sections[BinaryGraphFormat.OFFSETS].asIntBuffer();
+        this.targets = sections[BinaryGraphFormat.TARGETS].asIntBuffer();
+        this.weights = sections[BinaryGraphFormat.WEIGHTS].asDoubleBuffer();
+        this.inOffsets = sections[BinaryGraphFormat.IN_OFFSETS].asIntBuffer();
+        this.inSources = sections[BinaryGraphFormat.IN_SOURCES].asIntBuffer();
+        this.inWeights = sections[BinaryGraphFormat.IN_WEIGHTS].asDoubleBuffer();
+    }
+
+    @Override
+    public int indexOf(T vertex) {
+        if (vertex == null || vertexCount == 0) {
+            return -1;
+        }
+        int hash = codec.hash(vertex);
+        // Сначала сравниваются сохранённые хеши, вершина декодируется
+        // только при совпадении. Число проб ограничено размером таблицы,
+        // чтобы испорченная таблица без пустых ячеек не зациклила поиск.
+        int slot = BinaryGraphFormat.slot(hash, tableMask);
+        for (int probe = 0; probe <= tableMask; ++probe, slot = (slot + 1) & tableMask) {
+            int entry = hashTable.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (vertexHashes.get(index) == hash && vertex.equals(vertexAt(index))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T vertexAt(int index) {
+        int from = vertexOffsets.get(index);
+        return codec.decode(vertexData, from, vertexOffsets.get(index + 1) - from);
+    }
+
+    @Override
+    public int getIndexBound() {
+        return vertexCount;
+    }
+
+    @Override
+    public boolean containsIndex(int index) {
+        return index >= 0 && index < vertexCount;
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    @Override
+    public int getNeighborAt(int index, int position) {
+        return targets.get(offsets.get(index) + position);
+    }
+
+    @Override
+    public void forEachNeighbor(int index, IntDoubleConsumer consumer) {
+        int end = offsets.get(index + 1);
+        for (int arc = offsets.get(index); arc < end; ++arc) {
+            consumer.accept(targets.get(arc), weights.get(arc));
+        }
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        return inOffsets.get(index + 1) - inOffsets.get(index);
+    }
+
+    @Override
+    public int getPredecessorAt(int index, int position) {
+        return inSources.get(inOffsets.get(index) + position);
+    }
+
+    @Override
+    public void forEachPredecessor(int index, IntDoubleConsumer consumer) {
+        int end = inOffsets.get(index + 1);
+        for (int arc = inOffsets.get(index); arc < end; ++arc) {
+            consumer.accept(inSources.get(arc), inWeights.get(arc));
+        }
+    }
+
+    // Цели внутри строки отсортированы.
+    private int findArc(int source, int target) {
+        int low = offsets.get(source);
+        int high = offsets.get(source + 1) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = targets.get(middle);
+            if (value < target) {
+                low = middle + 1;
+            } else if (value > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int findArc(T source, T destination) {
+        int from = indexOf(source);
+        int to = indexOf(destination);
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        return findArc(from, to);
+    }
+
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("Mapped graph is immutable.");
+    }
+
+    @Override
+    public void addEdge(T source, T destination, double weight, boolean createVertices) {
+        throw new UnsupportedOperationException("Mapped graph is immutable.");
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        throw new UnsupportedOperationException("Mapped graph is immutable.");
+    }
+
+    @Override
+    public void removeEdge(T source, T destination) {
+        throw new UnsupportedOperationException("Mapped graph is immutable.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Mapped graph is immutable.");
+    }
+
+    @Override
+    public boolean containsVertex(T vertex) {
+        return indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean containsEdge(T source, T destination) {
+        return findArc(source, destination) >= 0;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public Set<T> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<T> getNeighbors(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0
+                ? new Row(index, offsets, targets, weights).keySet()
+                : Collections.emptySet();
+    }
+
+    @Override
+    public Map<T, Double> getNeighborsWithWeights(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0
+                ? new Row(index, offsets, targets, weights)
+                : Collections.emptyMap();
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, NeighborConsumer<T> consumer) {
+        int index = indexOf(vertex);
+        if (index >= 0) {
+            forEachNeighbor(index, (target, weight) -> consumer.accept(vertexAt(target), weight));
+        }
+    }
+
+    @Override
+    public Set<T> getPredecessors(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0
+                ? new Row(index, inOffsets, inSources, inWeights).keySet()
+                : Collections.emptySet();
+    }
+
+    @Override
+    public int getInDegree(T vertex) {
+        int index = indexOf(vertex);
+        return index >= 0 ? getInDegree(index) : 0;
+    }
+
+    @Override
+    public void forEachPredecessor(T vertex, NeighborConsumer<T> consumer) {
+        int index = indexOf(vertex);
+        if (index >= 0) {
+            forEachPredecessor(index, (source, weight) -> consumer.accept(vertexAt(source), weight));
+        }
+    }
+
+    @Override
+    public Optional<Double> getWeight(T source, T destination) {
+        int arc = findArc(source, destination);
+        return arc >= 0 ? Optional.of(weights.get(arc)) : Optional.empty();
+    }
+
+    @Override
+    public Graph<T> freeze() {
+        return this;
+    }
+
+    private class VertexSet extends AbstractSet<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < vertexCount;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertexAt(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return vertexCount;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(Object o) {
+            return containsVertex((T) o);
+        }
+    }
+
+    // Строка прямой или обратной смежности как Map "вершина - вес".
+    private class Row extends AbstractMap<T, Double> {
+        private final int from;
+        private final int to;
+        private final IntBuffer rowTargets;
+        private final DoubleBuffer rowWeights;
+
+        Row(int index, IntBuffer rowOffsets, IntBuffer rowTargets, DoubleBuffer rowWeights) {
+            this.from = rowOffsets.get(index);
+            this.to = rowOffsets.get(index + 1);
+            this.rowTargets = rowTargets;
+            this.rowWeights = rowWeights;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int find(Object key) {
+            int target = indexOf((T) key);
+            if (target < 0) {
+                return -1;
+            }
+            for (int low = from, high = to - 1; low <= high; ) {
+                int middle = (low + high) >>> 1;
+                int value = rowTargets.get(middle);
+                if (value < target) {
+                    low = middle + 1;
+                } else if (value > target) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Set<Entry<T, Double>> entrySet() {
+            return new AbstractSet<Entry<T, Double>>() {
+                @Override
+                public Iterator<Entry<T, Double>> iterator() {
+                    return new Iterator<Entry<T, Double>>() {
+                        private int arc = from;
+
+                        @Override
+                        public boolean hasNext() {
+                            return arc < to;
+                        }
+
+                        @Override
+                        public Entry<T, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<T, Double> entry = new SimpleImmutableEntry<>(
+                                    vertexAt(rowTargets.get(arc)), rowWeights.get(arc));
+                            ++arc;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public Double get(Object key) {
+            int arc = find(key);
+            return arc >= 0 ? rowWeights.get(arc) : null;
+        }
+    }
+}
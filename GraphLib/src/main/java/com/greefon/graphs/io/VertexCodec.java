@@ -0,0 +1,63 @@
+package com.greefon.graphs.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+// Сериализация вершин для словаря двоичного формата. hash() записывается
+// в файл и используется при поиске вершины, поэтому он должен совпадать
+// между запусками JVM (у Integer, Long и String так и есть).
+public interface VertexCodec<T> {
+
+    byte[] encode(T vertex);
+
+    // Читает вершину из buffer[offset, offset + length) абсолютными
+    // обращениями, не сдвигая позицию буфера.
+    T decode(ByteBuffer buffer, int offset, int length);
+
+    default int hash(T vertex) {
+        return vertex.hashCode();
+    }
+
+    VertexCodec<Integer> INTEGER = new VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(Integer vertex) {
+            return ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(vertex).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    VertexCodec<Long> LONG = new VertexCodec<Long>() {
+        @Override
+        public byte[] encode(Long vertex) {
+            return ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(vertex).array();
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    VertexCodec<String> STRING = new VertexCodec<String>() {
+        @Override
+        public byte[] encode(String vertex) {
+            return vertex.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int offset, int length) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; ++i) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
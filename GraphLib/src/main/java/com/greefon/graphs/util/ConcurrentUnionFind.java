@@ -0,0 +1,68 @@
+package com.greefon.graphs.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Неблокирующая система непересекающихся множеств фиксированного размера.
+// Корень с большим индексом подвешивается под корень с меньшим через CAS,
+// поэтому циклы невозможны; пути сжимаются делением пополам тоже через CAS.
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parents;
+
+    public ConcurrentUnionFind(int size) {
+        this.parents = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; ++i) {
+            parents.lazySet(i, i);
+        }
+    }
+
+    public int size() {
+        return parents.length();
+    }
+
+    public int find(int element) {
+        while (true) {
+            int parent = parents.get(element);
+            if (parent == element) {
+                return element;
+            }
+            int grandparent = parents.get(parent);
+            if (parent != grandparent) {
+                parents.compareAndSet(element, parent, grandparent);
+            }
+            element = grandparent;
+        }
+    }
+
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            if (rootA < rootB) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            if (parents.compareAndSet(rootA, rootA, rootB)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            // Если rootA всё ещё корень, множества действительно разные;
+            // иначе его успели подвесить и надо повторить.
+            if (parents.get(rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+}
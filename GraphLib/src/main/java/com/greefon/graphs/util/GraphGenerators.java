@@ -0,0 +1,145 @@
+package com.greefon.graphs.util;
+
+import com.greefon.graphs.api.Edge;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Генераторы случайных графов в виде потоков рёбер над вершинами
+// 0..n-1. Результат определяется только seed: каждая строка G(n,p) и
+// каждая порция рёбер R-MAT получают собственный SplittableRandom,
+// посеянный от seed и номера, поэтому .parallel() даёт те же рёбра
+// в том же порядке. Потоки удобно передавать в GraphBuilder.addEdges.
+public class GraphGenerators {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int RMAT_CHUNK = 1 << 12;
+
+    // G(n, p): каждое из возможных рёбер присутствует с вероятностью p.
+    // Пропуски между рёбрами строки берутся из геометрического
+    // распределения (Batagelj, Brandes), так что время линейно по n + m,
+    // а не по n^2. Для неориентированного графа каждое ребро выдаётся
+    // один раз (source < destination). Петель нет.
+    public static Stream<Edge<Integer>> erdosRenyi(int n, double p, boolean directed, long seed) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative: " + n);
+        }
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Probability must be in [0, 1]: " + p);
+        }
+        if (p == 0) {
+            return Stream.empty();
+        }
+
+        double logSkip = Math.log1p(-p);
+        return IntStream.range(0, n).boxed().flatMap(source -> {
+            long candidates = directed ? n - 1 : n - 1 - source;
+            SplittableRandom random = randomFor(seed, source);
+            IntStream.Builder row = IntStream.builder();
+            for (long position = nextSkip(random, logSkip); position < candidates;
+                 position += 1 + nextSkip(random, logSkip)) {
+                int destination = directed
+                        ? (position < source ? (int) position : (int) position + 1)
+                        : source + 1 + (int) position;
+                row.add(destination);
+            }
+            return row.build().mapToObj(destination -> Edge.of(source, destination));
+        });
+    }
+
+    // Число неудач до первого успеха; при p = 1 всегда 0.
+    private static long nextSkip(SplittableRandom random, double logSkip) {
+        if (logSkip == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logSkip);
+        return skip < Long.MAX_VALUE / 2 ? (long) skip : Long.MAX_VALUE / 2;
+    }
+
+    // R-MAT с параметрами Graph500 (a = 0.57, b = c = 0.19).
+    public static Stream<Edge<Integer>> rmat(int scale, long edges, long seed) {
+        return rmat(scale, edges, 0.57, 0.19, 0.19, seed);
+    }
+
+    // R-MAT (Chakrabarti et al.): 2^scale вершин, каждое ребро выбирается
+    // рекурсивным спуском по квадрантам матрицы смежности с вероятностями
+    // a, b, c и 1 - a - b - c. Повторы и петли не отбрасываются, их
+    // схлопывает граф при добавлении.
+    public static Stream<Edge<Integer>> rmat(int scale, long edges,
+                                             double a, double b, double c, long seed) {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("Scale must be in [1, 30]: " + scale);
+        }
+        if (edges < 0) {
+            throw new IllegalArgumentException("Edge count must be non-negative: " + edges);
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException(
+                    "Quadrant probabilities must be non-negative and sum to at most 1.");
+        }
+
+        double ab = a + b;
+        double abc = a + b + c;
+        long chunks = (edges + RMAT_CHUNK - 1) / RMAT_CHUNK;
+        return LongStream.range(0, chunks).boxed().flatMap(chunk -> {
+            SplittableRandom random = randomFor(seed, chunk);
+            long count = Math.min(RMAT_CHUNK, edges - chunk * RMAT_CHUNK);
+            return Stream.generate(() -> {
+                int source = 0;
+                int destination = 0;
+                for (int bit = scale - 1; bit >= 0; --bit) {
+                    double r = random.nextDouble();
+                    if (r >= abc) {
+                        source |= 1 << bit;
+                        destination |= 1 << bit;
+                    } else if (r >= ab) {
+                        source |= 1 << bit;
+                    } else if (r >= a) {
+                        destination |= 1 << bit;
+                    }
+                }
+                return Edge.of(source, destination);
+            }).limit(count);
+        });
+    }
+
+    // Модель Барабаши-Альберт: каждая новая вершина соединяется с
+    // edgesPerVertex уже существующими, выбранными пропорционально
+    // степени. Линейный алгоритм Batagelj-Brandes через массив концов
+    // рёбер; первые рёбра могут быть петлями или повторами. Генерация
+    // последовательна, поток строится из готового массива.
+    public static Stream<Edge<Integer>> barabasiAlbert(int n, int edgesPerVertex, long seed) {
+        if (n < 0 || edgesPerVertex < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid preferential attachment parameters: " + n + ", " + edgesPerVertex);
+        }
+        long total = 2L * n * edgesPerVertex;
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "Too many edges for preferential attachment: " + total / 2);
+        }
+
+        int[] ends = new int[(int) total];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int vertex = 0; vertex < n; ++vertex) {
+            for (int i = 0; i < edgesPerVertex; ++i) {
+                int slot = 2 * (vertex * edgesPerVertex + i);
+                ends[slot] = vertex;
+                ends[slot + 1] = ends[random.nextInt(slot + 1)];
+            }
+        }
+        return IntStream.range(0, (int) (total / 2))
+                .mapToObj(i -> Edge.of(ends[2 * i], ends[2 * i + 1]));
+    }
+
+    private static SplittableRandom randomFor(long seed, long stream) {
+        return new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (stream + 1)));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -9,13 +9,19 @@ import java.util.Random;
 public class GraphRandomizer {
     private static final Random random = new Random();
     public static <T> void randomize(Graph<T> graph, List<T> vertices, int max) {
+        randomize(graph, vertices, max, random);
+    }
+
+    // Воспроизводимый вариант: все случайные выборы берутся из random.
+    public static <T> void randomize(Graph<T> graph, List<T> vertices, int max, Random random) {
         int vertexCount = vertices.size();
 
         for (T vertex : vertices) {
             graph.addVertex(vertex);
         }
 
-        int maxPossible = vertexCount * (vertexCount - 1);
+        // В long: для больших графов произведение не помещается в int.
+        long maxPossible = (long) vertexCount * (vertexCount - 1);
         if (max > maxPossible) {
             throw new IllegalArgumentException(
                     "Requested edges exceed maximum possible for " +
@@ -23,8 +29,8 @@ public class GraphRandomizer {
         }
 
         // На случай, если граф слишком большой
-        int attempt = 0;
-        int maxAttempts = max * 100;
+        long attempt = 0;
+        long maxAttempts = max * 100L;
 
         while (graph.getEdgeCount() < max && attempt < maxAttempts) {
             T source = vertices.get(random.nextInt(vertices.size()));
@@ -0,0 +1,189 @@
+package com.greefon.graphs.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// d-арная куча над плотными индексами [0, capacity) с приоритетами double.
+// Каждый индекс присутствует в куче не более одного раза, поэтому её
+// размер ограничен числом вершин, а decreaseKey выполняется на месте.
+public class IndexedMinHeap {
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private int[] heap;
+    private int[] positions;
+    private double[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2.");
+        }
+        this.arity = arity;
+        this.heap = new int[Math.max(1, capacity)];
+        this.positions = new int[Math.max(1, capacity)];
+        this.keys = new double[Math.max(1, capacity)];
+        Arrays.fill(positions, -1);
+    }
+
+    public void ensureCapacity(int capacity) {
+        int old = positions.length;
+        if (capacity <= old) {
+            return;
+        }
+
+        int grown = Math.max(capacity, old * 2);
+        heap = Arrays.copyOf(heap, grown);
+        keys = Arrays.copyOf(keys, grown);
+        positions = Arrays.copyOf(positions, grown);
+        Arrays.fill(positions, old, grown, -1);
+    }
+
+    public int getCapacity() {
+        return positions.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int index) {
+        return index >= 0 && index < positions.length && positions[index] >= 0;
+    }
+
+    public double getKey(int index) {
+        if (!contains(index)) {
+            throw new NoSuchElementException("Index " + index + " is absent in this heap.");
+        }
+        return keys[index];
+    }
+
+    public void add(int index, double key) {
+        if (contains(index)) {
+            throw new IllegalArgumentException("Index " + index + " is already in this heap.");
+        }
+        ensureCapacity(index + 1);
+
+        keys[index] = key;
+        heap[size] = index;
+        positions[index] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int index, double key) {
+        if (!contains(index)) {
+            throw new NoSuchElementException("Index " + index + " is absent in this heap.");
+        }
+        if (key > keys[index]) {
+            throw new IllegalArgumentException("New key is greater than the current one.");
+        }
+
+        keys[index] = key;
+        siftUp(positions[index]);
+    }
+
+    // Добавляет индекс либо уменьшает его приоритет, если новый меньше.
+    public boolean addOrDecrease(int index, double key) {
+        if (!contains(index)) {
+            add(index, key);
+            return true;
+        }
+        if (key < keys[index]) {
+            decreaseKey(index, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    public int poll() {
+        int top = peek();
+
+        positions[top] = -1;
+        --size;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int index = heap[position];
+        double key = keys[index];
+
+        while (position > 0) {
+            int parentPosition = (position - 1) / arity;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        double key = keys[index];
+
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            double bestKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; ++child) {
+                double childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+
+            if (bestKey >= key) {
+                break;
+            }
+            heap[position] = heap[best];
+            positions[heap[best]] = position;
+            position = best;
+        }
+
+        heap[position] = index;
+        positions[index] = position;
+    }
+}
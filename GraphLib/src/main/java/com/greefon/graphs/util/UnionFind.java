@@ -0,0 +1,77 @@
+package com.greefon.graphs.util;
+
+import java.util.Arrays;
+
+// Система непересекающихся множеств над индексами [0, size()) с
+// объединением по рангу и сжатием путей (делением пополам).
+public class UnionFind {
+    private int[] parents;
+    private byte[] ranks;
+    private int size;
+    private int setCount;
+
+    public UnionFind() {
+        this(16);
+    }
+
+    public UnionFind(int capacity) {
+        this.parents = new int[Math.max(1, capacity)];
+        this.ranks = new byte[Math.max(1, capacity)];
+    }
+
+    // Добавляет одноэлементное множество и возвращает его индекс.
+    public int add() {
+        if (size == parents.length) {
+            parents = Arrays.copyOf(parents, size * 2);
+            ranks = Arrays.copyOf(ranks, size * 2);
+        }
+        parents[size] = size;
+        ranks[size] = 0;
+        ++setCount;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int find(int element) {
+        while (parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+
+        if (ranks[rootA] < ranks[rootB]) {
+            parents[rootA] = rootB;
+        } else if (ranks[rootA] > ranks[rootB]) {
+            parents[rootB] = rootA;
+        } else {
+            parents[rootB] = rootA;
+            ++ranks[rootA];
+        }
+        --setCount;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public void clear() {
+        size = 0;
+        setCount = 0;
+    }
+}
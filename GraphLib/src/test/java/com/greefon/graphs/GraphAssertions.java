@@ -0,0 +1,26 @@
+package com.greefon.graphs;
+
+import com.greefon.graphs.api.Graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Shared assertions for tests that compare two representations of one graph
+public final class GraphAssertions {
+    private GraphAssertions() {
+    }
+
+    public static <T> void assertSameGraph(Graph<T> expected, Graph<T> actual) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        assertEquals(expected.getVertices(), actual.getVertices());
+        for (T vertex : expected.getVertices()) {
+            assertTrue(actual.containsVertex(vertex), "Missing vertex " + vertex);
+            assertEquals(expected.getNeighborsWithWeights(vertex), actual.getNeighborsWithWeights(vertex),
+                    "Neighbors of " + vertex);
+            assertEquals(expected.getPredecessors(vertex), actual.getPredecessors(vertex),
+                    "Predecessors of " + vertex);
+            assertEquals(expected.getInDegree(vertex), actual.getInDegree(vertex),
+                    "In-degree of " + vertex);
+        }
+    }
+}
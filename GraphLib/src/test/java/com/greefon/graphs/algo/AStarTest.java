@@ -0,0 +1,103 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.impl.CsrGraph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AStarTest {
+    private UndirectedGraph<Integer> grid;
+    private static final int SIZE = 10;
+
+    @BeforeEach
+    void setUp() {
+        // 10x10 grid, vertex id = row * SIZE + column, unit weights
+        grid = new UndirectedGraph<>();
+        for (int row = 0; row < SIZE; ++row) {
+            for (int column = 0; column < SIZE; ++column) {
+                int id = row * SIZE + column;
+                if (column + 1 < SIZE) {
+                    grid.addEdge(id, id + 1, 1.0, true);
+                }
+                if (row + 1 < SIZE) {
+                    grid.addEdge(id, id + SIZE, 1.0, true);
+                }
+            }
+        }
+    }
+
+    private static double manhattan(int a, int b) {
+        return Math.abs(a / SIZE - b / SIZE) + Math.abs(a % SIZE - b % SIZE);
+    }
+
+    @Test
+    void testGeometricHeuristic() {
+        Dijkstra.ShortestPaths<Integer> result = AStar.execute(grid, 0, 99, AStarTest::manhattan);
+
+        assertEquals(18.0, result.getDistanceTo(99));
+        List<Integer> path = result.getPathTo(99);
+        assertEquals(19, path.size());
+        assertEquals(0, path.get(0));
+        assertEquals(99, path.get(path.size() - 1));
+    }
+
+    @Test
+    void testZeroHeuristicMatchesDijkstra() {
+        Dijkstra.ShortestPaths<Integer> result = AStar.execute(grid, 5, 57, (a, b) -> 0.0);
+
+        assertEquals(Dijkstra.execute(grid, 5).getDistanceTo(57), result.getDistanceTo(57));
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addVertex("C");
+
+        Dijkstra.ShortestPaths<String> result = AStar.execute(graph, "A", "C", (a, b) -> 0.0);
+
+        assertEquals(Double.POSITIVE_INFINITY, result.getDistanceTo("C"));
+        assertNull(result.getPathTo("C"));
+        assertThrows(IllegalArgumentException.class,
+                () -> AStar.execute(graph, "A", "Missing", (a, b) -> 0.0));
+    }
+
+    @Test
+    void testLandmarkHeuristicIsAdmissible() {
+        AStar.LandmarkHeuristic<Integer> landmarks = AStar.landmarks(grid, 3);
+        assertEquals(3, landmarks.getLandmarks().size());
+
+        for (int target : new int[]{0, 45, 99}) {
+            Dijkstra.ShortestPaths<Integer> exact = Dijkstra.execute(grid, target);
+            for (int vertex = 0; vertex < SIZE * SIZE; ++vertex) {
+                assertTrue(landmarks.applyAsDouble(vertex, target) <= exact.getDistanceTo(vertex) + 1e-9,
+                        "Landmark bound must not overestimate");
+            }
+        }
+    }
+
+    @Test
+    void testLandmarksOnDirectedSnapshot() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 80; ++i) {
+            graph.addEdge(i, (i + 1) % 80, 1 + random.nextInt(5), true);
+            graph.addEdge(i, random.nextInt(80), 1 + random.nextInt(20), true);
+        }
+
+        CsrGraph<Integer> frozen = graph.freeze();
+        ToDoubleBiFunction<Integer, Integer> heuristic = AStar.landmarks(frozen, 4);
+
+        for (int target = 0; target < 80; target += 7) {
+            assertEquals(Dijkstra.shortestPath(graph, 3, target).getDistanceTo(target),
+                    AStar.execute(frozen, 3, target, heuristic).getDistanceTo(target));
+        }
+    }
+}
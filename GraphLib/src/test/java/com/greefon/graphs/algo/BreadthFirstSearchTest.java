@@ -1,15 +1,15 @@
 package com.greefon.graphs.algo;
 
+import com.greefon.graphs.api.NeighborConsumer;
 import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntDirectedGraph;
 import com.greefon.graphs.impl.UndirectedGraph;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,4 +95,115 @@ class BreadthFirstSearchTest {
         assertEquals(3, result.size(), "Should handle cycles without infinite loop");
         assertTrue(result.containsAll(List.of("A", "B", "C")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExecuteIntGraph() {
+        // 0 -> 1, 0 -> 2, 1 -> 3, 5 isolated
+        IntDirectedGraph intGraph = new IntDirectedGraph();
+        intGraph.addEdge(0, 1);
+        intGraph.addEdge(0, 2);
+        intGraph.addEdge(1, 3);
+        intGraph.addVertex(5);
+
+        List<Integer> result = BreadthFirstSearch.execute(intGraph);
+
+        assertEquals(List.of(0, 1, 2, 3, 5), result);
+    }
+
+    @Test
+    void testIteratorMatchesBfsComponent() {
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("A", "C", 1.0, true);
+        directedGraph.addEdge("B", "D", 1.0, true);
+        directedGraph.addEdge("C", "D", 1.0, true);
+        directedGraph.addEdge("D", "E", 1.0, true);
+
+        List<String> expected = new ArrayList<>();
+        BreadthFirstSearch.bfsComponent(directedGraph, "A", expected, new HashSet<>());
+
+        List<String> actual = new ArrayList<>();
+        BreadthFirstSearch.iterator(directedGraph, "A").forEachRemaining(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(expected, BreadthFirstSearch.stream(directedGraph, "A").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testDepthLimit() {
+        for (int i = 0; i < 5; ++i) {
+            directedGraph.addEdge("v" + i, "v" + (i + 1), 1.0, true);
+        }
+
+        assertEquals(List.of("v0"), BreadthFirstSearch.stream(directedGraph, "v0", 0)
+                .collect(Collectors.toList()));
+        assertEquals(List.of("v0", "v1", "v2"), BreadthFirstSearch.stream(directedGraph, "v0", 2)
+                .collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class,
+                () -> BreadthFirstSearch.iterator(directedGraph, "v0", -1));
+    }
+
+    @Test
+    void testStreamStopsExpandingAfterMatch() {
+        // Star with many leaves behind the first hop: finding "hub" must not
+        // expand the hub itself
+        directedGraph.addEdge("root", "hub", 1.0, true);
+        for (int i = 0; i < 100; ++i) {
+            directedGraph.addEdge("hub", "leaf" + i, 1.0, true);
+        }
+        Set<String> expanded = new HashSet<>();
+        DirectedGraph<String> spy = new DirectedGraph<>() {
+            @Override
+            public void forEachNeighbor(String vertex, NeighborConsumer<String> consumer) {
+                expanded.add(vertex);
+                directedGraph.forEachNeighbor(vertex, consumer);
+            }
+
+            @Override
+            public boolean containsVertex(String vertex) {
+                return directedGraph.containsVertex(vertex);
+            }
+        };
+
+        Optional<String> found = BreadthFirstSearch.stream(spy, "root")
+                .filter(v -> v.equals("hub"))
+                .findFirst();
+        assertEquals(Optional.of("hub"), found);
+        assertEquals(Set.of("root"), expanded);
+    }
+
+    @Test
+    void testVisitorPruneAndStop() {
+        // A -> B -> D, A -> C -> E
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("A", "C", 1.0, true);
+        directedGraph.addEdge("B", "D", 1.0, true);
+        directedGraph.addEdge("C", "E", 1.0, true);
+
+        List<String> seen = new ArrayList<>();
+        Optional<String> stopped = BreadthFirstSearch.traverse(directedGraph, "A", Integer.MAX_VALUE,
+                (vertex, depth) -> {
+                    seen.add(vertex + depth);
+                    return vertex.equals("B")
+                            ? TraversalVisitor.Decision.PRUNE
+                            : TraversalVisitor.Decision.CONTINUE;
+                });
+        assertFalse(stopped.isPresent());
+        assertEquals(List.of("A0", "B1", "C1", "E2"), seen);
+
+        seen.clear();
+        stopped = BreadthFirstSearch.traverse(directedGraph, "A", Integer.MAX_VALUE,
+                (vertex, depth) -> {
+                    seen.add(vertex);
+                    return vertex.equals("C")
+                            ? TraversalVisitor.Decision.STOP
+                            : TraversalVisitor.Decision.CONTINUE;
+                });
+        assertEquals(Optional.of("C"), stopped);
+        assertEquals(List.of("A", "B", "C"), seen);
+    }
+
+    @Test
+    void testIteratorAbsentSource() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BreadthFirstSearch.iterator(directedGraph, "X"));
+    }
+}
@@ -1,11 +1,21 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.GraphBuilder;
+import com.greefon.graphs.impl.IntDirectedGraph;
+import com.greefon.graphs.impl.IntUndirectedGraph;
 import com.greefon.graphs.impl.UndirectedGraph;
+import com.greefon.graphs.util.GraphGenerators;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -103,4 +113,155 @@ class ConnectivityInspectorTest {
         assertEquals(3, components.get(0).size());
         assertTrue(components.get(0).containsAll(List.of("A", "B", "C")));
     }
+
+    @Test
+    void testParallelMatchesSequentialOnUndirected() {
+        Random random = new Random(9);
+        IntUndirectedGraph graph = new IntUndirectedGraph();
+        for (int i = 0; i < 20000; ++i) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 12000; ++i) {
+            graph.addEdge(random.nextInt(20000), random.nextInt(20000));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Set<Set<Integer>> expected = new HashSet<>();
+            for (List<Integer> component : ConnectivityInspector.findComponents(graph)) {
+                expected.add(new HashSet<>(component));
+            }
+            Set<Set<Integer>> actual = new HashSet<>();
+            for (List<Integer> component : ConnectivityInspector.findComponentsParallel(graph, pool)) {
+                actual.add(new HashSet<>(component));
+            }
+            assertEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelDirectedGivesWeakComponents() {
+        // A -> B <- C, D -> E
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("C", "B", 1.0, true);
+        directedGraph.addEdge("D", "E", 1.0, true);
+
+        List<List<String>> components = ConnectivityInspector.findComponentsParallel(directedGraph);
+
+        assertEquals(2, components.size());
+        for (List<String> component : components) {
+            if (component.size() == 3) {
+                assertTrue(component.containsAll(List.of("A", "B", "C")));
+            } else {
+                assertTrue(component.containsAll(List.of("D", "E")));
+            }
+        }
+    }
+
+    private static <T> Set<Set<T>> asSets(List<List<T>> components) {
+        Set<Set<T>> result = new HashSet<>();
+        for (List<T> component : components) {
+            assertTrue(result.add(new HashSet<>(component)), "Components must be disjoint");
+        }
+        return result;
+    }
+
+    @Test
+    void testStronglyConnectedComponents() {
+        // {A, B, C} cycle -> {D, E} cycle -> F
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("B", "C", 1.0, true);
+        directedGraph.addEdge("C", "A", 1.0, true);
+        directedGraph.addEdge("C", "D", 1.0, true);
+        directedGraph.addEdge("D", "E", 1.0, true);
+        directedGraph.addEdge("E", "D", 1.0, true);
+        directedGraph.addEdge("E", "F", 1.0, true);
+
+        List<List<String>> components = ConnectivityInspector.findStronglyConnectedComponents(directedGraph);
+        assertEquals(Set.of(Set.of("A", "B", "C"), Set.of("D", "E"), Set.of("F")), asSets(components));
+
+        // Reverse topological order: sinks come first
+        assertEquals(List.of("F"), components.get(0));
+        assertEquals(Set.of("A", "B", "C"), new HashSet<>(components.get(2)));
+
+        assertEquals(1, ConnectivityInspector.findWeaklyConnectedComponents(directedGraph).size());
+    }
+
+    @Test
+    void testStronglyConnectedMatchesMutualReachability() {
+        Random random = new Random(3);
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        for (int i = 0; i < 150; ++i) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 220; ++i) {
+            graph.addEdge(random.nextInt(150), random.nextInt(150), 1.0, true);
+        }
+
+        List<Set<Integer>> reachable = new ArrayList<>();
+        for (int i = 0; i < 150; ++i) {
+            reachable.add(BreadthFirstSearch.stream(graph, i).collect(Collectors.toSet()));
+        }
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (int i = 0; i < 150; ++i) {
+            Set<Integer> component = new HashSet<>();
+            for (int j = 0; j < 150; ++j) {
+                if (reachable.get(i).contains(j) && reachable.get(j).contains(i)) {
+                    component.add(j);
+                }
+            }
+            expected.add(component);
+        }
+
+        assertEquals(expected, asSets(ConnectivityInspector.findStronglyConnectedComponents(graph)));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, asSets(ConnectivityInspector.findStronglyConnectedComponentsParallel(graph, pool)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelStronglyConnectedOnLargeGraph() {
+        // Average out-degree 2 gives a giant component well above the sequential cutoff
+        int n = 60000;
+        DirectedGraph<Integer> graph = new GraphBuilder<Integer>()
+                .addEdges(GraphGenerators.erdosRenyi(n, 2.0 / n, true, 21))
+                .buildDirected();
+        for (int i = 0; i < n; ++i) {
+            graph.addVertex(i);
+        }
+
+        List<List<Integer>> sequential = ConnectivityInspector.findStronglyConnectedComponents(graph);
+        assertTrue(sequential.stream().mapToInt(List::size).max().orElse(0) > 10000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(asSets(sequential),
+                    asSets(ConnectivityInspector.findStronglyConnectedComponentsParallel(graph, pool)));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(asSets(ConnectivityInspector.findComponentsParallel(graph)),
+                asSets(ConnectivityInspector.findWeaklyConnectedComponents(graph)));
+    }
+
+    @Test
+    void testDeepGraphDoesNotOverflowStack() {
+        int n = 300000;
+        IntDirectedGraph chain = new IntDirectedGraph(n);
+        for (int i = 0; i + 1 < n; ++i) {
+            chain.addEdge(i, i + 1, 1.0, true);
+        }
+        assertEquals(n, ConnectivityInspector.findStronglyConnectedComponents(chain).size());
+
+        chain.addEdge(n - 1, 0, 1.0, false);
+        List<List<Integer>> components = ConnectivityInspector.findStronglyConnectedComponents(chain);
+        assertEquals(1, components.size());
+        assertEquals(n, components.get(0).size());
+    }
 }
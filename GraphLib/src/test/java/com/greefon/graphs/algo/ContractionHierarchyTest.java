@@ -0,0 +1,208 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import com.greefon.graphs.io.VertexCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractionHierarchyTest {
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    // Grid-like graph with random weights and a few long-range edges,
+    // roughly what a road network looks like.
+    private static <G extends Graph<Integer>> G roadGraph(G graph, int side, long seed) {
+        Random random = new Random(seed);
+        for (int row = 0; row < side; ++row) {
+            for (int column = 0; column < side; ++column) {
+                int vertex = row * side + column;
+                graph.addVertex(vertex);
+                if (column + 1 < side) {
+                    graph.addEdge(vertex, vertex + 1, 1 + random.nextInt(20), true);
+                }
+                if (row + 1 < side && random.nextInt(10) != 0) {
+                    graph.addEdge(vertex, vertex + side, 1 + random.nextInt(20), true);
+                }
+            }
+        }
+        for (int i = 0; i < side; ++i) {
+            graph.addEdge(random.nextInt(side * side), random.nextInt(side * side),
+                    5 + random.nextInt(100), true);
+        }
+        return graph;
+    }
+
+    private static void assertValidPath(Graph<Integer> graph, List<Integer> path, double distance) {
+        double length = 0;
+        for (int i = 0; i + 1 < path.size(); ++i) {
+            length += graph.getWeight(path.get(i), path.get(i + 1)).orElseThrow();
+        }
+        assertEquals(distance, length, 1e-9);
+    }
+
+    private static void assertMatchesDijkstra(Graph<Integer> graph, ContractionHierarchy<Integer> hierarchy,
+                                              int queries, long seed) {
+        Random random = new Random(seed);
+        int n = graph.getVertexCount();
+        for (int i = 0; i < queries; ++i) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            double expected = Dijkstra.shortestPath(graph, source, target).getDistanceTo(target);
+
+            assertEquals(expected, hierarchy.getDistance(source, target), 1e-9);
+            List<Integer> path = hierarchy.getPath(source, target);
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(source, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+            assertValidPath(graph, path, expected);
+        }
+    }
+
+    @Test
+    void testSmallGraph() {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("C", "D", 1.0, true);
+        graph.addEdge("A", "D", 5.0, true);
+        graph.addEdge("D", "D", 1.0, true);
+        graph.addVertex("E");
+
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.build(graph);
+        assertEquals(5, hierarchy.getVertexCount());
+        assertEquals(3.0, hierarchy.getDistance("A", "D"));
+        assertEquals(List.of("A", "B", "C", "D"), hierarchy.getPath("A", "D"));
+        assertEquals(List.of("C"), hierarchy.getPath("C", "C"));
+        assertEquals(Double.POSITIVE_INFINITY, hierarchy.getDistance("D", "A"));
+        assertNull(hierarchy.getPath("A", "E"));
+    }
+
+    @Test
+    void testDirectedMatchesDijkstra() {
+        DirectedGraph<Integer> graph = roadGraph(new DirectedGraph<>(), 40, 1);
+        assertMatchesDijkstra(graph, ContractionHierarchy.build(graph, pool), 300, 11);
+    }
+
+    @Test
+    void testUndirectedMatchesDijkstra() {
+        UndirectedGraph<Integer> graph = roadGraph(new UndirectedGraph<>(), 40, 2);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph, pool);
+        assertMatchesDijkstra(graph, hierarchy, 300, 12);
+        assertTrue(hierarchy.getShortcutCount() > 0);
+
+        // Sequential preprocessing yields an equally correct hierarchy
+        assertMatchesDijkstra(graph, ContractionHierarchy.build(graph, new ForkJoinPool(1)), 100, 13);
+    }
+
+    @Test
+    void testConcurrentQueries() throws Exception {
+        UndirectedGraph<Integer> graph = roadGraph(new UndirectedGraph<>(), 20, 3);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph, pool);
+
+        pool.submit(() -> java.util.stream.IntStream.range(0, 200).parallel().forEach(i -> {
+            int source = i % graph.getVertexCount();
+            int target = (i * 37) % graph.getVertexCount();
+            assertEquals(Dijkstra.shortestPath(graph, source, target).getDistanceTo(target),
+                    hierarchy.getDistance(source, target), 1e-9);
+        })).get();
+    }
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        DirectedGraph<Integer> graph = roadGraph(new DirectedGraph<>(), 25, 4);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph, pool);
+        Path file = directory.resolve("graph.ch");
+        hierarchy.write(file, VertexCodec.INTEGER);
+
+        ContractionHierarchy<Integer> loaded = ContractionHierarchy.read(file, VertexCodec.INTEGER);
+        assertEquals(hierarchy.getVertexCount(), loaded.getVertexCount());
+        assertEquals(hierarchy.getShortcutCount(), loaded.getShortcutCount());
+        assertMatchesDijkstra(graph, loaded, 100, 14);
+    }
+
+    @Test
+    void testReadRejectsForeignFile() throws IOException {
+        Path file = directory.resolve("garbage.ch");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(file, VertexCodec.INTEGER));
+
+        Path empty = directory.resolve("empty.ch");
+        Files.write(empty, new byte[0]);
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(empty, VertexCodec.INTEGER));
+    }
+
+    @Test
+    void testReadRejectsCorruptFile() throws IOException {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        graph.addEdge(1, 2, 1.0, true);
+        Path file = directory.resolve("graph.ch");
+        ContractionHierarchy.build(graph).write(file, VertexCodec.INTEGER);
+        byte[] valid = Files.readAllBytes(file);
+
+        // Header: magic, version, vertex count; then three vertex lengths
+        assertCorrupt(valid, 8, -1);
+        assertCorrupt(valid, 8, 1_000_000_000);
+        assertCorrupt(valid, 12, -4);
+        // First up offset follows the lengths and three 4-byte vertices
+        int offsets = 12 + 3 * Integer.BYTES + 3 * Integer.BYTES;
+        assertCorrupt(valid, offsets, 5);
+        assertCorrupt(valid, offsets + Integer.BYTES, -1);
+        assertCorrupt(valid, offsets + 3 * Integer.BYTES, Integer.MAX_VALUE);
+
+        Path truncated = directory.resolve("truncated.ch");
+        Files.write(truncated, Arrays.copyOf(valid, valid.length - 1));
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(truncated, VertexCodec.INTEGER));
+    }
+
+    private void assertCorrupt(byte[] valid, int position, int value) throws IOException {
+        byte[] bytes = valid.clone();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+        Path file = directory.resolve("corrupt.ch");
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(file, VertexCodec.INTEGER));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph);
+        assertThrows(IllegalArgumentException.class, () -> hierarchy.getDistance(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> hierarchy.getPath(0, 5));
+
+        graph.addEdge(1, 2, -1.0, true);
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(graph));
+    }
+}
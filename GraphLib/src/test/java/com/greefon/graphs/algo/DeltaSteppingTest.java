@@ -0,0 +1,112 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import com.greefon.graphs.util.GraphRandomizer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSteppingTest {
+    private static final int LARGE = 20000;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    private static <G extends Graph<Integer>> G randomGraph(G graph, int edges, long seed) {
+        List<Integer> vertices = IntStream.range(0, LARGE).boxed().collect(Collectors.toList());
+        GraphRandomizer.randomize(graph, vertices, edges);
+
+        // GraphRandomizer uses unit weights; reassign them deterministically
+        Random random = new Random(seed);
+        for (Integer vertex : vertices) {
+            for (Integer neighbor : List.copyOf(graph.getNeighbors(vertex))) {
+                graph.addEdge(vertex, neighbor, random.nextInt(100) / 4.0, false);
+            }
+        }
+        return graph;
+    }
+
+    private static void assertMatchesDijkstra(Graph<Integer> graph, Dijkstra.ShortestPaths<Integer> actual) {
+        Map<Integer, Double> expected = Dijkstra.execute(graph, actual.getSource()).getDistances();
+        assertEquals(expected.keySet(), actual.getDistances().keySet());
+        for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.getDistanceTo(entry.getKey()), 1e-9);
+        }
+
+        // Predecessor tree must be consistent with the distances
+        for (Map.Entry<Integer, Integer> entry : actual.getPredecessors().entrySet()) {
+            double weight = graph.getWeight(entry.getValue(), entry.getKey()).orElseThrow();
+            assertEquals(actual.getDistanceTo(entry.getKey()),
+                    actual.getDistanceTo(entry.getValue()) + weight, 1e-9);
+        }
+        assertEquals(actual.getSource(), actual.getPathTo(actual.getSource()).get(0));
+    }
+
+    @Test
+    void testDirectedMatchesDijkstra() {
+        DirectedGraph<Integer> graph = randomGraph(new DirectedGraph<>(), LARGE * 4, 1);
+        assertMatchesDijkstra(graph, DeltaStepping.execute(graph, 0, pool));
+
+        for (double delta : new double[]{0.5, 5.0, 1000.0}) {
+            assertMatchesDijkstra(graph, DeltaStepping.execute(graph, 17, delta, pool));
+        }
+    }
+
+    @Test
+    void testUndirectedMatchesDijkstra() {
+        UndirectedGraph<Integer> graph = randomGraph(new UndirectedGraph<>(), LARGE * 3, 2);
+        assertMatchesDijkstra(graph, DeltaStepping.execute(graph, 3, pool));
+        assertMatchesDijkstra(graph, DeltaStepping.execute(graph.freeze(), 3, 2.0, pool));
+    }
+
+    @Test
+    void testSmallGraphFallsBackToDijkstra() {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 4.0, true);
+        graph.addEdge("A", "C", 1.0, true);
+        graph.addEdge("C", "B", 1.0, true);
+
+        Dijkstra.ShortestPaths<String> paths = DeltaStepping.execute(graph, "A", 1.0, pool);
+        assertEquals(2.0, paths.getDistanceTo("B"));
+        assertEquals(List.of("A", "C", "B"), paths.getPathTo("B"));
+    }
+
+    @Test
+    void testDefaultDelta() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 8.0, true);
+        graph.addEdge(0, 2, 2.0, true);
+        // Max weight 8, average out-degree 2/3 rounds up to 1
+        assertEquals(8.0, DeltaStepping.defaultDelta(graph.freeze()));
+
+        DirectedGraph<Integer> unweighted = new DirectedGraph<>();
+        unweighted.addEdge(0, 1, 0.0, true);
+        assertEquals(1.0, DeltaStepping.defaultDelta(unweighted.freeze()));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        assertThrows(IllegalArgumentException.class, () -> DeltaStepping.execute(graph, 5));
+        assertThrows(IllegalArgumentException.class, () -> DeltaStepping.execute(graph, 0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> DeltaStepping.execute(graph, 0, Double.NaN));
+    }
+}
@@ -5,10 +5,8 @@ import com.greefon.graphs.impl.UndirectedGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -114,4 +112,69 @@ class DepthFirstSearchTest {
         assertTrue(result.contains("B"));
         assertTrue(result.contains("C"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIteratorMatchesDfsComponent() {
+        undirectedGraph.addEdge("A", "B", 1.0, true);
+        undirectedGraph.addEdge("B", "C", 1.0, true);
+        undirectedGraph.addEdge("C", "D", 1.0, true);
+        undirectedGraph.addEdge("D", "A", 1.0, true);
+        undirectedGraph.addEdge("B", "E", 1.0, true);
+
+        List<String> expected = new ArrayList<>();
+        DepthFirstSearch.dfsComponent(undirectedGraph, "A", expected, new HashSet<>());
+
+        List<String> actual = new ArrayList<>();
+        DepthFirstSearch.iterator(undirectedGraph, "A").forEachRemaining(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(expected, DepthFirstSearch.stream(undirectedGraph, "A").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testDepthLimitOnLongChain() {
+        // Lazy iteration must not recurse or materialize the whole chain
+        for (int i = 0; i < 100_000; ++i) {
+            directedGraph.addEdge(String.valueOf(i), String.valueOf(i + 1), 1.0, true);
+        }
+
+        assertEquals(100_001, DepthFirstSearch.stream(directedGraph, "0").count());
+        assertEquals(List.of("0", "1", "2", "3"), DepthFirstSearch.stream(directedGraph, "0", 3)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testVisitorPruneAndStop() {
+        // A -> B -> C, A -> D
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("B", "C", 1.0, true);
+        directedGraph.addEdge("A", "D", 1.0, true);
+
+        List<String> seen = new ArrayList<>();
+        Optional<String> stopped = DepthFirstSearch.traverse(directedGraph, "A", Integer.MAX_VALUE,
+                (vertex, depth) -> {
+                    seen.add(vertex);
+                    return vertex.equals("B")
+                            ? TraversalVisitor.Decision.PRUNE
+                            : TraversalVisitor.Decision.CONTINUE;
+                });
+        assertFalse(stopped.isPresent());
+        assertEquals(Set.of("A", "B", "D"), new HashSet<>(seen));
+
+        stopped = DepthFirstSearch.traverse(directedGraph, "A", Integer.MAX_VALUE,
+                (vertex, depth) -> depth == 2
+                        ? TraversalVisitor.Decision.STOP
+                        : TraversalVisitor.Decision.CONTINUE);
+        assertEquals(Optional.of("C"), stopped);
+    }
+
+    @Test
+    void testIteratorExhausted() {
+        directedGraph.addVertex("A");
+        Iterator<String> iterator = DepthFirstSearch.iterator(directedGraph, "A");
+        assertEquals("A", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalArgumentException.class,
+                () -> DepthFirstSearch.iterator(directedGraph, "X"));
+    }
+}
@@ -1,11 +1,13 @@
 package com.greefon.graphs.algo;
 
 import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntUndirectedGraph;
 import com.greefon.graphs.impl.UndirectedGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -111,4 +113,113 @@ class DijkstraTest {
         assertEquals(0.5, result.getDistanceTo("End"), 0.00001);
         assertEquals(List.of("Start", "Middle1", "End"), result.getPathTo("End"));
     }
+
+    @Test
+    void testIntGraph() {
+        // 0 --(10)-- 1, 0 --(1)-- 2 --(1)-- 1, 3 isolated
+        IntUndirectedGraph intGraph = new IntUndirectedGraph();
+        intGraph.addEdge(0, 1, 10.0);
+        intGraph.addEdge(0, 2, 1.0);
+        intGraph.addEdge(2, 1, 1.0);
+        intGraph.addVertex(3);
+
+        Dijkstra.ShortestPaths<Integer> result = Dijkstra.execute(intGraph, 0);
+
+        assertEquals(2.0, result.getDistanceTo(1));
+        assertEquals(List.of(0, 2, 1), result.getPathTo(1));
+        assertEquals(Double.POSITIVE_INFINITY, result.getDistanceTo(3));
+        assertNull(result.getPathTo(3));
+    }
+
+    @Test
+    void testShortestPathStopsAtTarget() {
+        // A --(1)--> B --(1)--> C, C --(1)--> D
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("B", "C", 1.0, true);
+        directedGraph.addEdge("C", "D", 1.0, true);
+
+        Dijkstra.ShortestPaths<String> result = Dijkstra.shortestPath(directedGraph, "A", "B");
+
+        assertEquals(1.0, result.getDistanceTo("B"));
+        assertEquals(List.of("A", "B"), result.getPathTo("B"));
+        assertNull(result.getPathTo("D"), "Search should stop before reaching D");
+    }
+
+    @Test
+    void testShortestPathUnreachableTarget() {
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addVertex("C");
+
+        Dijkstra.ShortestPaths<String> result = Dijkstra.shortestPath(directedGraph, "A", "C");
+
+        assertEquals(Double.POSITIVE_INFINITY, result.getDistanceTo("C"));
+        assertNull(result.getPathTo("C"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Dijkstra.shortestPath(directedGraph, "A", "NonExistent"));
+    }
+
+    @Test
+    void testBidirectionalUndirected() {
+        // A --(10)-- B
+        // A --(1)--- C --(1)--- D --(1)--- B
+        undirectedGraph.addEdge("A", "B", 10.0, true);
+        undirectedGraph.addEdge("A", "C", 1.0, true);
+        undirectedGraph.addEdge("C", "D", 1.0, true);
+        undirectedGraph.addEdge("D", "B", 1.0, true);
+
+        Dijkstra.ShortestPaths<String> result =
+                Dijkstra.bidirectionalShortestPath(undirectedGraph, "A", "B");
+
+        assertEquals(3.0, result.getDistanceTo("B"));
+        assertEquals(List.of("A", "C", "D", "B"), result.getPathTo("B"));
+    }
+
+    @Test
+    void testBidirectionalFrozenDirected() {
+        directedGraph.addEdge("A", "B", 1.0, true);
+        directedGraph.addEdge("B", "C", 2.0, true);
+        directedGraph.addEdge("C", "A", 1.0, true);
+        directedGraph.addEdge("A", "C", 5.0, true);
+
+        Dijkstra.ShortestPaths<String> result =
+                Dijkstra.bidirectionalShortestPath(directedGraph.freeze(), "A", "C");
+        assertEquals(3.0, result.getDistanceTo("C"));
+        assertEquals(List.of("A", "B", "C"), result.getPathTo("C"));
+
+        Dijkstra.ShortestPaths<String> self =
+                Dijkstra.bidirectionalShortestPath(directedGraph.freeze(), "B", "B");
+        assertEquals(List.of("B"), self.getPathTo("B"));
+
+        Dijkstra.ShortestPaths<String> mutable =
+                Dijkstra.bidirectionalShortestPath(directedGraph, "A", "C");
+        assertEquals(List.of("A", "B", "C"), mutable.getPathTo("C"),
+                "Mutable directed graph searches backwards via its reverse index");
+    }
+
+    @Test
+    void testPointToPointMatchesFullSearch() {
+        Random random = new Random(7);
+        for (int i = 0; i < 60; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                int other = random.nextInt(60);
+                double weight = 1 + random.nextInt(20);
+                directedGraph.addEdge("v" + i, "v" + other, weight, true);
+                undirectedGraph.addEdge("v" + i, "v" + other, weight, true);
+            }
+        }
+
+        Dijkstra.ShortestPaths<String> directedAll = Dijkstra.execute(directedGraph, "v0");
+        Dijkstra.ShortestPaths<String> undirectedAll = Dijkstra.execute(undirectedGraph, "v0");
+        var frozen = directedGraph.freeze();
+
+        for (int i = 0; i < 60; ++i) {
+            String target = "v" + i;
+            assertEquals(directedAll.getDistanceTo(target),
+                    Dijkstra.shortestPath(directedGraph, "v0", target).getDistanceTo(target));
+            assertEquals(directedAll.getDistanceTo(target),
+                    Dijkstra.bidirectionalShortestPath(frozen, "v0", target).getDistanceTo(target));
+            assertEquals(undirectedAll.getDistanceTo(target),
+                    Dijkstra.bidirectionalShortestPath(undirectedGraph, "v0", target).getDistanceTo(target));
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.Graph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicShortestPathsTest {
+
+    private static void assertMatchesDijkstra(DynamicShortestPaths<Integer> dynamic, Graph<Integer> graph) {
+        Map<Integer, Double> expected = Dijkstra.execute(graph, dynamic.getSource()).getDistances();
+        Map<Integer, Double> actual = dynamic.toShortestPaths().getDistances();
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()), 1e-9);
+        }
+
+        // Every tree edge must exist and be tight
+        for (Integer vertex : actual.keySet()) {
+            List<Integer> path = dynamic.getPathTo(vertex);
+            assertEquals(dynamic.getSource(), path.get(0));
+            double length = 0;
+            for (int i = 1; i < path.size(); ++i) {
+                length += graph.getWeight(path.get(i - 1), path.get(i)).orElseThrow();
+            }
+            assertEquals(actual.get(vertex), length, 1e-9);
+        }
+    }
+
+    private static void randomUpdates(Graph<Integer> graph, long seed) {
+        Random random = new Random(seed);
+        int n = 60;
+        for (int i = 0; i < n; ++i) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 200; ++i) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(20), true);
+        }
+
+        DynamicShortestPaths<Integer> dynamic = new DynamicShortestPaths<>(graph, 0);
+        assertMatchesDijkstra(dynamic, graph);
+
+        for (int step = 0; step < 300; ++step) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            int operation = random.nextInt(10);
+            if (operation < 4) {
+                dynamic.addEdge(a, b, 1 + random.nextInt(20), true);
+            } else if (operation < 8) {
+                // Prefer removing existing edges so the tree actually changes
+                List<Integer> neighbors = List.copyOf(dynamic.getNeighbors(a));
+                if (!neighbors.isEmpty()) {
+                    b = neighbors.get(random.nextInt(neighbors.size()));
+                }
+                dynamic.removeEdge(a, b);
+            } else if (operation < 9) {
+                if (a != 0) {
+                    dynamic.removeVertex(a);
+                    dynamic.addVertex(a);
+                }
+            } else {
+                dynamic.addEdge(a, b, 0.0, true);
+            }
+            assertMatchesDijkstra(dynamic, graph);
+        }
+    }
+
+    @Test
+    void testRandomUpdatesDirected() {
+        randomUpdates(new DirectedGraph<>(), 7);
+    }
+
+    @Test
+    void testRandomUpdatesUndirected() {
+        randomUpdates(new UndirectedGraph<>(), 11);
+    }
+
+    @Test
+    void testWeightIncreaseReroutes() {
+        // 0 -> 1 -> 2 -> 3 and a detour 0 -> 3
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        graph.addEdge(1, 2, 1.0, true);
+        graph.addEdge(2, 3, 1.0, true);
+        graph.addEdge(0, 3, 10.0, true);
+        DynamicShortestPaths<Integer> dynamic = new DynamicShortestPaths<>(graph, 0);
+        assertEquals(List.of(0, 1, 2, 3), dynamic.getPathTo(3));
+
+        dynamic.addEdge(1, 2, 20.0, false);
+        assertEquals(10.0, dynamic.getDistanceTo(3));
+        assertEquals(List.of(0, 3), dynamic.getPathTo(3));
+        assertEquals(21.0, dynamic.getDistanceTo(2));
+
+        dynamic.addEdge(0, 2, 2.0, false);
+        assertEquals(3.0, dynamic.getDistanceTo(3));
+        assertEquals(List.of(0, 2, 3), dynamic.getPathTo(3));
+    }
+
+    @Test
+    void testDisconnectAndReconnect() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        graph.addEdge(1, 2, 1.0, true);
+        DynamicShortestPaths<Integer> dynamic = new DynamicShortestPaths<>(graph, 0);
+
+        dynamic.removeEdge(0, 1);
+        assertEquals(Double.POSITIVE_INFINITY, dynamic.getDistanceTo(2));
+        assertNull(dynamic.getPathTo(2));
+
+        dynamic.addEdge(0, 2, 4.0, false);
+        assertEquals(4.0, dynamic.getDistanceTo(2));
+        assertEquals(Double.POSITIVE_INFINITY, dynamic.getDistanceTo(1));
+    }
+
+    @Test
+    void testRemoveAndRestoreSource() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        DynamicShortestPaths<Integer> dynamic = new DynamicShortestPaths<>(graph, 0);
+
+        dynamic.removeVertex(0);
+        assertEquals(Double.POSITIVE_INFINITY, dynamic.getDistanceTo(1));
+
+        dynamic.addEdge(0, 1, 2.0, true);
+        assertEquals(2.0, dynamic.getDistanceTo(1));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.addEdge(0, 1, 1.0, true);
+        assertThrows(IllegalArgumentException.class, () -> new DynamicShortestPaths<>(graph, 5));
+
+        DynamicShortestPaths<Integer> dynamic = new DynamicShortestPaths<>(graph, 0);
+        assertThrows(IllegalArgumentException.class, () -> dynamic.addEdge(1, 0, -1.0, true));
+        assertFalse(graph.containsEdge(1, 0));
+    }
+}
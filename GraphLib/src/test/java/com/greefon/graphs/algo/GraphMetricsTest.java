@@ -0,0 +1,183 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.GraphListener;
+import com.greefon.graphs.impl.AbstractGraph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphMetricsTest {
+    @AfterEach
+    void disable() {
+        Instrumentation.setListener(null);
+    }
+
+    private static DirectedGraph<String> chain() {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("A", "C", 5.0, true);
+        graph.addEdge("C", "D", 1.0, true);
+        return graph;
+    }
+
+    @Test
+    void testNothingReportedWithoutListener() {
+        List<AlgorithmStats> reports = new ArrayList<>();
+        DirectedGraph<String> graph = chain();
+
+        Dijkstra.execute(graph, "A");
+        Instrumentation.setListener(reports::add);
+        Instrumentation.setListener(null);
+        BreadthFirstSearch.execute(graph);
+
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    void testDijkstraStats() {
+        List<AlgorithmStats> reports = new ArrayList<>();
+        Instrumentation.setListener(reports::add);
+
+        Dijkstra.execute(chain(), "A");
+
+        assertEquals(1, reports.size());
+        AlgorithmStats stats = reports.get(0);
+        assertEquals("Dijkstra", stats.getAlgorithm());
+        assertEquals(4, stats.getVerticesVisited());
+        assertEquals(4, stats.getEdgesScanned());
+        assertTrue(stats.getPeakFrontier() >= 1);
+        assertTrue(stats.getNanos() >= 0);
+    }
+
+    @Test
+    void testTraversalReportsOnce() {
+        List<AlgorithmStats> reports = new ArrayList<>();
+        Instrumentation.setListener(reports::add);
+
+        DirectedGraph<String> graph = chain();
+        List<String> visited = BreadthFirstSearch.stream(graph, "A").collect(Collectors.toList());
+        assertEquals(List.of("A", "B", "C", "D"), visited);
+
+        assertEquals(1, reports.size());
+        assertEquals("BreadthFirstSearch.traversal", reports.get(0).getAlgorithm());
+        assertEquals(4, reports.get(0).getVerticesVisited());
+        assertEquals(4, reports.get(0).getEdgesScanned());
+    }
+
+    @Test
+    void testAggregatesRuns() {
+        GraphMetrics metrics = new GraphMetrics();
+        Instrumentation.setListener(metrics);
+
+        DirectedGraph<String> graph = chain();
+        Dijkstra.execute(graph, "A");
+        Dijkstra.execute(graph, "B");
+        BreadthFirstSearch.execute(graph);
+        DepthFirstSearch.execute(graph.freeze());
+
+        GraphMetrics.AlgorithmCounters dijkstra = metrics.getAlgorithm("Dijkstra");
+        assertEquals(2, dijkstra.getRuns());
+        assertEquals(4 + 3, dijkstra.getVerticesVisited());
+        assertEquals(1, metrics.getAlgorithm("BreadthFirstSearch").getRuns());
+        assertEquals(4, metrics.getAlgorithm("DepthFirstSearch").getVerticesVisited());
+        assertNull(metrics.getAlgorithm("AStar"));
+
+        Map<String, Long> snapshot = metrics.snapshot();
+        assertEquals(2L, snapshot.get("Dijkstra.runs"));
+        assertEquals(4L, snapshot.get("BreadthFirstSearch.edgesScanned"));
+
+        metrics.reset();
+        assertNull(metrics.getAlgorithm("Dijkstra"));
+    }
+
+    @Test
+    void testGraphMutations() {
+        GraphMetrics metrics = new GraphMetrics();
+        UndirectedGraph<Integer> graph = new UndirectedGraph<>();
+        graph.setListener(metrics);
+
+        graph.addEdge(1, 2, 1.0, true);
+        graph.addEdge(2, 3, 1.0, true);
+        graph.removeEdge(1, 2);
+        // Removing an absent edge is not reported
+        graph.removeEdge(1, 3);
+        graph.removeVertex(3);
+        graph.clear();
+
+        assertEquals(3, metrics.getVerticesAdded());
+        assertEquals(1, metrics.getVerticesRemoved());
+        assertEquals(2, metrics.getEdgesAdded());
+        assertEquals(1, metrics.getEdgesRemoved());
+        assertEquals(1, metrics.getClears());
+        assertEquals(2L, metrics.snapshot().get("graph.edgesAdded"));
+
+        graph.setListener(null);
+        graph.addEdge(4, 5, 1.0, true);
+        assertEquals(2, metrics.getEdgesAdded());
+    }
+
+    @Test
+    void testWeightChangeIsNotAnAddition() {
+        GraphMetrics metrics = new GraphMetrics();
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        graph.setListener(metrics);
+
+        graph.addEdge(1, 2, 1.0, true);
+        int before = graph.getModificationCount();
+        graph.addEdge(1, 2, 3.0, true);
+
+        assertEquals(1, metrics.getEdgesAdded());
+        assertEquals(1, metrics.getEdgeWeightChanges());
+        assertEquals(1L, metrics.snapshot().get("graph.edgeWeightChanges"));
+        assertEquals(graph.getEdgeCount(), metrics.getEdgesAdded() - metrics.getEdgesRemoved());
+        // Cached shortest paths still have to notice the new weight
+        assertTrue(graph.getModificationCount() > before);
+
+        UndirectedGraph<Integer> undirected = new UndirectedGraph<>();
+        undirected.setListener(metrics);
+        undirected.addEdge(1, 2, 1.0, true);
+        undirected.addEdge(2, 1, 2.0, true);
+        assertEquals(2, metrics.getEdgesAdded());
+        assertEquals(2, metrics.getEdgeWeightChanges());
+    }
+
+    @Test
+    void testListenerSeesCompletedChange() {
+        assertListenerSeesCompletedChange(new DirectedGraph<>());
+        assertListenerSeesCompletedChange(new UndirectedGraph<>());
+    }
+
+    private static void assertListenerSeesCompletedChange(AbstractGraph<String> graph) {
+        List<String> seen = new ArrayList<>();
+        graph.setListener(new GraphListener<String>() {
+            @Override
+            public void vertexAdded(String vertex) {
+                assertTrue(graph.containsVertex(vertex));
+                assertTrue(graph.getNeighbors(vertex).isEmpty());
+                assertTrue(graph.getPredecessors(vertex).isEmpty());
+                seen.add(vertex);
+            }
+
+            @Override
+            public void edgeAdded(String source, String destination, double weight) {
+                assertTrue(graph.containsEdge(source, destination));
+                assertTrue(graph.getPredecessors(destination).contains(source));
+                seen.add(source + destination);
+            }
+        });
+
+        graph.addVertex("A");
+        graph.addVertex("A");
+        graph.addEdge("A", "B", 1.0, true);
+        assertEquals(List.of("A", "B", "AB"), seen);
+    }
+}
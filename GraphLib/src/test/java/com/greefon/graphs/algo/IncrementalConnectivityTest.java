@@ -0,0 +1,72 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalConnectivityTest {
+    private IncrementalConnectivity<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new IncrementalConnectivity<>(new UndirectedGraph<>());
+    }
+
+    @Test
+    void testAddEdgeMergesComponents() {
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("C", "D", 1.0, true);
+
+        assertTrue(graph.sameComponent("A", "B"));
+        assertFalse(graph.sameComponent("A", "C"));
+        assertEquals(2, graph.getComponentCount());
+
+        graph.addEdge("B", "C", 1.0, true);
+
+        assertTrue(graph.sameComponent("A", "D"));
+        assertEquals(1, graph.getComponentCount());
+        assertEquals(graph.getComponentId("A"), graph.getComponentId("D"));
+        assertEquals(3, graph.getEdgeCount(), "Mutations should reach the wrapped graph");
+    }
+
+    @Test
+    void testRemovalTriggersRebuild() {
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+
+        graph.removeEdge("B", "C");
+        assertFalse(graph.sameComponent("A", "C"));
+        assertEquals(2, graph.getComponentCount());
+
+        graph.removeVertex("B");
+        assertFalse(graph.sameComponent("A", "B"));
+        assertEquals(2, graph.getComponentCount());
+    }
+
+    @Test
+    void testWrapExistingDirectedGraph() {
+        DirectedGraph<String> directed = new DirectedGraph<>();
+        directed.addEdge("A", "B", 1.0, true);
+        directed.addEdge("C", "B", 1.0, true);
+        directed.addVertex("D");
+
+        IncrementalConnectivity<String> tracked = new IncrementalConnectivity<>(directed);
+
+        assertTrue(tracked.sameComponent("A", "C"), "Direction should be ignored");
+        assertFalse(tracked.sameComponent("A", "D"));
+        assertFalse(tracked.sameComponent("A", "Missing"));
+        assertThrows(IllegalArgumentException.class, () -> tracked.getComponentId("Missing"));
+    }
+
+    @Test
+    void testClear() {
+        graph.addEdge("A", "B", 1.0, true);
+        graph.clear();
+
+        assertEquals(0, graph.getComponentCount());
+        assertEquals(0, graph.getVertexCount());
+    }
+}
@@ -0,0 +1,83 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntUndirectedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourceShortestPathsTest {
+    private DirectedGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new DirectedGraph<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50; ++i) {
+            graph.addVertex("v" + i);
+        }
+        for (int i = 0; i < 150; ++i) {
+            graph.addEdge("v" + random.nextInt(50), "v" + random.nextInt(50),
+                    1 + random.nextInt(10), true);
+        }
+    }
+
+    @Test
+    void testAllPairsMatchDijkstra() {
+        List<String> sources = new ArrayList<>(graph.getVertices());
+        MultiSourceShortestPaths.DistanceMatrix<String> matrix =
+                MultiSourceShortestPaths.execute(graph, sources);
+
+        assertEquals(sources, matrix.getSources());
+        assertEquals(sources.size(), matrix.toArray().length);
+        for (String source : sources) {
+            Dijkstra.ShortestPaths<String> expected = Dijkstra.execute(graph, source);
+            for (String target : graph.getVertices()) {
+                assertEquals(expected.getDistanceTo(target), matrix.getDistance(source, target));
+            }
+        }
+    }
+
+    @Test
+    void testCustomExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<String> sources = List.of("v0", "v7", "v13", "v42");
+            MultiSourceShortestPaths.DistanceMatrix<String> matrix =
+                    MultiSourceShortestPaths.execute(graph, sources, executor);
+
+            for (String source : sources) {
+                Dijkstra.ShortestPaths<String> expected = Dijkstra.execute(graph, source);
+                assertEquals(expected.getDistanceTo("v25"), matrix.getDistance(source, "v25"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testIntGraphAndMissingVertices() {
+        IntUndirectedGraph intGraph = new IntUndirectedGraph();
+        intGraph.addEdge(0, 1, 2.0);
+        intGraph.addEdge(1, 2, 3.0);
+        intGraph.addVertex(3);
+
+        MultiSourceShortestPaths.DistanceMatrix<Integer> matrix =
+                MultiSourceShortestPaths.execute(intGraph, List.of(0, 2));
+
+        assertEquals(5.0, matrix.getDistance(0, 2));
+        assertEquals(3.0, matrix.getDistance(2, 1));
+        assertEquals(Double.POSITIVE_INFINITY, matrix.getDistance(0, 3));
+        assertEquals(Double.POSITIVE_INFINITY, matrix.getDistance(0, 99));
+        assertThrows(IllegalArgumentException.class, () -> matrix.getDistance(1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultiSourceShortestPaths.execute(intGraph, List.of(7)));
+    }
+}
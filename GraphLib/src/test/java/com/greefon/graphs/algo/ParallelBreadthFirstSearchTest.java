@@ -0,0 +1,115 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntDirectedGraph;
+import com.greefon.graphs.impl.IntUndirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBreadthFirstSearchTest {
+    private static final int LARGE = 20000;
+
+    private static void fillRandom(IntDirectedGraph directed, IntUndirectedGraph undirected) {
+        Random random = new Random(5);
+        for (int i = 0; i < LARGE; ++i) {
+            if (directed != null) {
+                directed.addVertex(i);
+            }
+            if (undirected != null) {
+                undirected.addVertex(i);
+            }
+        }
+        for (int i = 0; i < LARGE * 6; ++i) {
+            int source = random.nextInt(LARGE);
+            int destination = random.nextInt(LARGE);
+            if (directed != null) {
+                directed.addEdge(source, destination);
+            }
+            if (undirected != null) {
+                undirected.addEdge(source, destination);
+            }
+        }
+    }
+
+    private static <T> void assertValidTree(ParallelBreadthFirstSearch.Result<T> result,
+                                            ParallelBreadthFirstSearch.Result<T> expected) {
+        assertArrayEquals(expected.getDepths(), result.getDepths(), "Depths should match sequential BFS");
+
+        IndexedGraph<T> graph = result.getGraph();
+        int[] depths = result.getDepths();
+        int[] parents = result.getParents();
+        for (int vertex = 0; vertex < depths.length; ++vertex) {
+            if (depths[vertex] <= 0) {
+                continue;
+            }
+            int parent = parents[vertex];
+            assertEquals(depths[vertex] - 1, depths[parent], "Parent should be one level up");
+            assertTrue(graph.containsEdge(graph.vertexAt(parent), graph.vertexAt(vertex)),
+                    "Parent should be connected by an edge");
+        }
+    }
+
+    @Test
+    void testSmallGraphFallback() {
+        // A -> B -> C, A -> D, E unreachable
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("A", "D", 1.0, true);
+        graph.addVertex("E");
+
+        ParallelBreadthFirstSearch.Result<String> result = ParallelBreadthFirstSearch.execute(graph, "A");
+
+        assertEquals(0, result.getDepth("A"));
+        assertEquals(1, result.getDepth("D"));
+        assertEquals(2, result.getDepth("C"));
+        assertEquals("B", result.getParent("C"));
+        assertNull(result.getParent("A"));
+        assertFalse(result.isReached("E"));
+        assertEquals(-1, result.getDepth("Missing"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelBreadthFirstSearch.execute(graph, "Missing"));
+    }
+
+    @Test
+    void testLargeUndirectedSwitchesDirection() {
+        IntUndirectedGraph graph = new IntUndirectedGraph(LARGE);
+        fillRandom(null, graph);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertValidTree(ParallelBreadthFirstSearch.execute(graph, 0, pool),
+                    ParallelBreadthFirstSearch.execute(graph, 0, single));
+        } finally {
+            pool.shutdown();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testLargeDirected() {
+        IntDirectedGraph graph = new IntDirectedGraph(LARGE);
+        fillRandom(graph, null);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            ParallelBreadthFirstSearch.Result<Integer> expected =
+                    ParallelBreadthFirstSearch.execute(graph, 0, single);
+            // Without reverse adjacency only top-down steps are possible
+            assertValidTree(ParallelBreadthFirstSearch.execute(graph, 0, pool), expected);
+            // Frozen snapshot provides reverse adjacency for bottom-up steps
+            assertValidTree(ParallelBreadthFirstSearch.execute(graph.freeze(), 0, pool),
+                    ParallelBreadthFirstSearch.execute(graph.freeze(), 0, single));
+        } finally {
+            pool.shutdown();
+            single.shutdown();
+        }
+    }
+}
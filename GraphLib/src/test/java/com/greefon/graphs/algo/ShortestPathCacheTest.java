@@ -0,0 +1,177 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.impl.CsrGraph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathCacheTest {
+    private DirectedGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        // A -> B -> C, A -> C (heavy)
+        graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("A", "C", 5.0, true);
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 10, 1000);
+
+        assertEquals(2.0, cache.getDistance("A", "C"));
+        assertEquals(List.of("A", "B", "C"), cache.getPath("A", "C"));
+        assertSame(cache.get("A"), cache.get("A"));
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(0.75, cache.getHitRate());
+        assertEquals(3, cache.getWeight());
+    }
+
+    @Test
+    void testInvalidatedByMutation() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 10, 1000);
+        assertEquals(2.0, cache.getDistance("A", "C"));
+
+        graph.removeEdge("B", "C");
+        assertEquals(5.0, cache.getDistance("A", "C"));
+        assertEquals(1, cache.getInvalidationCount());
+
+        graph.addEdge("A", "C", 0.5, false);
+        assertEquals(0.5, cache.getDistance("A", "C"));
+
+        graph.removeVertex("C");
+        assertEquals(Double.POSITIVE_INFINITY, cache.getDistance("A", "C"));
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void testUndirectedMutation() {
+        UndirectedGraph<Integer> undirected = new UndirectedGraph<>();
+        undirected.addEdge(1, 2, 1.0, true);
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(undirected, 10, 1000);
+        assertEquals(Double.POSITIVE_INFINITY, cache.getDistance(1, 3));
+
+        undirected.addEdge(2, 3, 1.0, true);
+        assertEquals(2.0, cache.getDistance(1, 3));
+    }
+
+    @Test
+    void testLruEvictionByCount() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 2, 1000);
+        cache.get("A");
+        cache.get("B");
+        cache.get("A");
+        cache.get("C");
+
+        // B was the least recently used
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get("A");
+        assertEquals(3, cache.getMissCount());
+        cache.get("B");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void testEvictionByWeight() {
+        // Results from A, B and C hold 3, 2 and 1 vertices
+        ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 10, 4);
+        cache.get("C");
+        cache.get("B");
+        assertEquals(3, cache.getWeight());
+
+        cache.get("A");
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getWeight());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void testExplicitInvalidationForFrozenGraph() {
+        CsrGraph<String> frozen = graph.freeze();
+        ShortestPathCache<String> cache = new ShortestPathCache<>(frozen, () -> 0, 10, 1000);
+        cache.get("A");
+        cache.get("A");
+        cache.invalidate();
+        cache.get("A");
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testComputesOutsideLock() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean armed = new AtomicBoolean();
+        // Once armed, Dijkstra from A stalls in its first containsVertex call
+        DirectedGraph<String> slow = new DirectedGraph<>() {
+            @Override
+            public boolean containsVertex(String vertex) {
+                if ("A".equals(vertex) && armed.compareAndSet(true, false)) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.containsVertex(vertex);
+            }
+        };
+        slow.addEdge("A", "B", 1.0, true);
+        slow.addEdge("B", "C", 1.0, true);
+        ShortestPathCache<String> cache = new ShortestPathCache<>(slow, () -> 0, 10, 1000);
+        armed.set(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Dijkstra.ShortestPaths<String>> first = executor.submit(() -> cache.get("A"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // Another source is served while A is being computed
+            assertEquals(1.0, cache.getDistance("B", "C"));
+            // A second request for A waits for the running computation
+            Future<Dijkstra.ShortestPaths<String>> second = executor.submit(() -> cache.get("A"));
+            release.countDown();
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, cache.getMissCount());
+            assertEquals(1, cache.getHitCount());
+            assertEquals(5, cache.getWeight());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedComputationIsNotCached() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 10, 1000);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("Z"));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("Z"));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShortestPathCache<>(graph, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShortestPathCache<>(graph, 10, 1000).get("Z"));
+    }
+}
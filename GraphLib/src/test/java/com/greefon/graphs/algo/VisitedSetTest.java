@@ -0,0 +1,109 @@
+package com.greefon.graphs.algo;
+
+import com.greefon.graphs.api.IndexedGraph;
+import com.greefon.graphs.impl.CsrGraph;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntDirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisitedSetTest {
+
+    private static DirectedGraph<String> sampleGraph() {
+        // A -> B -> C, A -> D, E isolated
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("A", "D", 1.0, true);
+        graph.addVertex("E");
+        return graph;
+    }
+
+    private static List<VisitedSet<String>> allStrategies(IndexedGraph<String> graph) {
+        return List.of(VisitedSet.hashed(), VisitedSet.bitSet(graph), VisitedSet.stamped(graph));
+    }
+
+    @Test
+    void testAddContainsClear() {
+        CsrGraph<String> graph = CsrGraph.of(sampleGraph());
+        for (VisitedSet<String> visited : allStrategies(graph)) {
+            assertTrue(visited.add("A"));
+            assertFalse(visited.add("A"));
+            assertTrue(visited.contains("A"));
+            assertFalse(visited.contains("B"));
+            assertFalse(visited.contains("missing"));
+
+            visited.clear();
+            assertFalse(visited.contains("A"));
+            assertTrue(visited.add("A"));
+        }
+    }
+
+    @Test
+    void testDenseRejectsAbsentVertex() {
+        CsrGraph<String> graph = CsrGraph.of(sampleGraph());
+        assertThrows(IllegalArgumentException.class, () -> VisitedSet.bitSet(graph).add("missing"));
+        assertThrows(IllegalArgumentException.class, () -> VisitedSet.stamped(graph).add("missing"));
+    }
+
+    @Test
+    void testStrategiesGiveSameTraversals() {
+        CsrGraph<String> graph = CsrGraph.of(sampleGraph());
+        List<String> bfs = BreadthFirstSearch.execute(graph);
+        List<String> dfs = DepthFirstSearch.execute(graph);
+        List<List<String>> components = ConnectivityInspector.findComponents(graph);
+
+        for (VisitedSet<String> visited : allStrategies(graph)) {
+            visited.clear();
+            assertEquals(bfs, BreadthFirstSearch.execute(graph, visited));
+            visited.clear();
+            assertEquals(dfs, DepthFirstSearch.execute(graph, visited));
+            visited.clear();
+            assertEquals(components, ConnectivityInspector.findComponents(graph, visited));
+        }
+    }
+
+    @Test
+    void testStampedReuseAcrossRuns() {
+        CsrGraph<String> graph = CsrGraph.of(sampleGraph());
+        VisitedSet<String> visited = VisitedSet.stamped(graph);
+
+        for (int run = 0; run < 3; ++run) {
+            visited.clear();
+            List<String> reached = new ArrayList<>();
+            BreadthFirstSearch.iterator(graph, "A", Integer.MAX_VALUE, visited)
+                    .forEachRemaining(reached::add);
+            assertEquals(Set.of("A", "B", "C", "D"), new HashSet<>(reached));
+        }
+
+        // Without clear the marks of the previous run are kept
+        List<String> reached = new ArrayList<>();
+        DepthFirstSearch.iterator(graph, "B", Integer.MAX_VALUE, visited).forEachRemaining(reached::add);
+        assertEquals(List.of("B"), reached);
+    }
+
+    @Test
+    void testStampedGrowsWithGraph() {
+        IntDirectedGraph graph = new IntDirectedGraph();
+        graph.addEdge(0, 1, 1.0, true);
+        VisitedSet<Integer> visited = VisitedSet.stamped(graph);
+        assertTrue(visited.add(0));
+
+        for (int i = 1; i < 100; ++i) {
+            graph.addEdge(i, i + 1, 1.0, true);
+        }
+        visited.clear();
+        assertEquals(101, BreadthFirstSearch.execute(graph, visited).size());
+        assertTrue(visited.contains(100));
+    }
+
+    @Test
+    void testWrapsCallerSet() {
+        Set<String> marks = new HashSet<>();
+        DepthFirstSearch.dfsComponent(sampleGraph(), "B", new ArrayList<>(), VisitedSet.of(marks));
+        assertEquals(Set.of("B", "C"), marks);
+    }
+}
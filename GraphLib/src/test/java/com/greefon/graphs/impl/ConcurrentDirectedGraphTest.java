@@ -0,0 +1,174 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.algo.BreadthFirstSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentDirectedGraphTest {
+    private static final int THREADS = 16;
+
+    private ConcurrentDirectedGraph<Integer> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new ConcurrentDirectedGraph<>();
+    }
+
+    private static void runInParallel(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; ++t) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    // Every arc must be mirrored in the reverse index and counted exactly once
+    private void assertConsistent() {
+        int arcs = 0;
+        for (Integer vertex : graph.getVertices()) {
+            for (Integer neighbor : graph.getNeighbors(vertex)) {
+                assertTrue(graph.containsVertex(neighbor), "Dangling arc " + vertex + " -> " + neighbor);
+                assertTrue(graph.getPredecessors(neighbor).contains(vertex));
+                ++arcs;
+            }
+            for (Integer predecessor : graph.getPredecessors(vertex)) {
+                assertTrue(graph.containsEdge(predecessor, vertex));
+            }
+        }
+        assertEquals(arcs, graph.getEdgeCount());
+    }
+
+    @Test
+    void testBasicOperations() {
+        graph.addEdge(1, 2, 3.0, true);
+        graph.addEdge(3, 2, 1.0, true);
+        graph.addEdge(1, 2, 4.0, true);
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(2, graph.getEdgeCount());
+        assertFalse(graph.containsEdge(2, 1), "Direction should be preserved");
+        assertEquals(4.0, graph.getWeight(1, 2).orElse(0.0));
+        assertEquals(Set.of(1, 3), graph.getPredecessors(2));
+        assertEquals(2, graph.getInDegree(2));
+
+        graph.removeVertex(2);
+        assertEquals(2, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount());
+        assertTrue(graph.getNeighbors(1).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge(1, 5, 1.0, false));
+        graph.clear();
+        assertEquals(0, graph.getVertexCount());
+    }
+
+    @Test
+    void testConcurrentIngestion() throws Exception {
+        int edgesPerThread = 5_000;
+        // Threads write overlapping edge ranges, so some edges are added twice
+        runInParallel(THREADS, thread -> {
+            for (int i = 0; i < edgesPerThread; ++i) {
+                int edge = (thread / 2) * edgesPerThread + i;
+                graph.addEdge(edge, edge + 1, 1.0, true);
+            }
+        });
+
+        int distinctEdges = (THREADS / 2) * edgesPerThread;
+        assertEquals(distinctEdges, graph.getEdgeCount());
+        assertEquals(distinctEdges + 1, graph.getVertexCount());
+        assertConsistent();
+    }
+
+    @Test
+    void testRemovalsRacingWithWriters() throws Exception {
+        Random seeds = new Random(11);
+        long[] seedPerThread = new long[THREADS];
+        for (int i = 0; i < THREADS; ++i) {
+            seedPerThread[i] = seeds.nextLong();
+        }
+
+        runInParallel(THREADS, thread -> {
+            Random random = new Random(seedPerThread[thread]);
+            for (int i = 0; i < 5_000; ++i) {
+                int a = random.nextInt(200);
+                int b = random.nextInt(200);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        graph.removeVertex(a);
+                        break;
+                    case 1:
+                        graph.removeEdge(a, b);
+                        break;
+                    default:
+                        graph.addEdge(a, b, 1.0, true);
+                }
+            }
+        });
+
+        assertConsistent();
+        assertEquals(graph.getVertices().size(), graph.getVertexCount());
+    }
+
+    @Test
+    void testReadersDoNotBlockWriters() throws Exception {
+        for (int i = 0; i < 1_000; ++i) {
+            graph.addEdge(i, i + 1, 1.0, true);
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reader = executor.submit(() -> {
+                int traversals = 0;
+                while (writing.get()) {
+                    // Weakly consistent iteration: never throws while writers run
+                    assertTrue(BreadthFirstSearch.execute(graph).size() >= 1_001);
+                    ++traversals;
+                }
+                return traversals;
+            });
+
+            for (int i = 1_001; i < 20_000; ++i) {
+                graph.addEdge(i, i - 1_000, 1.0, true);
+            }
+            writing.set(false);
+            assertTrue(reader.get(30, TimeUnit.SECONDS) >= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertConsistent();
+    }
+
+    @Test
+    void testFreezeIsConsistent() {
+        graph.addEdge(1, 2, 2.0, true);
+        graph.addEdge(2, 3, 1.0, true);
+
+        CsrGraph<Integer> frozen = graph.freeze();
+        assertEquals(2, frozen.getEdgeCount());
+        assertEquals(Set.of(1), frozen.getPredecessors(2));
+    }
+}
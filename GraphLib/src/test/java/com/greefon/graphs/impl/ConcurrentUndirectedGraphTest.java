@@ -0,0 +1,78 @@
+package com.greefon.graphs.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentUndirectedGraphTest {
+    private static final int THREADS = 16;
+
+    private ConcurrentUndirectedGraph<Integer> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new ConcurrentUndirectedGraph<>();
+    }
+
+    @Test
+    void testBasicOperations() {
+        graph.addEdge(1, 2, 3.0, true);
+        graph.addEdge(2, 2, 1.0, true);
+
+        assertTrue(graph.containsEdge(2, 1), "Undirected graph must have mutual edges");
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(graph.getNeighbors(2), graph.getPredecessors(2));
+
+        graph.removeEdge(2, 1);
+        assertFalse(graph.containsEdge(1, 2));
+        assertEquals(1, graph.getEdgeCount());
+
+        graph.removeVertex(2);
+        assertEquals(0, graph.getEdgeCount());
+        assertEquals(Set.of(1), graph.getVertices());
+    }
+
+    @Test
+    void testOppositeDirectionsCountOnce() throws Exception {
+        // Half of the threads add (i, i + 1), the other half (i + 1, i)
+        int edges = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; ++t) {
+                boolean reversed = t % 2 == 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < edges; ++i) {
+                        if (reversed) {
+                            graph.addEdge(i + 1, i, 1.0, true);
+                        } else {
+                            graph.addEdge(i, i + 1, 1.0, true);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(edges, graph.getEdgeCount());
+        assertEquals(edges + 1, graph.getVertexCount());
+        for (int i = 0; i < edges; ++i) {
+            assertTrue(graph.containsEdge(i, i + 1));
+            assertTrue(graph.containsEdge(i + 1, i));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.algo.BreadthFirstSearch;
+import com.greefon.graphs.algo.ConnectivityInspector;
+import com.greefon.graphs.algo.DepthFirstSearch;
+import com.greefon.graphs.algo.Dijkstra;
+import com.greefon.graphs.api.Graph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrGraphTest {
+    private DirectedGraph<String> directedGraph;
+    private UndirectedGraph<String> undirectedGraph;
+
+    @BeforeEach
+    void setUp() {
+        directedGraph = new DirectedGraph<>();
+        undirectedGraph = new UndirectedGraph<>();
+    }
+
+    @Test
+    void testFreezeKeepsStructure() {
+        // A -> B (2.0), A -> C (3.0), C -> B (1.0), D isolated
+        directedGraph.addEdge("A", "B", 2.0, true);
+        directedGraph.addEdge("A", "C", 3.0, true);
+        directedGraph.addEdge("C", "B", 1.0, true);
+        directedGraph.addVertex("D");
+
+        CsrGraph<String> frozen = directedGraph.freeze();
+
+        assertEquals(4, frozen.getVertexCount());
+        assertEquals(3, frozen.getEdgeCount());
+        assertEquals(directedGraph.getVertices(), frozen.getVertices());
+        assertTrue(frozen.containsVertex("D"));
+        assertFalse(frozen.containsVertex("E"));
+
+        assertTrue(frozen.containsEdge("A", "C"));
+        assertFalse(frozen.containsEdge("C", "A"), "Direction should be preserved");
+        assertEquals(3.0, frozen.getWeight("A", "C").orElse(0.0));
+        assertTrue(frozen.getWeight("B", "A").isEmpty());
+
+        assertEquals(Set.of("B", "C"), frozen.getNeighbors("A"));
+        assertEquals(Map.of("B", 2.0, "C", 3.0), frozen.getNeighborsWithWeights("A"));
+        assertTrue(frozen.getNeighbors("D").isEmpty());
+        assertTrue(frozen.getNeighbors("Unknown").isEmpty());
+    }
+
+    @Test
+    void testFreezeUndirected() {
+        undirectedGraph.addEdge("A", "B", 4.0, true);
+        undirectedGraph.addEdge("B", "C", 5.0, true);
+
+        CsrGraph<String> frozen = undirectedGraph.freeze();
+
+        assertEquals(2, frozen.getEdgeCount());
+        assertTrue(frozen.containsEdge("B", "A"));
+        assertEquals(5.0, frozen.getWeight("C", "B").orElse(0.0));
+        assertEquals(Set.of("A", "C"), frozen.getNeighbors("B"));
+    }
+
+    @Test
+    void testSnapshotIsDetached() {
+        directedGraph.addEdge("A", "B", 1.0, true);
+        CsrGraph<String> frozen = directedGraph.freeze();
+
+        directedGraph.addEdge("B", "C", 1.0, true);
+
+        assertEquals(2, frozen.getVertexCount());
+        assertFalse(frozen.containsVertex("C"));
+        assertSame(frozen, frozen.freeze());
+        assertSame(frozen, CsrGraph.of(frozen));
+    }
+
+    @Test
+    void testMutationIsRejected() {
+        CsrGraph<String> frozen = directedGraph.freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.addVertex("A"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.addEdge("A", "B"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeVertex("A"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeEdge("A", "B"));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+    }
+
+    @Test
+    void testIndexing() {
+        directedGraph.addEdge("A", "B", 1.0, true);
+        CsrGraph<String> frozen = directedGraph.freeze();
+
+        for (String vertex : frozen.getVertices()) {
+            assertEquals(vertex, frozen.vertexAt(frozen.indexOf(vertex)));
+        }
+        assertEquals(-1, frozen.indexOf("Missing"));
+    }
+
+    @Test
+    void testReverse() {
+        directedGraph.addEdge("A", "B", 2.0, true);
+        directedGraph.addEdge("C", "B", 3.0, true);
+
+        CsrGraph<String> frozen = directedGraph.freeze();
+        CsrGraph<String> reversed = frozen.reverse();
+
+        assertEquals(Map.of("A", 2.0, "C", 3.0), reversed.getNeighborsWithWeights("B"));
+        assertTrue(reversed.getNeighbors("A").isEmpty());
+        assertEquals(frozen.indexOf("C"), reversed.indexOf("C"), "Indices should be shared");
+        assertSame(frozen, reversed.reverse());
+    }
+
+    @Test
+    void testAlgorithmsOnSnapshot() {
+        // Component 1: A-B-C, Component 2: D-E
+        undirectedGraph.addEdge("A", "B", 1.0, true);
+        undirectedGraph.addEdge("B", "C", 2.0, true);
+        undirectedGraph.addEdge("A", "C", 5.0, true);
+        undirectedGraph.addEdge("D", "E", 1.0, true);
+
+        Graph<String> frozen = undirectedGraph.freeze();
+
+        assertEquals(5, BreadthFirstSearch.execute(frozen).size());
+        assertEquals(5, DepthFirstSearch.execute(frozen).size());
+        assertEquals(2, ConnectivityInspector.findComponents(frozen).size());
+
+        Dijkstra.ShortestPaths<String> paths = Dijkstra.execute(frozen, "A");
+        assertEquals(3.0, paths.getDistanceTo("C"));
+        assertEquals(List.of("A", "B", "C"), paths.getPathTo("C"));
+        assertEquals(Double.POSITIVE_INFINITY, paths.getDistanceTo("E"));
+    }
+
+    @Test
+    void testPredecessors() {
+        directedGraph.addEdge("A", "B", 2.0, true);
+        directedGraph.addEdge("C", "B", 3.0, true);
+
+        CsrGraph<String> frozen = directedGraph.freeze();
+
+        assertEquals(Set.of("A", "C"), frozen.getPredecessors("B"));
+        assertEquals(2, frozen.getInDegree("B"));
+        assertEquals(0, frozen.getInDegree("A"));
+        assertEquals(0, frozen.getInDegree("Missing"));
+        assertEquals(frozen.indexOf("A"), frozen.getPredecessorAt(frozen.indexOf("B"), 0));
+    }
+}
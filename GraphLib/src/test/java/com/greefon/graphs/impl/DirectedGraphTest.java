@@ -1,8 +1,12 @@
 package com.greefon.graphs.impl;
 
+import com.greefon.graphs.api.Edge;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,4 +87,104 @@ class DirectedGraphTest {
         assertTrue(neighbors.contains("B"));
         assertTrue(neighbors.contains("C"));
     }
+
+    @Test
+    void testForEachNeighbor() {
+        graph.addEdge("A", "B", 1.5, true);
+        graph.addEdge("A", "C", 2.5, true);
+
+        Map<String, Double> seen = new HashMap<>();
+        graph.forEachNeighbor("A", seen::put);
+        assertEquals(Map.of("B", 1.5, "C", 2.5), seen);
+
+        seen.clear();
+        graph.forEachNeighbor("Missing", seen::put);
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void testPredecessors() {
+        // A -> B (1.0), C -> B (2.0), B -> D
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("C", "B", 2.0, true);
+        graph.addEdge("B", "D", 1.0, true);
+
+        assertEquals(Set.of("A", "C"), graph.getPredecessors("B"));
+        assertEquals(2, graph.getInDegree("B"));
+        assertEquals(0, graph.getInDegree("A"));
+        assertTrue(graph.getPredecessors("Missing").isEmpty());
+
+        Map<String, Double> seen = new HashMap<>();
+        graph.forEachPredecessor("B", seen::put);
+        assertEquals(Map.of("A", 1.0, "C", 2.0), seen);
+
+        // Updating a weight must be visible through the reverse index too
+        graph.addEdge("A", "B", 5.0, true);
+        seen.clear();
+        graph.forEachPredecessor("B", seen::put);
+        assertEquals(5.0, seen.get("A"));
+
+        graph.removeEdge("C", "B");
+        assertEquals(Set.of("A"), graph.getPredecessors("B"));
+    }
+
+    @Test
+    void testRemoveVertexUpdatesReverseIndex() {
+        // A -> B -> C, B -> B (self-loop), C -> B
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 1.0, true);
+        graph.addEdge("B", "B", 1.0, true);
+        graph.addEdge("C", "B", 1.0, true);
+
+        graph.removeVertex("B");
+
+        assertEquals(2, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount());
+        assertTrue(graph.getNeighbors("A").isEmpty());
+        assertTrue(graph.getNeighbors("C").isEmpty());
+        assertEquals(0, graph.getInDegree("C"));
+
+        // Re-adding the vertex starts from a clean state
+        graph.addEdge("A", "B", 1.0, true);
+        assertEquals(Set.of("A"), graph.getPredecessors("B"));
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    void testAddEdgeWithoutVertices() {
+        graph.addVertex("A");
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.addEdge("A", "B", 1.0, false));
+        assertEquals(0, graph.getEdgeCount());
+    }
+
+    @Test
+    void testAddEdges() {
+        graph.addEdges(List.of(Edge.of("A", "B"), Edge.of("B", "C", 2.0), Edge.of("A", "B", 3.0)));
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(3.0, graph.getWeight("A", "B").orElse(0.0));
+    }
+
+    @Test
+    void testModificationCount() {
+        graph.addVertex("A");
+        int initial = graph.getModificationCount();
+
+        graph.addEdge("A", "B", 1.0, true);
+        int afterAdd = graph.getModificationCount();
+        assertTrue(afterAdd > initial);
+
+        // Removing an absent edge or vertex is not a modification
+        graph.removeEdge("B", "A");
+        graph.removeVertex("Z");
+        assertEquals(afterAdd, graph.getModificationCount());
+
+        graph.removeEdge("A", "B");
+        assertTrue(graph.getModificationCount() > afterAdd);
+        int afterRemove = graph.getModificationCount();
+        graph.removeVertex("B");
+        assertTrue(graph.getModificationCount() > afterRemove);
+    }
 }
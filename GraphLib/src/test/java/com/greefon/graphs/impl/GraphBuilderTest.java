@@ -0,0 +1,85 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.greefon.graphs.GraphAssertions.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphBuilderTest {
+    // Random edges with duplicates, reversed duplicates and self-loops
+    private static List<Edge<Integer>> randomEdges(long seed) {
+        Random random = new Random(seed);
+        List<Edge<Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < 2_000; ++i) {
+            edges.add(Edge.of(random.nextInt(150), random.nextInt(150), random.nextInt(10) + 1.0));
+        }
+        return edges;
+    }
+
+    @Test
+    void testBuildDirectedMatchesIncrementalLoading() {
+        List<Edge<Integer>> edges = randomEdges(3);
+        DirectedGraph<Integer> expected = new DirectedGraph<>();
+        expected.addEdges(edges);
+
+        GraphBuilder<Integer> builder = new GraphBuilder<Integer>(150, edges.size()).addEdges(edges);
+
+        assertSameGraph(expected, builder.buildDirected());
+        assertSameGraph(expected, builder.buildDirectedCsr());
+    }
+
+    @Test
+    void testBuildUndirectedMatchesIncrementalLoading() {
+        List<Edge<Integer>> edges = randomEdges(5);
+        UndirectedGraph<Integer> expected = new UndirectedGraph<>();
+        expected.addEdges(edges);
+
+        GraphBuilder<Integer> builder = new GraphBuilder<Integer>().addEdges(edges.stream());
+
+        assertSameGraph(expected, builder.buildUndirected());
+        assertSameGraph(expected, builder.buildUndirectedCsr());
+    }
+
+    @Test
+    void testLastWeightWins() {
+        GraphBuilder<String> builder = new GraphBuilder<String>()
+                .addEdge("A", "B", 1.0)
+                .addEdge("A", "B", 4.0)
+                .addVertex("C");
+
+        assertEquals(2, builder.getAddedEdgeCount());
+        assertEquals(3, builder.getVertexCount());
+
+        DirectedGraph<String> graph = builder.buildDirected();
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(4.0, graph.getWeight("A", "B").orElse(0.0));
+        assertTrue(graph.containsVertex("C"));
+
+        CsrGraph<String> frozen = builder.buildDirectedCsr();
+        assertEquals(1, frozen.getEdgeCount());
+        assertEquals(4.0, frozen.getWeight("A", "B").orElse(0.0));
+        assertEquals(Map.of("B", 4.0), frozen.getNeighborsWithWeights("A"));
+    }
+
+    @Test
+    void testBuiltGraphStaysMutable() {
+        DirectedGraph<String> graph = new GraphBuilder<String>()
+                .addEdge("A", "B")
+                .addEdge("B", "C")
+                .buildDirected();
+
+        graph.addEdge("C", "A");
+        graph.removeVertex("B");
+
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(Set.of("C"), graph.getPredecessors("A"));
+        assertTrue(graph.getNeighbors("A").isEmpty());
+    }
+}
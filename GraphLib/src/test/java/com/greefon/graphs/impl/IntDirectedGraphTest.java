@@ -0,0 +1,159 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.api.IntDoubleConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntDirectedGraphTest {
+    private IntDirectedGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new IntDirectedGraph();
+    }
+
+    @Test
+    void testAddVertex() {
+        graph.addVertex(3);
+        assertTrue(graph.containsVertex(3));
+        assertFalse(graph.containsVertex(2));
+        assertEquals(1, graph.getVertexCount());
+
+        graph.addVertex(3);
+        assertEquals(1, graph.getVertexCount());
+    }
+
+    @Test
+    void testAddEdgeGrowsStorage() {
+        // Ids far beyond the initial capacity
+        graph.addEdge(1, 1000, 5.0);
+
+        assertEquals(2, graph.getVertexCount());
+        assertEquals(1, graph.getEdgeCount());
+        assertTrue(graph.containsEdge(1, 1000));
+        assertFalse(graph.containsEdge(1000, 1), "Directed graph should not be mutual");
+        assertEquals(5.0, graph.getWeight(1, 1000).orElse(0.0));
+    }
+
+    @Test
+    void testAddExistingEdgeUpdatesWeight() {
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 1, 7.0);
+
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(7.0, graph.getWeight(0, 1).orElse(0.0));
+    }
+
+    @Test
+    void testNegativeIdRejected() {
+        assertThrows(IllegalArgumentException.class, () -> graph.addVertex(-1));
+    }
+
+    @Test
+    void testAddEdgeWithoutVertices() {
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.addEdge(0, 1, 1.0, false));
+    }
+
+    @Test
+    void testRemoveVertexCleanup() {
+        // 0 -> 1, 2 -> 1, 1 -> 3
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 1);
+        graph.addEdge(1, 3);
+
+        graph.removeVertex(1);
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount(), "All edges connected to 1 should be gone");
+        assertFalse(graph.containsEdge(0, 1));
+        assertFalse(graph.containsVertex(1));
+    }
+
+    @Test
+    void testRemoveEdge() {
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.removeEdge(0, 1);
+
+        assertFalse(graph.containsEdge(0, 1));
+        assertTrue(graph.containsEdge(0, 2));
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    void testPrimitiveNeighborIteration() {
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 2, 3.0);
+
+        Map<Integer, Double> seen = new HashMap<>();
+        IntDoubleConsumer collector = seen::put;
+        graph.forEachNeighbor(0, collector);
+
+        assertEquals(Map.of(1, 2.0, 2, 3.0), seen);
+        assertEquals(2, graph.getDegree(0));
+    }
+
+    @Test
+    void testBoxedGraphView() {
+        graph.addEdge(0, 1, 2.0);
+        graph.addVertex(5);
+
+        assertEquals(Set.of(0, 1, 5), graph.getVertices());
+        assertEquals(Set.of(1), graph.getNeighbors(Integer.valueOf(0)));
+        assertEquals(Map.of(1, 2.0), graph.getNeighborsWithWeights(Integer.valueOf(0)));
+        assertEquals(2.0, graph.getWeight(Integer.valueOf(0), Integer.valueOf(1)).orElse(0.0));
+        assertTrue(graph.getNeighbors(Integer.valueOf(7)).isEmpty());
+    }
+
+    @Test
+    void testClear() {
+        graph.addEdge(0, 1);
+        graph.clear();
+
+        assertEquals(0, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount());
+        assertFalse(graph.containsVertex(0));
+    }
+
+    @Test
+    void testPredecessors() {
+        // 0 -> 2 (1.0), 1 -> 2 (2.0), 2 -> 2 (3.0)
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(2, 2, 3.0);
+
+        assertEquals(3, graph.getInDegree(2));
+        assertEquals(Set.of(0, 1, 2), graph.getPredecessors(Integer.valueOf(2)));
+        assertEquals(0, graph.getInDegree(Integer.valueOf(0)));
+
+        Map<Integer, Double> seen = new HashMap<>();
+        graph.forEachPredecessor(2, (IntDoubleConsumer) seen::put);
+        assertEquals(Map.of(0, 1.0, 1, 2.0, 2, 3.0), seen);
+
+        graph.removeVertex(2);
+        assertEquals(0, graph.getEdgeCount());
+        assertEquals(0, graph.getDegree(0));
+        assertEquals(0, graph.getDegree(1));
+    }
+
+    @Test
+    void testRemoveVertexKeepsUnrelatedArcs() {
+        // 0 -> 1, 1 -> 2, 0 -> 2
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 2);
+
+        graph.removeVertex(1);
+
+        assertEquals(1, graph.getEdgeCount());
+        assertTrue(graph.containsEdge(0, 2));
+        assertEquals(Set.of(0), graph.getPredecessors(Integer.valueOf(2)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.greefon.graphs.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntUndirectedGraphTest {
+    private IntUndirectedGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new IntUndirectedGraph();
+    }
+
+    @Test
+    void testAddEdgeMutual() {
+        graph.addEdge(0, 1, 10.0);
+
+        assertTrue(graph.containsEdge(0, 1));
+        assertTrue(graph.containsEdge(1, 0), "Undirected graph must have mutual edges");
+        assertEquals(1, graph.getEdgeCount(), "Mutual edge should count as 1 edge");
+        assertEquals(10.0, graph.getWeight(1, 0).orElse(0.0));
+    }
+
+    @Test
+    void testRemoveEdgeMutual() {
+        graph.addEdge(0, 1);
+        graph.removeEdge(1, 0);
+
+        assertFalse(graph.containsEdge(0, 1));
+        assertFalse(graph.containsEdge(1, 0));
+        assertEquals(0, graph.getEdgeCount());
+    }
+
+    @Test
+    void testRemoveVertexWithEdges() {
+        // 0 -- 1 -- 2
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+
+        graph.removeVertex(1);
+
+        assertEquals(2, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount());
+        assertEquals(0, graph.getDegree(0));
+        assertEquals(0, graph.getDegree(2));
+    }
+
+    @Test
+    void testSelfLoop() {
+        graph.addEdge(4, 4);
+
+        assertEquals(1, graph.getVertexCount());
+        assertEquals(1, graph.getEdgeCount());
+        assertTrue(graph.containsEdge(4, 4));
+
+        graph.removeVertex(4);
+        assertEquals(0, graph.getVertexCount());
+        assertEquals(0, graph.getEdgeCount());
+    }
+}
@@ -0,0 +1,157 @@
+package com.greefon.graphs.impl;
+
+import com.greefon.graphs.algo.BreadthFirstSearch;
+import com.greefon.graphs.algo.Dijkstra;
+import com.greefon.graphs.util.GraphGenerators;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.greefon.graphs.GraphAssertions.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGraphTest {
+    @Test
+    void testCopyOfDirectedGraph() {
+        // A -> B (2.0), A -> C (3.0), C -> B (1.0), D isolated
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 2.0, true);
+        graph.addEdge("A", "C", 3.0, true);
+        graph.addEdge("C", "B", 1.0, true);
+        graph.addVertex("D");
+
+        try (OffHeapGraph<String> offHeap = OffHeapGraph.of(graph)) {
+            assertEquals(4, offHeap.getVertexCount());
+            assertEquals(3, offHeap.getEdgeCount());
+            assertEquals(graph.getVertices(), offHeap.getVertices());
+            assertTrue(offHeap.containsEdge("A", "C"));
+            assertFalse(offHeap.containsEdge("C", "A"), "Direction should be preserved");
+            assertEquals(3.0, offHeap.getWeight("A", "C").orElse(0.0));
+            assertTrue(offHeap.getWeight("B", "A").isEmpty());
+            assertEquals(Map.of("B", 2.0, "C", 3.0), offHeap.getNeighborsWithWeights("A"));
+            assertEquals(Set.of("A", "C"), offHeap.getPredecessors("B"));
+            assertTrue(offHeap.getNeighbors("Unknown").isEmpty());
+            assertSame(offHeap, OffHeapGraph.of(offHeap));
+
+            // Algorithms take the dense-index path
+            Dijkstra.ShortestPaths<String> paths = Dijkstra.execute(offHeap, "A");
+            assertEquals(2.0, paths.getDistanceTo("B"));
+            assertEquals(List.of("A", "B"), paths.getPathTo("B"));
+        }
+    }
+
+    @Test
+    void testBuilderMatchesGraphBuilder() {
+        // Tiny chunks force rows and offsets to straddle buffer boundaries
+        OffHeapGraph.Builder<Integer> offHeapBuilder = new OffHeapGraph.Builder<>(6);
+        GraphBuilder<Integer> builder = new GraphBuilder<>();
+        GraphGenerators.rmat(10, 8000, 7).forEach(edge -> {
+            double weight = (edge.getSource() * 31 + edge.getDestination()) % 17;
+            offHeapBuilder.addEdge(edge.getSource(), edge.getDestination(), weight);
+            builder.addEdge(edge.getSource(), edge.getDestination(), weight);
+        });
+        assertEquals(8000, offHeapBuilder.getAddedEdgeCount());
+
+        try (OffHeapGraph<Integer> graph = offHeapBuilder.buildDirected()) {
+            assertSameGraph(builder.buildDirected(), graph);
+        }
+    }
+
+    @Test
+    void testBuildUndirected() {
+        OffHeapGraph.Builder<Integer> offHeapBuilder = new OffHeapGraph.Builder<>(6);
+        GraphBuilder<Integer> builder = new GraphBuilder<>();
+        GraphGenerators.erdosRenyi(300, 0.05, false, 3).forEach(edge -> {
+            offHeapBuilder.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+            builder.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        });
+        offHeapBuilder.addEdge(5, 5, 2.0);
+        builder.addEdge(5, 5, 2.0);
+        // Repeated edge keeps the last weight
+        offHeapBuilder.addEdge(1, 2, 9.0).addEdge(2, 1, 4.0);
+        builder.addEdge(1, 2, 9.0).addEdge(2, 1, 4.0);
+
+        UndirectedGraph<Integer> expected = builder.buildUndirected();
+        try (OffHeapGraph<Integer> graph = offHeapBuilder.buildUndirected()) {
+            assertSameGraph(expected, graph);
+            assertEquals(4.0, graph.getWeight(1, 2).orElseThrow());
+            assertEquals(BreadthFirstSearch.execute(expected.freeze()).size(),
+                    BreadthFirstSearch.execute(graph).size());
+        }
+    }
+
+    @Test
+    void testBlockTruncate() {
+        // 64-byte chunks: 300 bytes take four full chunks and a 44-byte tail
+        OffHeapGraph.Block block = new OffHeapGraph.Block(300, 6);
+        for (int i = 0; i < 75; ++i) {
+            block.putInt(i, i * 3);
+        }
+        block.truncate(100);
+        assertEquals(100, block.capacity());
+        for (int i = 0; i < 25; ++i) {
+            assertEquals(i * 3, block.getInt(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> block.getInt(25));
+
+        block.truncate(200);
+        assertEquals(100, block.capacity());
+        block.truncate(0);
+        assertEquals(0, block.capacity());
+        block.free();
+    }
+
+    @Test
+    void testDuplicatesCompacted() {
+        // Compaction shrinks the arc blocks from 101 arcs to 2
+        OffHeapGraph.Builder<Integer> builder = new OffHeapGraph.Builder<>(6);
+        for (int i = 0; i < 100; ++i) {
+            builder.addEdge(0, 1, i);
+        }
+        builder.addEdge(1, 2, 1.0);
+        try (OffHeapGraph<Integer> graph = builder.buildDirected()) {
+            assertEquals(2, graph.getEdgeCount());
+            assertEquals(99.0, graph.getWeight(0, 1).orElseThrow());
+            assertEquals(Map.of(2, 1.0), graph.getNeighborsWithWeights(1));
+            assertEquals(Set.of(0), graph.getPredecessors(1));
+        }
+    }
+
+    @Test
+    void testBuilderIsSingleUse() {
+        OffHeapGraph.Builder<String> builder = new OffHeapGraph.Builder<>();
+        builder.addEdge("A", "B");
+        builder.buildDirected().close();
+        assertThrows(IllegalStateException.class, () -> builder.addEdge("B", "C"));
+        assertThrows(IllegalStateException.class, builder::buildDirected);
+    }
+
+    @Test
+    void testClose() {
+        OffHeapGraph<String> graph = new OffHeapGraph.Builder<String>()
+                .addEdge("A", "B", 1.0)
+                .buildDirected();
+        assertFalse(graph.isClosed());
+        graph.close();
+        graph.close();
+
+        assertTrue(graph.isClosed());
+        // The vertex dictionary stays on heap, adjacency is gone
+        assertTrue(graph.containsVertex("A"));
+        assertThrows(IllegalStateException.class, () -> graph.getNeighbors("A"));
+        assertThrows(IllegalStateException.class, () -> graph.getDegree(0));
+        assertThrows(IllegalStateException.class, () -> graph.containsEdge("A", "B"));
+    }
+
+    @Test
+    void testImmutable() {
+        try (OffHeapGraph<String> graph = new OffHeapGraph.Builder<String>().addVertex("A").buildUndirected()) {
+            assertEquals(0, graph.getEdgeCount());
+            assertThrows(UnsupportedOperationException.class, () -> graph.addEdge("A", "B"));
+            assertThrows(UnsupportedOperationException.class, () -> graph.removeVertex("A"));
+            assertThrows(UnsupportedOperationException.class, graph::clear);
+        }
+    }
+}
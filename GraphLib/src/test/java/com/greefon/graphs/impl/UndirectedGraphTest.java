@@ -3,6 +3,9 @@ package com.greefon.graphs.impl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class UndirectedGraphTest {
@@ -74,4 +77,48 @@ class UndirectedGraphTest {
         assertEquals(3.5, weightsA.get("B"));
         assertEquals(3.5, weightsB.get("A"), "Weight should be accessible from both sides");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testForEachNeighbor() {
+        graph.addEdge("A", "B", 3.5, true);
+
+        Map<String, Double> seen = new HashMap<>();
+        graph.forEachNeighbor("B", seen::put);
+
+        assertEquals(Map.of("A", 3.5), seen, "Neighbors should be visible from both sides");
+    }
+
+    @Test
+    void testPredecessorsMatchNeighbors() {
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("A", "C", 2.0, true);
+
+        assertEquals(graph.getNeighbors("A"), graph.getPredecessors("A"));
+        assertEquals(2, graph.getInDegree("A"));
+        assertEquals(0, graph.getInDegree("Missing"));
+    }
+
+    @Test
+    void testRemoveVertexWithSelfLoop() {
+        graph.addEdge("A", "A", 1.0, true);
+        graph.addEdge("A", "B", 1.0, true);
+        assertEquals(2, graph.getEdgeCount());
+
+        graph.removeVertex("A");
+        assertEquals(0, graph.getEdgeCount());
+        assertEquals(1, graph.getVertexCount());
+        assertTrue(graph.getNeighbors("B").isEmpty());
+    }
+
+    @Test
+    void testAddEdgeWithoutVertices() {
+        graph.addVertex("A");
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.addEdge("A", "B", 1.0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.addEdge("C", "A", 1.0, false));
+        assertEquals(0, graph.getEdgeCount());
+        assertEquals(1, graph.getVertexCount());
+        assertTrue(graph.getNeighbors("A").isEmpty());
+    }
+}
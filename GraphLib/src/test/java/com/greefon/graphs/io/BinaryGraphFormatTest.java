@@ -0,0 +1,180 @@
+package com.greefon.graphs.io;
+
+import com.greefon.graphs.algo.Dijkstra;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.IntDirectedGraph;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.greefon.graphs.GraphAssertions.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphFormatTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDirectedRoundTrip() throws IOException {
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 2.0, true);
+        graph.addEdge("A", "C", 3.0, true);
+        graph.addEdge("C", "B", 1.0, true);
+        graph.addEdge("Вершина", "A", 0.5, true);
+        graph.addVertex("D");
+
+        Path file = directory.resolve("directed.bin");
+        BinaryGraphFormat.write(graph, file, VertexCodec.STRING);
+        MappedGraph<String> mapped = BinaryGraphFormat.open(file, VertexCodec.STRING);
+
+        assertSameGraph(graph, mapped);
+        assertTrue(mapped.containsEdge("A", "C"));
+        assertFalse(mapped.containsEdge("C", "A"), "Direction should be preserved");
+        assertEquals(0.5, mapped.getWeight("Вершина", "A").orElse(0.0));
+        assertTrue(mapped.getWeight("B", "A").isEmpty());
+        assertFalse(mapped.containsVertex("Missing"));
+        assertTrue(mapped.getNeighbors("Missing").isEmpty());
+        assertEquals(Set.of("A", "C"), mapped.getPredecessors("B"));
+        assertTrue(mapped.getNeighborsWithWeights("A").containsKey("B"));
+        assertEquals(-1, mapped.indexOf("Missing"));
+    }
+
+    @Test
+    void testUndirectedRoundTrip() throws IOException {
+        UndirectedGraph<String> graph = new UndirectedGraph<>();
+        graph.addEdge("A", "B", 4.0, true);
+        graph.addEdge("B", "C", 5.0, true);
+
+        Path file = directory.resolve("undirected.bin");
+        BinaryGraphFormat.write(graph, file, VertexCodec.STRING);
+        MappedGraph<String> mapped = BinaryGraphFormat.open(file, VertexCodec.STRING);
+
+        // Symmetric graphs share forward rows as reverse adjacency
+        assertSameGraph(graph, mapped);
+        assertEquals(Map.of("A", 4.0, "C", 5.0), mapped.getNeighborsWithWeights("B"));
+        assertEquals(Set.of("A", "C"), mapped.getPredecessors("B"));
+    }
+
+    @Test
+    void testIntGraphWithGaps() throws IOException {
+        IntDirectedGraph graph = new IntDirectedGraph();
+        graph.addEdge(5, 100, 1.5);
+        graph.addEdge(100, 7, 2.5);
+        graph.addEdge(7, 7, 1.0);
+
+        Path file = directory.resolve("ints.bin");
+        BinaryGraphFormat.write(graph, file, VertexCodec.INTEGER);
+        MappedGraph<Integer> mapped = BinaryGraphFormat.open(file, VertexCodec.INTEGER);
+
+        assertSameGraph(graph, mapped);
+        assertEquals(3, mapped.getIndexBound(), "Indices should be dense");
+        assertTrue(mapped.containsEdge(7, 7));
+    }
+
+    @Test
+    void testAlgorithmsOnMappedGraph() throws IOException {
+        Random random = new Random(21);
+        DirectedGraph<Long> graph = new DirectedGraph<>();
+        for (int i = 0; i < 2_000; ++i) {
+            graph.addEdge((long) random.nextInt(300), (long) random.nextInt(300), random.nextInt(20) + 1.0);
+        }
+
+        Path file = directory.resolve("random.bin");
+        BinaryGraphFormat.write(graph, file, VertexCodec.LONG);
+        MappedGraph<Long> mapped = BinaryGraphFormat.open(file, VertexCodec.LONG);
+        assertSameGraph(graph, mapped);
+
+        Long source = graph.getVertices().iterator().next();
+        Dijkstra.ShortestPaths<Long> expected = Dijkstra.execute(graph, source);
+        Dijkstra.ShortestPaths<Long> actual = Dijkstra.execute(mapped, source);
+        for (Long vertex : graph.getVertices()) {
+            assertEquals(expected.getDistanceTo(vertex), actual.getDistanceTo(vertex));
+        }
+    }
+
+    @Test
+    void testEmptyGraph() throws IOException {
+        Path file = directory.resolve("empty.bin");
+        BinaryGraphFormat.write(new DirectedGraph<String>(), file, VertexCodec.STRING);
+
+        MappedGraph<String> mapped = BinaryGraphFormat.open(file, VertexCodec.STRING);
+        assertEquals(0, mapped.getVertexCount());
+        assertFalse(mapped.containsVertex("A"));
+        assertTrue(mapped.getVertices().isEmpty());
+    }
+
+    @Test
+    void testMappedGraphIsReadOnly() throws IOException {
+        Path file = directory.resolve("graph.bin");
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B");
+        BinaryGraphFormat.write(graph, file, VertexCodec.STRING);
+        MappedGraph<String> mapped = BinaryGraphFormat.open(file, VertexCodec.STRING);
+
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addEdge("B", "A"));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.removeVertex("A"));
+        assertSame(mapped, mapped.freeze());
+    }
+
+    @Test
+    void testRejectsForeignFiles() throws IOException {
+        Path file = directory.resolve("garbage.bin");
+        Files.write(file, new byte[512]);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.open(file, VertexCodec.STRING));
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, new byte[3]);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.open(truncated, VertexCodec.STRING));
+
+        DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("A", "B", 1.0, true);
+        graph.addEdge("B", "C", 2.0, true);
+        Path validFile = directory.resolve("valid.bin");
+        BinaryGraphFormat.write(graph, validFile, VertexCodec.STRING);
+        byte[] valid = Files.readAllBytes(validFile);
+        ByteBuffer header = ByteBuffer.wrap(valid).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Header: magic, version, flags, vertices, edges, arcs, table size,
+        // reserved, then (position, length) per section
+        assertCorrupt(valid, 12, -1);
+        assertCorrupt(valid, 20, -2);
+        assertCorrupt(valid, 24, 3);
+        assertCorrupt(valid, 24, 2);
+        assertCorrupt(valid, 32, -8);
+        assertCorrupt(valid, 32, 36);
+        int targetsLength = 32 + BinaryGraphFormat.TARGETS * 16 + 8;
+        assertCorrupt(valid, targetsLength, header.getInt(targetsLength) + 4);
+        assertCorrupt(valid, targetsLength, Integer.MAX_VALUE);
+        // Last row offset disagrees with the arc count
+        int offsets = (int) header.getLong(32 + BinaryGraphFormat.OFFSETS * 16);
+        assertCorrupt(valid, offsets + 3 * Integer.BYTES, 1);
+
+        // A hash table without empty slots must not hang lookups
+        byte[] bytes = valid.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int table = (int) buffer.getLong(32 + BinaryGraphFormat.HASH_TABLE * 16);
+        for (int slot = 0; slot < buffer.getInt(24); ++slot) {
+            buffer.putInt(table + slot * Integer.BYTES, 1);
+        }
+        Path full = directory.resolve("full.bin");
+        Files.write(full, bytes);
+        assertFalse(BinaryGraphFormat.open(full, VertexCodec.STRING).containsVertex("Z"));
+    }
+
+    private void assertCorrupt(byte[] valid, int position, int value) throws IOException {
+        byte[] bytes = valid.clone();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+        Path file = directory.resolve("corrupt.bin");
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.open(file, VertexCodec.STRING));
+    }
+}
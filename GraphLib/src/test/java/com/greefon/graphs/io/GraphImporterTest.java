@@ -0,0 +1,218 @@
+package com.greefon.graphs.io;
+
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.GraphBuilder;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphImporterTest {
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private Path writeGzip(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    @Test
+    void testEdgeList() throws IOException {
+        Path file = write("graph.txt", "# comment\n1 2\n2\t3 2.5\r\n\n% other comment\n3 1 1e-1 1700000000\n");
+
+        DirectedGraph<Integer> graph = GraphImporter.readEdgeList(file).buildDirected();
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(1.0, graph.getWeight(1, 2).orElse(0.0));
+        assertEquals(2.5, graph.getWeight(2, 3).orElse(0.0));
+        assertEquals(0.1, graph.getWeight(3, 1).orElse(0.0), "Extra columns should be ignored");
+    }
+
+    @Test
+    void testGzipIsDetected() throws IOException {
+        String content = "1 2 3.0\n2 3 4.0\n";
+        Path file = writeGzip("graph.txt.gz", content);
+
+        DirectedGraph<Integer> fromFile = GraphImporter.readEdgeList(file).buildDirected();
+        assertEquals(2, fromFile.getEdgeCount());
+        assertEquals(4.0, fromFile.getWeight(2, 3).orElse(0.0));
+
+        DirectedGraph<Integer> fromStream =
+                GraphImporter.readEdgeList(Files.newInputStream(file)).buildDirected();
+        assertEquals(fromFile.getNeighborsWithWeights(1), fromStream.getNeighborsWithWeights(1));
+    }
+
+    @Test
+    void testLabeledEdgeList() throws IOException {
+        Path file = write("labels.txt", "Москва Тверь 170\nТверь Клин 80\nКлин Москва\n");
+
+        UndirectedGraph<String> graph = GraphImporter.readLabeledEdgeList(file).buildUndirected();
+
+        assertEquals(Set.of("Москва", "Тверь", "Клин"), graph.getVertices());
+        assertEquals(170.0, graph.getWeight("Тверь", "Москва").orElse(0.0));
+        assertEquals(1.0, graph.getWeight("Клин", "Москва").orElse(0.0));
+    }
+
+    @Test
+    void testCsv() throws IOException {
+        Path file = write("graph.csv",
+                "from;to;weight\r\n"
+                        + "A;B;1.5\r\n"
+                        + "\"C;D\";\"say \"\"hi\"\"\";\r\n"
+                        + "B;A; 2 \r\n");
+
+        DirectedGraph<String> graph = GraphImporter.readCsv(file, ';', true).buildDirected();
+
+        assertEquals(Set.of("A", "B", "C;D", "say \"hi\""), graph.getVertices());
+        assertEquals(1.5, graph.getWeight("A", "B").orElse(0.0));
+        assertEquals(1.0, graph.getWeight("C;D", "say \"hi\"").orElse(0.0), "Empty weight defaults to 1");
+        assertEquals(2.0, graph.getWeight("B", "A").orElse(0.0));
+    }
+
+    @Test
+    void testDimacs() throws IOException {
+        Path file = write("graph.gr",
+                "c 9th DIMACS challenge sample\n"
+                        + "p sp 4 3\n"
+                        + "a 1 2 7\n"
+                        + "a 2 3 5\n"
+                        + "c trailing comment\n"
+                        + "a 3 1 2\n");
+
+        DirectedGraph<Integer> graph = GraphImporter.readDimacs(file).buildDirected();
+
+        assertEquals(4, graph.getVertexCount(), "Isolated vertex 4 should be present");
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(5.0, graph.getWeight(2, 3).orElse(0.0));
+
+        Path broken = write("broken.gr", "a 1 2 3\n");
+        IOException error = assertThrows(IOException.class, () -> GraphImporter.readDimacs(broken));
+        assertTrue(error.getMessage().contains("line 1"));
+    }
+
+    @Test
+    void testMatrixMarket() throws IOException {
+        Path general = write("general.mtx",
+                "%%MatrixMarket matrix coordinate real general\n"
+                        + "% comment\n"
+                        + "3 3 2\n"
+                        + "1 2 0.5\n"
+                        + "3 1 -2\n");
+        DirectedGraph<Integer> directed = GraphImporter.readMatrixMarket(general).buildDirected();
+        assertEquals(2, directed.getEdgeCount());
+        assertEquals(-2.0, directed.getWeight(3, 1).orElse(0.0));
+        assertFalse(directed.containsEdge(1, 3));
+
+        Path symmetric = write("symmetric.mtx",
+                "%%MatrixMarket matrix coordinate pattern symmetric\n"
+                        + "4 4 3\n"
+                        + "2 1\n"
+                        + "3 2\n"
+                        + "4 4\n");
+        DirectedGraph<Integer> mirrored = GraphImporter.readMatrixMarket(symmetric).buildDirected();
+        assertEquals(5, mirrored.getEdgeCount(), "Off-diagonal entries are mirrored");
+        assertTrue(mirrored.containsEdge(1, 2));
+        assertTrue(mirrored.containsEdge(4, 4));
+
+        Path array = write("array.mtx", "%%MatrixMarket matrix array real general\n2 2\n1\n2\n3\n4\n");
+        assertThrows(IOException.class, () -> GraphImporter.readMatrixMarket(array));
+
+        Path shortFile = write("short.mtx", "%%MatrixMarket matrix coordinate real general\n2 2 2\n1 1 1\n");
+        assertThrows(IOException.class, () -> GraphImporter.readMatrixMarket(shortFile));
+
+        // Bad size lines are reported as input errors, not runtime failures
+        Path negative = write("negative.mtx", "%%MatrixMarket matrix coordinate real general\n2 -2 1\n1 1 1\n");
+        IOException error = assertThrows(IOException.class, () -> GraphImporter.readMatrixMarket(negative));
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+
+        Path huge = write("huge.mtx", "%%MatrixMarket matrix coordinate pattern symmetric\n2 2 1200000000\n");
+        error = assertThrows(IOException.class, () -> GraphImporter.readMatrixMarket(huge));
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+
+        Path negativeDimacs = write("negative.gr", "p sp -3 1\n");
+        assertThrows(IOException.class, () -> GraphImporter.readDimacs(negativeDimacs));
+
+        // Arcs must stay within the vertices declared by the problem line
+        for (String arc : new String[]{"a 1 5 1", "a 0 2 1", "a 2 -1 1"}) {
+            Path outside = write("outside.gr", "p sp 4 1\n" + arc + "\n");
+            IOException outsideError = assertThrows(IOException.class, () -> GraphImporter.readDimacs(outside));
+            assertTrue(outsideError.getMessage().contains("line 2"), outsideError.getMessage());
+        }
+    }
+
+    @Test
+    void testMalformedInputReportsLine() throws IOException {
+        Path file = write("bad.txt", "1 2\n3 x\n");
+        IOException error = assertThrows(IOException.class, () -> GraphImporter.readEdgeList(file));
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+    }
+
+    @Test
+    void testMatchesLineByLineParsing() throws IOException {
+        // Large enough to cross several 64 KB buffer boundaries
+        Random random = new Random(17);
+        StringBuilder content = new StringBuilder();
+        DirectedGraph<Integer> expected = new DirectedGraph<>();
+        for (int i = 0; i < 50_000; ++i) {
+            int source = random.nextInt(5_000);
+            int destination = random.nextInt(5_000);
+            double weight = random.nextInt(100_000) / 100.0;
+            content.append(source).append(' ').append(destination).append(' ').append(weight).append('\n');
+        }
+        for (String line : content.toString().split("\n")) {
+            String[] parts = line.split(" ");
+            expected.addEdge(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Double.parseDouble(parts[2]));
+        }
+
+        GraphBuilder<Integer> builder = GraphImporter.readEdgeList(
+                new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.US_ASCII)));
+        DirectedGraph<Integer> actual = builder.buildDirected();
+
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (Integer vertex : expected.getVertices()) {
+            assertEquals(expected.getNeighborsWithWeights(vertex), actual.getNeighborsWithWeights(vertex));
+        }
+    }
+
+    @Test
+    void testFastDoubleParsingIsExact() {
+        Random random = new Random(3);
+        String[] samples = {"0", "-0.0", "1", "0.1", "3.14159", "1e10", "1E-5", "123456789012345",
+                "1234567890123456789", "0.000000000000000000000001", "4.9e-324", "1.7976931348623157e308",
+                "Infinity", "-2.5e+3", ".5", "5."};
+        for (String sample : samples) {
+            byte[] bytes = sample.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(sample), ByteTokenizer.parseDouble(bytes, bytes.length), sample);
+        }
+        for (int i = 0; i < 10_000; ++i) {
+            String sample = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(30) - 15));
+            byte[] bytes = sample.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(sample), ByteTokenizer.parseDouble(bytes, bytes.length), sample);
+        }
+
+        byte[] garbage = "1.2.3".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(Double.isNaN(ByteTokenizer.parseDouble(garbage, garbage.length)));
+    }
+}
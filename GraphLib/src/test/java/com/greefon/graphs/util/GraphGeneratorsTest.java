@@ -0,0 +1,109 @@
+package com.greefon.graphs.util;
+
+import com.greefon.graphs.api.Edge;
+import com.greefon.graphs.impl.DirectedGraph;
+import com.greefon.graphs.impl.GraphBuilder;
+import com.greefon.graphs.impl.UndirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorsTest {
+
+    @Test
+    void testErdosRenyiDirected() {
+        int n = 2000;
+        double p = 0.01;
+        List<Edge<Integer>> edges = GraphGenerators.erdosRenyi(n, p, true, 1)
+                .collect(Collectors.toList());
+
+        double expected = (double) n * (n - 1) * p;
+        assertEquals(expected, edges.size(), expected * 0.05);
+        assertEquals(edges.size(), new HashSet<>(edges).size(), "G(n,p) never repeats an edge");
+        for (Edge<Integer> edge : edges) {
+            assertNotEquals(edge.getSource(), edge.getDestination());
+            assertTrue(edge.getDestination() >= 0 && edge.getDestination() < n);
+        }
+    }
+
+    @Test
+    void testErdosRenyiUndirectedAndExtremes() {
+        int n = 50;
+        List<Edge<Integer>> complete = GraphGenerators.erdosRenyi(n, 1.0, false, 3)
+                .collect(Collectors.toList());
+        assertEquals(n * (n - 1) / 2, complete.size());
+        assertTrue(complete.stream().allMatch(edge -> edge.getSource() < edge.getDestination()));
+
+        assertEquals(n * (n - 1), GraphGenerators.erdosRenyi(n, 1.0, true, 3).count());
+        assertEquals(0, GraphGenerators.erdosRenyi(n, 0.0, true, 3).count());
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerators.erdosRenyi(n, 1.5, true, 3));
+    }
+
+    @Test
+    void testReproducibleAndParallelSafe() {
+        List<Edge<Integer>> sequential = GraphGenerators.erdosRenyi(3000, 0.002, true, 9)
+                .collect(Collectors.toList());
+        assertEquals(sequential, GraphGenerators.erdosRenyi(3000, 0.002, true, 9)
+                .parallel().collect(Collectors.toList()));
+        assertNotEquals(sequential, GraphGenerators.erdosRenyi(3000, 0.002, true, 10)
+                .collect(Collectors.toList()));
+
+        List<Edge<Integer>> rmat = GraphGenerators.rmat(12, 20000, 5).collect(Collectors.toList());
+        assertEquals(rmat, GraphGenerators.rmat(12, 20000, 5).parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRmatIsSkewed() {
+        int scale = 12;
+        long count = 50000;
+        List<Edge<Integer>> edges = GraphGenerators.rmat(scale, count, 7).collect(Collectors.toList());
+        assertEquals(count, edges.size());
+
+        int[] degrees = new int[1 << scale];
+        for (Edge<Integer> edge : edges) {
+            assertTrue(edge.getSource() < (1 << scale) && edge.getDestination() < (1 << scale));
+            ++degrees[edge.getSource()];
+        }
+        // With a = 0.57 vertex 0 collects far more than the average out-degree
+        double average = (double) count / degrees.length;
+        assertTrue(degrees[0] > average * 20);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphGenerators.rmat(10, 10, 0.5, 0.3, 0.3, 1));
+    }
+
+    @Test
+    void testBarabasiAlbert() {
+        int n = 5000;
+        int m = 3;
+        List<Edge<Integer>> edges = GraphGenerators.barabasiAlbert(n, m, 11).collect(Collectors.toList());
+        assertEquals(n * m, edges.size());
+        assertEquals(edges, GraphGenerators.barabasiAlbert(n, m, 11).collect(Collectors.toList()));
+
+        // New vertices only attach to existing ones
+        int[] degrees = new int[n];
+        for (Edge<Integer> edge : edges) {
+            assertTrue(edge.getDestination() <= edge.getSource());
+            ++degrees[edge.getSource()];
+            ++degrees[edge.getDestination()];
+        }
+        // Preferential attachment produces hubs well above the mean degree 2m
+        assertTrue(Arrays.stream(degrees).max().orElse(0) > 10 * 2 * m);
+    }
+
+    @Test
+    void testFeedsGraphBuilder() {
+        DirectedGraph<Integer> directed = new GraphBuilder<Integer>()
+                .addEdges(GraphGenerators.erdosRenyi(500, 0.02, true, 2).parallel())
+                .buildDirected();
+        assertEquals(GraphGenerators.erdosRenyi(500, 0.02, true, 2).count(), directed.getEdgeCount());
+
+        UndirectedGraph<Integer> undirected = new GraphBuilder<Integer>()
+                .addEdges(GraphGenerators.barabasiAlbert(200, 2, 4))
+                .buildUndirected();
+        assertTrue(undirected.getEdgeCount() > 0 && undirected.getEdgeCount() <= 400);
+    }
+}
@@ -5,8 +5,10 @@ import com.greefon.graphs.impl.UndirectedGraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -103,4 +105,27 @@ class GraphRandomizerTest {
         assertTrue(undirectedGraph.getEdgeCount() <= 3,
                 "Undirected graph edge count should be limited by its nature even if more were requested");
     }
+
+    @Test
+    void testLargeVertexCountDoesNotOverflow() {
+        // 50000 * 49999 does not fit into an int
+        List<Integer> many = new ArrayList<>();
+        for (int i = 0; i < 50000; ++i) {
+            many.add(i);
+        }
+        DirectedGraph<Integer> graph = new DirectedGraph<>();
+        GraphRandomizer.randomize(graph, many, 10);
+        assertEquals(10, graph.getEdgeCount());
+    }
+
+    @Test
+    void testSeededRandomizeIsReproducible() {
+        DirectedGraph<String> other = new DirectedGraph<>();
+        GraphRandomizer.randomize(directedGraph, vertices, 8, new Random(42));
+        GraphRandomizer.randomize(other, vertices, 8, new Random(42));
+
+        for (String vertex : vertices) {
+            assertEquals(directedGraph.getNeighbors(vertex), other.getNeighbors(vertex));
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.greefon.graphs.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedMinHeapTest {
+    private IndexedMinHeap heap;
+
+    @BeforeEach
+    void setUp() {
+        heap = new IndexedMinHeap(4);
+    }
+
+    @Test
+    void testPollOrder() {
+        heap.add(0, 5.0);
+        heap.add(1, 1.0);
+        heap.add(2, 3.0);
+
+        assertEquals(3, heap.size());
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        heap.add(0, 5.0);
+        heap.add(1, 4.0);
+        heap.decreaseKey(0, 2.0);
+
+        assertEquals(2.0, heap.getKey(0));
+        assertEquals(0, heap.peek());
+        assertEquals(2.0, heap.peekKey());
+    }
+
+    @Test
+    void testAddOrDecrease() {
+        assertTrue(heap.addOrDecrease(3, 10.0));
+        assertFalse(heap.addOrDecrease(3, 12.0), "Larger key should be ignored");
+        assertTrue(heap.addOrDecrease(3, 7.0));
+
+        assertEquals(1, heap.size(), "Each index should be stored once");
+        assertEquals(7.0, heap.getKey(3));
+    }
+
+    @Test
+    void testInvalidOperations() {
+        heap.add(0, 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.add(0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 3.0));
+        assertThrows(NoSuchElementException.class, () -> heap.decreaseKey(1, 0.5));
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        assertThrows(NoSuchElementException.class, () -> heap.poll());
+    }
+
+    @Test
+    void testGrowsBeyondCapacity() {
+        heap.add(100, 1.0);
+
+        assertTrue(heap.contains(100));
+        assertTrue(heap.getCapacity() > 100);
+    }
+
+    @Test
+    void testRandomizedAgainstSort() {
+        Random random = new Random(42);
+        IndexedMinHeap binary = new IndexedMinHeap(16, 2);
+        double[] keys = new double[500];
+
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = random.nextDouble() * 100;
+            binary.add(i, keys[i]);
+        }
+        for (int i = 0; i < keys.length; i += 3) {
+            keys[i] /= 2;
+            binary.decreaseKey(i, keys[i]);
+        }
+
+        List<Double> polled = new ArrayList<>();
+        while (!binary.isEmpty()) {
+            polled.add(keys[binary.poll()]);
+        }
+
+        List<Double> expected = new ArrayList<>();
+        for (double key : keys) {
+            expected.add(key);
+        }
+        expected.sort(null);
+        assertEquals(expected, polled);
+    }
+}
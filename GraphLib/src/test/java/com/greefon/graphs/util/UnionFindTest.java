@@ -0,0 +1,61 @@
+package com.greefon.graphs.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnionFindTest {
+    @Test
+    void testUnionAndFind() {
+        UnionFind sets = new UnionFind(2);
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(i, sets.add());
+        }
+
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(3, 4));
+        assertFalse(sets.union(1, 0), "Already merged");
+
+        assertTrue(sets.connected(0, 1));
+        assertFalse(sets.connected(1, 3));
+        assertEquals(3, sets.getSetCount());
+        assertEquals(5, sets.size());
+    }
+
+    @Test
+    void testConcurrentMatchesSequential() {
+        int size = 5000;
+        Random random = new Random(1);
+        int[][] pairs = new int[4000][];
+        for (int i = 0; i < pairs.length; ++i) {
+            pairs[i] = new int[]{random.nextInt(size), random.nextInt(size)};
+        }
+
+        UnionFind sequential = new UnionFind(size);
+        for (int i = 0; i < size; ++i) {
+            sequential.add();
+        }
+        for (int[] pair : pairs) {
+            sequential.union(pair[0], pair[1]);
+        }
+
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(size);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> IntStream.range(0, pairs.length).parallel()
+                    .forEach(i -> concurrent.union(pairs[i][0], pairs[i][1]))).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < 2000; ++i) {
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+            assertEquals(sequential.connected(a, b), concurrent.connected(a, b));
+        }
+    }
+}